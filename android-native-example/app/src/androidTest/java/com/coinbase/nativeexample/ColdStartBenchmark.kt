@@ -0,0 +1,144 @@
+package com.coinbase.nativeexample
+
+import android.os.Bundle
+import android.os.Process
+import android.os.SystemClock
+import android.util.Log
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.platform.app.InstrumentationRegistry
+import com.coinbase.waassdk.Callbacks
+import com.coinbase.waassdk.MPCKeyService
+import com.coinbase.waassdk.MPCSdk
+import com.coinbase.waassdk.MPCWalletService
+import com.coinbase.waassdk.PoolService
+import com.coinbase.waassdk.SdkExecutors
+import com.coinbase.waassdk.SdkTrace
+import com.coinbase.waassdk.WaasNetwork
+import org.json.JSONObject
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Cold-start benchmark of the android-native SDK: what it costs an app, from launch, to load the SDK, construct
+ * each service and make its first call, up to the first Signature.
+ *
+ * Each phase is timed and traced as "ColdStart:<phase>", so it also shows up in Perfetto next to the SDK's own
+ * sections. Phases run in the order an app would run them:
+ *
+ * - loading the gomobile native library and the Go client classes;
+ * - building the Keystore-backed MPCSdk hooks (SystemKeys) and the executor;
+ * - each service constructor, which only records its configuration;
+ * - creating each service's Go client (the `newMPC*`/`newPoolService` calls), which the SDK otherwise defers to
+ *   the first call;
+ * - the first call on each service;
+ * - the signing flow, reported as time-to-first-signature since process start and since the test started.
+ *
+ * Only the first run in a process is cold, so run it once per process, with app data cleared so the Device can
+ * be bootstrapped again, against the local WaaS stand-in in `fake-backend/`:
+ *
+ *   for i in $(seq 10); do
+ *     adb shell pm clear com.coinbase.nativeexample
+ *     adb shell am instrument -w -e class com.coinbase.nativeexample.ColdStartBenchmark \
+ *       -e proxyUrl http://10.0.2.2:8091 com.coinbase.nativeexample.test/androidx.test.runner.AndroidJUnitRunner
+ *   done
+ *
+ * Results are logged under the "WaasColdStart" tag and reported as instrumentation status, in milliseconds.
+ */
+@RunWith(AndroidJUnit4::class)
+class ColdStartBenchmark {
+
+  private val tag = "WaasColdStart"
+
+  // Phase durations in nanoseconds, in the order they ran.
+  private val phases = LinkedHashMap<String, Long>()
+
+  private fun <T> phase(name: String, block: () -> T): T {
+    val traced = SdkTrace.begin("ColdStart:$name")
+    val startedAt = System.nanoTime()
+    try {
+      return block()
+    } finally {
+      phases[name] = System.nanoTime() - startedAt
+      SdkTrace.end(traced)
+    }
+  }
+
+  @Test
+  fun coldStart() {
+    val testStartedAt = SystemClock.elapsedRealtime()
+    val args = InstrumentationRegistry.getArguments()
+    val proxyUrl = args.getString("proxyUrl", "http://10.0.2.2:8091")
+    val passcode = args.getString("passcode", "cold-start-passcode")
+    val isSimulator = args.getString("isSimulator", "true").toBoolean()
+    val context = InstrumentationRegistry.getInstrumentation().targetContext
+
+    // gomobile's go.Seq loads the native library in its static initializer; V1 holds the client constructors.
+    phase("loadNativeLibrary") { Class.forName("go.Seq") }
+    phase("loadClientClasses") { Class.forName("com.waassdkinternal.v1.V1") }
+
+    val executor = phase("newExecutor") {
+      SdkExecutors.newFixedThreadPool("ColdStart", Runtime.getRuntime().availableProcessors())
+    }
+    val hooks = phase("keystoreHooks") { Callbacks.get(context) }
+    val mpc = phase("newMPCSdk") { MPCSdk(hooks, isSimulator, executor) }
+    // Empty API keys put the services in insecure mode against `proxyUrl`.
+    val keys = phase("newMPCKeyService") { MPCKeyService("", "", proxyUrl, executor) }
+    val wallets = phase("newMPCWalletService") { MPCWalletService("", "", proxyUrl, executor) }
+    val pools = phase("newPoolService") { PoolService("", "", proxyUrl, executor) }
+
+    // The services create their Go clients lazily; create them here so the first calls below do not include it.
+    phase("createClient.MPCSdk") { mpc.createClient().get() }
+    phase("createClient.MPCKeyService") { keys.createClient().get() }
+    phase("createClient.MPCWalletService") { wallets.createClient().get() }
+    phase("createClient.PoolService") { pools.createClient().get() }
+
+    phase("firstCall.MPCSdk.bootstrapDevice") { mpc.bootstrapDevice(passcode) }
+    val pool = phase("firstCall.PoolService.createPool") {
+      pools.createPool("cold-start", "cold-start-" + System.currentTimeMillis()).get()
+    }
+    val device = phase("firstCall.MPCKeyService.registerDevice") { keys.registerDevice().get() }
+    val created = phase("firstCall.MPCWalletService.createMPCWallet") {
+      wallets.createMPCWallet(pool.name, device.name).get()
+    }
+
+    val wallet = phase("signingFlow.waitPendingMPCWallet") { wallets.waitPendingMPCWallet(created.operation).get() }
+    val address = phase("signingFlow.generateAddress") {
+      wallets.generateAddress(wallet.name, WaasNetwork.fromNetworkString("networks/ethereum-goerli")).get()
+    }
+    val operation = phase("signingFlow.createSignatureFromTx") {
+      keys.createSignatureFromTx(address.mpcKeys[0], transaction()).get()
+    }
+    phase("signingFlow.waitPendingSignature") { keys.waitPendingSignature(operation).get() }
+    val signedAt = SystemClock.elapsedRealtime()
+
+    report(signedAt - Process.getStartElapsedRealtime(), signedAt - testStartedAt)
+    executor.shutdown()
+  }
+
+  private fun transaction(): JSONObject {
+    val tx = JSONObject()
+    tx.put("ChainID", "0x5")
+    tx.put("Nonce", 0)
+    tx.put("MaxPriorityFeePerGas", "0x59682f00")
+    tx.put("MaxFeePerGas", "0x59682f0e")
+    tx.put("Gas", 63000)
+    tx.put("From", "0x0000000000000000000000000000000000000001")
+    tx.put("To", "0xd8ee094fef6bf8b2a0e9cc3a16b2ce9d6a4c8f09")
+    tx.put("Value", "0x2386f26fc10000")
+    tx.put("Data", "")
+    return tx
+  }
+
+  private fun report(sinceProcessStartMillis: Long, sinceTestStartMillis: Long) {
+    val status = Bundle()
+    for ((name, nanos) in phases) {
+      val millis = nanos / 1e6
+      Log.i(tag, "%-44s %10.1f ms".format(name, millis))
+      status.putDouble(name, millis)
+    }
+    Log.i(tag, "timeToFirstSignature sinceProcessStart=${sinceProcessStartMillis}ms sinceTestStart=${sinceTestStartMillis}ms")
+    status.putLong("timeToFirstSignature.sinceProcessStart", sinceProcessStartMillis)
+    status.putLong("timeToFirstSignature.sinceTestStart", sinceTestStartMillis)
+    InstrumentationRegistry.getInstrumentation().sendStatus(0, status)
+  }
+}
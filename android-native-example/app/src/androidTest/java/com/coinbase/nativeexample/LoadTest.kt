@@ -0,0 +1,163 @@
+package com.coinbase.nativeexample
+
+import android.os.Bundle
+import android.util.Log
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.platform.app.InstrumentationRegistry
+import com.coinbase.waassdk.MPCKeyService
+import com.coinbase.waassdk.MPCWalletService
+import com.coinbase.waassdk.PoolService
+import com.coinbase.waassdk.SdkExecutors
+import com.coinbase.waassdk.SdkMetrics
+import com.coinbase.waassdk.WaasNetwork
+import org.json.JSONObject
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Load test of the android-native SDK against the local WaaS stand-in in `fake-backend/`.
+ *
+ * Drives many concurrent wallets through the pool, wallet, address and signature flows, and reports
+ * throughput and tail latency for each flow, plus the SDK's own per-method metrics and executor gauges.
+ *
+ * Start the stand-in first (`gradle run` in `fake-backend/`), then run:
+ *
+ *   ./gradlew connectedAndroidTest \
+ *     -Pandroid.testInstrumentationRunnerArguments.class=com.coinbase.nativeexample.LoadTest \
+ *     -Pandroid.testInstrumentationRunnerArguments.proxyUrl=http://10.0.2.2:8091 \
+ *     -Pandroid.testInstrumentationRunnerArguments.wallets=200 \
+ *     -Pandroid.testInstrumentationRunnerArguments.concurrency=32
+ *
+ * Results are logged under the "WaasLoadTest" tag and reported as instrumentation status.
+ */
+@RunWith(AndroidJUnit4::class)
+class LoadTest {
+
+  private val tag = "WaasLoadTest"
+
+  private class FlowStats {
+    val latenciesNanos = CopyOnWriteArrayList<Long>()
+    val errors = AtomicLong()
+  }
+
+  private val flows = ConcurrentHashMap<String, FlowStats>()
+
+  private fun <T> timed(flow: String, block: () -> T): T {
+    val stats = flows.getOrPut(flow) { FlowStats() }
+    val startedAt = System.nanoTime()
+    try {
+      val result = block()
+      stats.latenciesNanos.add(System.nanoTime() - startedAt)
+      return result
+    } catch (e: Exception) {
+      stats.errors.incrementAndGet()
+      throw e
+    }
+  }
+
+  @Test
+  fun loadTest() {
+    val args = InstrumentationRegistry.getArguments()
+    val proxyUrl = args.getString("proxyUrl", "http://10.0.2.2:8091")
+    val wallets = args.getString("wallets", "100").toInt()
+    val concurrency = args.getString("concurrency", "16").toInt()
+    val addressReads = args.getString("addressReads", "5").toInt()
+    val signatures = args.getString("signatures", "2").toInt()
+
+    val sdkThreads = Runtime.getRuntime().availableProcessors()
+    val executor = SdkExecutors.newFixedThreadPool("LoadTest", sdkThreads)
+    // Empty API keys put the services in insecure mode against `proxyUrl`.
+    val pools = PoolService("", "", proxyUrl, executor)
+    val keys = MPCKeyService("", "", proxyUrl, executor)
+    val walletService = MPCWalletService("", "", proxyUrl, executor)
+    val network = WaasNetwork.fromNetworkString("networks/ethereum-goerli")
+
+    SdkMetrics.global().reset()
+    val pool = timed("createPool") { pools.createPool("load-test", "load-test-" + System.currentTimeMillis()).get() }
+
+    val drivers = Executors.newFixedThreadPool(concurrency)
+    val failures = AtomicLong()
+    val startedAt = System.nanoTime()
+    for (i in 0 until wallets) {
+      drivers.execute {
+        try {
+          val device = timed("registerDevice") { keys.registerDevice().get() }
+          val created = timed("createMPCWallet") { walletService.createMPCWallet(pool.name, device.name).get() }
+          val wallet = timed("waitPendingMPCWallet") { walletService.waitPendingMPCWallet(created.operation).get() }
+          val address = timed("generateAddress") { walletService.generateAddress(wallet.name, network).get() }
+          for (j in 0 until addressReads) {
+            timed("getAddress") { walletService.getAddress(address.name).get() }
+          }
+          timed("getDeviceGroup") { keys.getDeviceGroup(wallet.deviceGroup).get() }
+          for (j in 0 until signatures) {
+            val tx = transaction(i, j)
+            val operation = timed("createSignatureFromTx") { keys.createSignatureFromTx(address.mpcKeys[0], tx).get() }
+            val signature = timed("waitPendingSignature") { keys.waitPendingSignature(operation).get() }
+            timed("getSignedTransaction") { keys.getSignedTransaction(tx, signature).get() }
+          }
+        } catch (e: Exception) {
+          failures.incrementAndGet()
+          Log.w(tag, "wallet $i failed", e)
+        }
+      }
+    }
+    drivers.shutdown()
+    drivers.awaitTermination(1, TimeUnit.HOURS)
+    val elapsedSeconds = (System.nanoTime() - startedAt) / 1e9
+
+    report(wallets, concurrency, elapsedSeconds, failures.get())
+    executor.shutdown()
+    assertTrue("all wallets failed", failures.get() < wallets)
+  }
+
+  private fun transaction(wallet: Int, index: Int): JSONObject {
+    val tx = JSONObject()
+    tx.put("ChainID", "0x5")
+    tx.put("Nonce", index)
+    tx.put("MaxPriorityFeePerGas", "0x59682f00")
+    tx.put("MaxFeePerGas", "0x59682f0e")
+    tx.put("Gas", 63000)
+    tx.put("From", "0x" + "%040x".format(wallet))
+    tx.put("To", "0xd8ee094fef6bf8b2a0e9cc3a16b2ce9d6a4c8f09")
+    tx.put("Value", "0x2386f26fc10000")
+    tx.put("Data", "")
+    return tx
+  }
+
+  private fun report(wallets: Int, concurrency: Int, elapsedSeconds: Double, failures: Long) {
+    val status = Bundle()
+    Log.i(tag, "wallets=$wallets concurrency=$concurrency elapsed=%.1fs failedWallets=$failures".format(elapsedSeconds))
+    Log.i(tag, "%-24s %8s %8s %10s %10s %10s %10s".format("flow", "ok", "errors", "ops/s", "p50 ms", "p95 ms", "p99 ms"))
+    for ((flow, stats) in flows.toSortedMap()) {
+      val sorted = stats.latenciesNanos.sorted()
+      val line = "%-24s %8d %8d %10.1f %10.1f %10.1f %10.1f".format(
+        flow, sorted.size, stats.errors.get(), sorted.size / elapsedSeconds,
+        percentileMillis(sorted, 50.0), percentileMillis(sorted, 95.0), percentileMillis(sorted, 99.0))
+      Log.i(tag, line)
+      status.putString(flow, line)
+    }
+    for ((method, snapshot) in SdkMetrics.global().snapshot()) {
+      Log.i(tag, "sdk %s calls=%d errors=%d queueP99=%.1fms p50=%.1fms p99=%.1fms".format(
+        method, snapshot.calls, snapshot.errors, snapshot.queueWaitP99Millis, snapshot.latencyP50Millis, snapshot.latencyP99Millis))
+    }
+    for ((name, gauges) in SdkExecutors.snapshot()) {
+      Log.i(tag, "executor %s completed=%d rejected=%d queueWaitP99=%.1fms".format(
+        name, gauges.completedTasks, gauges.rejectedTasks, gauges.queueWaitP99Millis))
+    }
+    InstrumentationRegistry.getInstrumentation().sendStatus(0, status)
+  }
+
+  private fun percentileMillis(sorted: List<Long>, percentile: Double): Double {
+    if (sorted.isEmpty()) {
+      return 0.0
+    }
+    val index = Math.min(sorted.size - 1, Math.ceil(sorted.size * percentile / 100.0).toInt() - 1)
+    return sorted[Math.max(0, index)] / 1e6
+  }
+}
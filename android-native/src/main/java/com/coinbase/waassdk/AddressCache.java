@@ -0,0 +1,288 @@
+package com.coinbase.waassdk;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * A persistent cache of {@link Address} resources, keyed by resource name.
+ *
+ * Addresses never change once created, so entries are never updated or expired. They are stored
+ * in an append-only file of length-prefixed, checksummed records, and indexed in memory on first use.
+ * A torn or corrupt tail (e.g. from the process dying mid-write) is truncated away on load, and a failed
+ * append is truncated away right away, so later records are never written after a torn one.
+ *
+ * Each cache is scoped, e.g. to an account and the proxy or WaaS URL it talks to: caches with different
+ * scopes use different files, so Addresses fetched for one are never served to another. Once a cache holds
+ * more than its maximum number of Addresses, the oldest are dropped.
+ *
+ * The cache is best-effort: I/O failures never fail the call that triggered them.
+ */
+public class AddressCache {
+  // The prefix and suffix of the file the records are appended to, within the cache directory.
+  private static final String filePrefix = "addresses-";
+  private static final String fileSuffix = ".bin";
+  // Identifies the file format ("WAC" + version 1).
+  private static final int magic = 0x57414331;
+  // Records larger than this are treated as corrupt.
+  private static final int maxRecordLength = 64 * 1024;
+  // The default maximum number of Addresses to keep.
+  private static final int defaultMaxEntries = 1024;
+
+  private final File file;
+  private final int maxEntries;
+  // Addresses by name, oldest first.
+  private LinkedHashMap<String, Address> index;
+
+  /**
+   * Creates a cache of up to 1024 Addresses, backed by a file in `directory`. No I/O happens until the cache
+   * is first used.
+   *
+   * @param directory The directory to keep the cache in, e.g. a subdirectory of `context.getFilesDir()`.
+   * @param scope What the cached Addresses belong to, e.g. the signed-in user and the proxy URL.
+   */
+  public AddressCache(File directory, String scope) {
+    this(directory, scope, defaultMaxEntries);
+  }
+
+  /**
+   * Creates a cache of up to `maxEntries` Addresses, backed by a file in `directory`. No I/O happens until the
+   * cache is first used.
+   *
+   * @param directory The directory to keep the cache in, e.g. a subdirectory of `context.getFilesDir()`.
+   * @param scope What the cached Addresses belong to, e.g. the signed-in user and the proxy URL.
+   * @param maxEntries The maximum number of Addresses to keep; the oldest are dropped first.
+   */
+  public AddressCache(File directory, String scope, int maxEntries) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("maxEntries must be positive");
+    }
+    this.file = new File(directory, filePrefix + scopeId(scope) + fileSuffix);
+    this.maxEntries = maxEntries;
+  }
+
+  /**
+   * Returns the cached Address with the given name, or null if it is not cached.
+   * Loads the cache from disk if this is the first use.
+   */
+  public synchronized Address get(String name) {
+    return load().get(name);
+  }
+
+  /**
+   * Returns the cached Address with the given name, or null if it is not cached or the cache
+   * has not been loaded from disk yet. Never performs I/O.
+   */
+  public synchronized Address peek(String name) {
+    return index == null ? null : index.get(name);
+  }
+
+  /**
+   * Adds the Address to the cache, persisting it to disk.
+   */
+  public synchronized void put(Address address) {
+    Map<String, Address> addresses = load();
+    if (addresses.containsKey(address.name)) {
+      return;
+    }
+    addresses.put(address.name, address);
+
+    if (addresses.size() > maxEntries) {
+      evictOldest();
+      return;
+    }
+
+    try {
+      append(address);
+    } catch (IOException e) {
+      // The in-memory entry still serves this process; it will be re-fetched after a restart.
+    }
+  }
+
+  /**
+   * Removes all cached Addresses, in memory and on disk.
+   */
+  public synchronized void clear() {
+    index = new LinkedHashMap<>();
+    file.delete();
+  }
+
+  // Appends the record of `address`, truncating the file back to its previous length if the write fails.
+  private void append(Address address) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    boolean isNew = !file.exists() || file.length() == 0;
+    if (isNew) {
+      out.writeInt(magic);
+    }
+    writeRecord(out, address);
+    out.flush();
+
+    File directory = file.getParentFile();
+    if (directory != null && !directory.exists()) {
+      directory.mkdirs();
+    }
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      long validLength = raf.length();
+      try {
+        raf.seek(validLength);
+        raf.write(bytes.toByteArray());
+      } catch (IOException e) {
+        try {
+          raf.setLength(validLength);
+        } catch (IOException truncateError) {
+          // Never leave a torn record for later appends to land after.
+          file.delete();
+        }
+        throw e;
+      }
+    }
+  }
+
+  // Drops the oldest quarter of the Addresses, and rewrites the file with the rest.
+  private void evictOldest() {
+    int toDrop = Math.max(1, maxEntries / 4) + index.size() - maxEntries;
+    Iterator<String> names = index.keySet().iterator();
+    for (int i = 0; i < toDrop && names.hasNext(); i++) {
+      names.next();
+      names.remove();
+    }
+
+    File rewritten = new File(file.getPath() + ".tmp");
+    try {
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(rewritten)))) {
+        out.writeInt(magic);
+        for (Address address : index.values()) {
+          writeRecord(out, address);
+        }
+      }
+      if (!rewritten.renameTo(file)) {
+        throw new IOException("could not replace " + file);
+      }
+    } catch (IOException e) {
+      rewritten.delete();
+      file.delete();
+    }
+  }
+
+  private static void writeRecord(DataOutputStream out, Address address) throws IOException {
+    byte[] record = encode(address);
+    CRC32 crc = new CRC32();
+    crc.update(record);
+    out.writeInt(record.length);
+    out.write(record);
+    out.writeInt((int) crc.getValue());
+  }
+
+  // Identifies a scope in file names, without revealing it.
+  private static String scopeId(String scope) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      byte[] hash = digest.digest(scope.getBytes(StandardCharsets.UTF_8));
+      return Hex.encode(hash).substring(0, 32);
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform is required to support SHA-256.
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private Map<String, Address> load() {
+    if (index != null) {
+      return index;
+    }
+    index = new LinkedHashMap<>();
+
+    if (!file.exists()) {
+      return index;
+    }
+
+    try (RandomAccessFile in = new RandomAccessFile(file, "rw")) {
+      long validLength = 0;
+      try {
+        if (in.readInt() != magic) {
+          in.setLength(0);
+          return index;
+        }
+        validLength = in.getFilePointer();
+
+        while (true) {
+          int length = in.readInt();
+          if (length <= 0 || length > maxRecordLength) {
+            break;
+          }
+          byte[] record = new byte[length];
+          in.readFully(record);
+          int checksum = in.readInt();
+
+          CRC32 crc = new CRC32();
+          crc.update(record);
+          if ((int) crc.getValue() != checksum) {
+            break;
+          }
+
+          Address address = decode(record);
+          index.put(address.name, address);
+          validLength = in.getFilePointer();
+        }
+      } catch (EOFException e) {
+        // Reached the end of the file, possibly in the middle of a torn record.
+      }
+
+      if (validLength < in.length()) {
+        in.setLength(validLength);
+      }
+    } catch (IOException e) {
+      index.clear();
+      file.delete();
+    }
+
+    if (index.size() > maxEntries) {
+      evictOldest();
+    }
+    return index;
+  }
+
+  private static byte[] encode(Address address) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeUTF(address.name);
+    out.writeUTF(address.address);
+    out.writeUTF(address.wallet);
+    out.writeInt(address.mpcKeys.size());
+    for (String key : address.mpcKeys) {
+      out.writeUTF(key);
+    }
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  private static Address decode(byte[] record) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+    String name = in.readUTF();
+    String address = in.readUTF();
+    String wallet = in.readUTF();
+    int keyCount = in.readInt();
+    List<String> keys = new ArrayList<>(keyCount);
+    for (int i = 0; i < keyCount; i++) {
+      keys.add(in.readUTF());
+    }
+    return new Address(name, address, Collections.unmodifiableList(keys), wallet);
+  }
+}
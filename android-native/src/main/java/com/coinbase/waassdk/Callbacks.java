@@ -13,11 +13,35 @@ import java.util.Collections;
 import java.util.List;
 
 /**
- * A series of hooks into Android for supporting Waas-android.
+ * A series of hooks into Android for supporting Waas-android, backed by the Android Keystore.
+ *
+ * Other hooks, e.g. software ones for JVM and Robolectric tests, can only be given to an MPCSdk directly,
+ * through {@link MPCSdk#MPCSdk(AndroidCallbacks, Boolean, java.util.concurrent.ExecutorService)}.
  */
 public class Callbacks {
 
+  /**
+   * Enables or disables profiling of the Keystore callbacks. When enabled, the count and latency of
+   * every callback are recorded in {@link SdkMetrics} as "Callbacks.<callback>" and
+   * "Callbacks.<callback>:<key tag>". Profiling is off by default.
+   */
+  public static void setProfilingEnabled(boolean enabled) {
+    ProfilingCallbacks.setEnabled(enabled);
+  }
+
+  /**
+   * Returns the hooks for an MPCSdk, backed by the Android Keystore.
+   */
   public static AndroidCallbacks get(Context context) {
+    return instrument(keystoreCallbacks(context));
+  }
+
+  // Adds profiling and tracing to the given hooks.
+  static AndroidCallbacks instrument(AndroidCallbacks callbacks) {
+    return callbacks instanceof ProfilingCallbacks ? callbacks : new ProfilingCallbacks(callbacks);
+  }
+
+  private static AndroidCallbacks keystoreCallbacks(Context context) {
     SystemKeys systemKeys = new SystemKeys(context);
     int gracePeriod = 0x7fffffff;
     return new AndroidCallbacks() {
@@ -0,0 +1,89 @@
+package com.coinbase.waassdk;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A small, thread-safe, bounded LRU cache whose entries optionally expire after a fixed time-to-live.
+ *
+ * Every invalidation bumps a generation counter. Callers that fetch a value off-thread should read
+ * {@link #generation()} before the fetch and store the result with {@link #putIfGeneration}, so that
+ * a fetch racing with an invalidation cannot re-populate the cache with stale data.
+ */
+final class ExpiringCache<K, V> {
+
+  private static final class TimedValue<V> {
+    final V value;
+    final long expiresAtNanos;
+
+    TimedValue(V value, long expiresAtNanos) {
+      this.value = value;
+      this.expiresAtNanos = expiresAtNanos;
+    }
+  }
+
+  private final int maxEntries;
+  private final long ttlNanos;
+  private final LinkedHashMap<K, TimedValue<V>> entries;
+  private long generation;
+
+  /**
+   * @param maxEntries The maximum number of entries to retain; the least recently used entry is evicted first.
+   * @param ttlMillis The time-to-live of each entry in milliseconds, or 0 for entries that never expire.
+   */
+  ExpiringCache(int maxEntries, long ttlMillis) {
+    this.maxEntries = maxEntries;
+    this.ttlNanos = ttlMillis * 1_000_000L;
+    this.entries = new LinkedHashMap<K, TimedValue<V>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, TimedValue<V>> eldest) {
+        return size() > ExpiringCache.this.maxEntries;
+      }
+    };
+  }
+
+  /**
+   * Returns the cached value for `key`, or null if it is absent or expired.
+   */
+  synchronized V get(K key) {
+    TimedValue<V> entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (ttlNanos > 0 && System.nanoTime() - entry.expiresAtNanos > 0) {
+      entries.remove(key);
+      return null;
+    }
+    return entry.value;
+  }
+
+  synchronized void put(K key, V value) {
+    if (maxEntries <= 0 || value == null) {
+      return;
+    }
+    entries.put(key, new TimedValue<>(value, System.nanoTime() + ttlNanos));
+  }
+
+  /**
+   * Stores `value` only if no invalidation happened since `expectedGeneration` was read.
+   */
+  synchronized void putIfGeneration(K key, V value, long expectedGeneration) {
+    if (generation == expectedGeneration) {
+      put(key, value);
+    }
+  }
+
+  synchronized long generation() {
+    return generation;
+  }
+
+  synchronized void invalidate(K key) {
+    generation++;
+    entries.remove(key);
+  }
+
+  synchronized void invalidateAll() {
+    generation++;
+    entries.clear();
+  }
+}
@@ -0,0 +1,21 @@
+package com.coinbase.waassdk;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Helpers for building {@link Future}s without going through an executor.
+ */
+final class Futures {
+  private Futures() {
+  }
+
+  /**
+   * Returns a Future that has already completed with `value`, for results served from memory.
+   */
+  static <T> Future<T> immediate(T value) {
+    FutureTask<T> task = new FutureTask<>(() -> value);
+    task.run();
+    return task;
+  }
+}
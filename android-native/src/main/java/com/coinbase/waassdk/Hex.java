@@ -0,0 +1,40 @@
+package com.coinbase.waassdk;
+
+/**
+ * Lowercase hex encoding of bytes.
+ */
+final class Hex {
+  private static final char[] hexDigits = "0123456789abcdef".toCharArray();
+
+  private Hex() {
+  }
+
+  /**
+   * Returns `bytes` as a lowercase hex string, or null if `bytes` is null.
+   */
+  static String encode(byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+    char[] out = new char[bytes.length * 2];
+    for (int i = 0; i < bytes.length; i++) {
+      out[i * 2] = hexDigits[(bytes[i] >> 4) & 0xf];
+      out[i * 2 + 1] = hexDigits[bytes[i] & 0xf];
+    }
+    return new String(out);
+  }
+
+  /**
+   * Returns the bytes of a hex string, or null if `hex` is null.
+   */
+  static byte[] decode(String hex) {
+    if (hex == null) {
+      return null;
+    }
+    byte[] out = new byte[hex.length() / 2];
+    for (int i = 0; i < out.length; i++) {
+      out[i] = (byte) ((Character.digit(hex.charAt(i * 2), 16) << 4) | Character.digit(hex.charAt(i * 2 + 1), 16));
+    }
+    return out;
+  }
+}
@@ -0,0 +1,23 @@
+package com.coinbase.waassdk;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes the UTF-8 JSON payloads returned by the Go SDK.
+ */
+final class JsonBytes {
+  private JsonBytes() {
+  }
+
+  static JSONArray toJSONArray(byte[] data) throws JSONException {
+    return new JSONArray(new String(data, StandardCharsets.UTF_8));
+  }
+
+  static JSONObject toJSONObject(byte[] data) throws JSONException {
+    return new JSONObject(new String(data, StandardCharsets.UTF_8));
+  }
+}
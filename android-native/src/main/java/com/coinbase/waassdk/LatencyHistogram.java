@@ -0,0 +1,72 @@
+package com.coinbase.waassdk;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of durations, with log-scale buckets (four per power of two, i.e. ~19% wide)
+ * from 1 microsecond to ~2 minutes. Percentiles are reported as the upper bound of their bucket.
+ */
+final class LatencyHistogram {
+  // Buckets per power of two.
+  private static final int subBuckets = 4;
+  // Enough buckets for 2^27 microseconds (~134s); longer durations land in the last bucket.
+  private static final int bucketCount = 27 * subBuckets + 1;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(bucketCount);
+
+  void record(long nanos) {
+    buckets.incrementAndGet(bucketFor(nanos / 1000));
+  }
+
+  /**
+   * Returns the given percentile (0-100) in milliseconds, or 0 if nothing was recorded.
+   */
+  double percentileMillis(double percentile) {
+    long[] counts = new long[bucketCount];
+    long total = 0;
+    for (int i = 0; i < bucketCount; i++) {
+      counts[i] = buckets.get(i);
+      total += counts[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+
+    long rank = (long) Math.ceil(total * percentile / 100.0);
+    long seen = 0;
+    for (int i = 0; i < bucketCount; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return upperBoundMicros(i) / 1000.0;
+      }
+    }
+    return upperBoundMicros(bucketCount - 1) / 1000.0;
+  }
+
+  void reset() {
+    for (int i = 0; i < bucketCount; i++) {
+      buckets.set(i, 0);
+    }
+  }
+
+  private static int bucketFor(long micros) {
+    if (micros <= 1) {
+      return 0;
+    }
+    // floor(log2(micros)) plus the position within that power of two, in quarters.
+    int exponent = 63 - Long.numberOfLeadingZeros(micros);
+    long base = 1L << exponent;
+    int sub = (int) (((micros - base) * subBuckets) / base);
+    int bucket = exponent * subBuckets + sub + 1;
+    return Math.min(bucket, bucketCount - 1);
+  }
+
+  private static double upperBoundMicros(int bucket) {
+    if (bucket == 0) {
+      return 1;
+    }
+    int exponent = (bucket - 1) / subBuckets;
+    int sub = (bucket - 1) % subBuckets;
+    return Math.pow(2, exponent) * (1 + (sub + 1) / (double) subBuckets);
+  }
+}
@@ -0,0 +1,81 @@
+package com.coinbase.waassdk;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A Go client that is created on first use rather than when its service is constructed, so that neither
+ * the gomobile classes nor the native library are loaded until a service is actually called.
+ *
+ * If creating the client fails, the error is thrown to the caller that triggered it as is, with the error type
+ * the service was created with, and the next caller tries again.
+ */
+final class LazyClient<T> {
+
+  /**
+   * Creates the Go client.
+   */
+  interface Factory<T> {
+    T create() throws Exception;
+  }
+
+  // The error type of the WaasException thrown when the client cannot be created.
+  private final String errorType;
+  private Factory<T> factory;
+  private volatile T client;
+
+  /**
+   * @param errorType The error type to report a failure to create the client with, e.g. "Error initializing mpckey-service: ".
+   * @param factory Creates the client on first use.
+   */
+  LazyClient(String errorType, Factory<T> factory) {
+    this.errorType = errorType;
+    this.factory = factory;
+  }
+
+  /**
+   * Wraps an already created client.
+   */
+  LazyClient(T client) {
+    this.errorType = null;
+    this.client = client;
+  }
+
+  /**
+   * Returns the client, creating it on the first call.
+   */
+  T get() throws WaasException {
+    T current = client;
+    if (current != null) {
+      return current;
+    }
+    synchronized (this) {
+      if (client == null) {
+        try {
+          client = factory.create();
+          factory = null;
+        } catch (Exception e) {
+          throw new WaasException(errorType, e.getMessage());
+        }
+      }
+      return client;
+    }
+  }
+
+  /**
+   * Wraps `callable` so that the client is created before it runs. A failure to create the client is thrown as
+   * is, instead of being reported as a failure of the call by the error handling of `callable`.
+   */
+  <R> Callable<R> whenCreated(final Callable<R> callable) {
+    return () -> {
+      get();
+      return callable.call();
+    };
+  }
+
+  /**
+   * Returns whether the client has been created.
+   */
+  boolean isCreated() {
+    return client != null;
+  }
+}
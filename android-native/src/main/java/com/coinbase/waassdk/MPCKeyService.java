@@ -10,7 +10,11 @@ import com.waassdkinternal.v1.SignedTransaction;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -29,15 +33,44 @@ public class MPCKeyService {
 
   // The URL of the MPCKeyService when running in "direct mode".
   public static final String mpcKeyServiceWaaSUrl = "https://api.developer.coinbase.com/waas/mpc_keys";
-  // The handle to the Go MPCKeyService client.
-  com.waassdkinternal.v1.MPCKeyService keyClient;
+  // The handle to the Go MPCKeyService client, created on first use.
+  LazyClient<com.waassdkinternal.v1.MPCKeyService> keyClient;
 
   ExecutorService executor;
 
+  // How calls that fail with a transient error are retried.
+  private volatile RetryPolicy retryPolicy = RetryPolicy.defaults();
+
+  // The default bound and time-to-live of the DeviceGroup cache.
+  private static final int defaultDeviceGroupCacheSize = 64;
+  private static final long defaultDeviceGroupCacheTtlMillis = 5 * 60 * 1000;
+
+  // DeviceGroups by resource name. Entries are dropped when an operation that changes membership is initiated.
+  private volatile ExpiringCache<String, DeviceGroup> deviceGroupCache =
+    new ExpiringCache<>(defaultDeviceGroupCacheSize, defaultDeviceGroupCacheTtlMillis);
+
+  // The number of completed Signatures to remember.
+  private static final int completedSignatureCacheSize = 128;
+
+  // Completed Signatures by the name of the operation that created them. A completed Signature never changes.
+  private final ExpiringCache<String, Signature> completedSignatures =
+    new ExpiringCache<>(completedSignatureCacheSize, 0);
+
+  // An optional persistent journal of in-flight signings, used to resume them after process death.
+  private volatile SigningJournal signingJournal;
+
+  // The default window within which duplicate createSignatureFromTx calls join the first one.
+  private static final long defaultSignatureDedupWindowMillis = 10 * 1000;
+
+  // Recent createSignatureFromTx calls by a hash of their parent and transaction.
+  private final Map<String, RecentSignatureRequest> recentSignatureRequests = new HashMap<>();
+  private volatile long signatureDedupWindowMillis = defaultSignatureDedupWindowMillis;
+
   /**
    * Initializes the MPCKeyService with the given Cloud API Key parameters or proxy URL.
    * Utilizes `proxyUrl` and operates in insecure mode if either `apiKeyName` or `privateKey` is missing.
    * Uses direct WaaS URL with the API keys if both are provided.
+   * The Go client is created on first use, so an invalid configuration rejects the first call rather than throwing here.
    * NOTE: You should almost never include this statically in your code, and you should
    *       call our endpoints via a proxy service. This API will change in the future
    *       to accommodate proxy services better.
@@ -55,25 +88,129 @@ public class MPCKeyService {
       insecure = false;
     }
 
-    try {
-      keyClient = newMPCKeyService(mpcKeyServiceUrl, apiKeyName, privateKey, insecure);
-      this.executor = executor;
-    } catch (Exception e) {
-      throw new WaasException("Error initializing mpckey-service: ", e.getMessage());
+    keyClient = new LazyClient<>("Error initializing mpckey-service: ",
+      () -> newMPCKeyService(mpcKeyServiceUrl, apiKeyName, privateKey, insecure));
+    this.executor = executor;
+  }
+
+  /**
+   * Initializes the MPCKeyService with the given Go client, e.g. a RecordingKeyClient wrapping one
+   * from `V1.newMPCKeyService`, or a ReplayKeyClient to run without a backend,
+   * both from the test fixtures.
+   */
+  public MPCKeyService(com.waassdkinternal.v1.MPCKeyService keyClient, ExecutorService executor) {
+    this.keyClient = new LazyClient<>(keyClient);
+    this.executor = executor;
+  }
+
+  private <T> Future<T> call(String method, Callable<T> callable) {
+    return call(method, true, callable);
+  }
+
+  // Calls that are not idempotent are only retried after errors showing the MPCKeyService never processed them.
+  private <T> Future<T> call(String method, boolean idempotent, Callable<T> callable) {
+    return retryPolicy.submit(executor, method, idempotent, keyClient.whenCreated(callable));
+  }
+
+  /**
+   * Sets how calls that fail with a transient error are retried; see {@link RetryPolicy}.
+   * Defaults to {@link RetryPolicy#defaults()}. Pass {@link RetryPolicy#none()} to disable retries.
+   */
+  public void setRetryPolicy(RetryPolicy retryPolicy) {
+    this.retryPolicy = retryPolicy;
+  }
+
+  /**
+   * Creates the Go client ahead of the first call, on the executor, so the first call does not pay for it.
+   * Resolves once the service is ready; rejects if it cannot be created.
+   */
+  public Future<Void> createClient() {
+    return call("MPCKeyService.createClient", () -> {
+      keyClient.get();
+      return null;
+    });
+  }
+
+  // A placeholder DeviceGroup, read by warmUp when no DeviceGroup to warm up with is set.
+  private static final String warmUpPlaceholder = "pools/waas-sdk-warm-up/deviceGroups/waas-sdk-warm-up";
+
+  // The DeviceGroup warmUp reads, or null to read warmUpPlaceholder.
+  private volatile String warmUpDeviceGroup;
+
+  /**
+   * Opens a connection to the MPCKeyService ahead of the first real call, so that call does not pay for DNS,
+   * the TLS handshake and authentication: creates the Go client, then reads the DeviceGroup set with
+   * {@link #setWarmUpDeviceGroup}, discarding the result. Resolves once the read is done, whether or not it
+   * succeeded; rejects only if the Go client cannot be created. Failed reads are counted as "failedReads" in
+   * the {@link SdkMetrics} of "MPCKeyService.warmUp", not as errors.
+   */
+  public Future<Void> warmUp() {
+    return call("MPCKeyService.warmUp", warmUpTask());
+  }
+
+  /**
+   * Sets the DeviceGroup warmUp reads, e.g. the app's own once it is known, so the read succeeds. Until one is
+   * set, warmUp reads a placeholder DeviceGroup, which the MPCKeyService answers with NOT_FOUND. Pass null to
+   * go back to the placeholder.
+   */
+  public void setWarmUpDeviceGroup(String deviceGroup) {
+    this.warmUpDeviceGroup = deviceGroup;
+  }
+
+  // The body of warmUp, also run by Waas.warmUp.
+  Callable<Void> warmUpTask() {
+    return () -> {
+      com.waassdkinternal.v1.MPCKeyService client = keyClient.get();
+      String deviceGroup = warmUpDeviceGroup;
+      try {
+        client.getDeviceGroup(deviceGroup != null ? deviceGroup : warmUpPlaceholder);
+      } catch (Exception e) {
+        // The connection is open either way.
+        SdkMetrics.global().count("MPCKeyService.warmUp", "failedReads", 1);
+      }
+      return null;
+    };
+  }
+
+  /**
+   * Sets the journal that signings are recorded in. With a journal set, createSignatureFromTx for a
+   * transaction that is already journaled resolves with the existing operation, and waitPendingSignature
+   * for an operation whose Signature is journaled resolves immediately. Pass null to disable journaling.
+   */
+  public void setSigningJournal(SigningJournal signingJournal) {
+    this.signingJournal = signingJournal;
+  }
+
+  /**
+   * Returns the signings interrupted before their signed transaction was obtained, so they can be resumed
+   * with waitPendingSignature or getSignedTransaction. Returns an empty list if no journal is set.
+   */
+  public List<SigningJournal.Entry> getInterruptedSignings() {
+    SigningJournal journal = signingJournal;
+    if (journal == null) {
+      return Collections.emptyList();
     }
+    return journal.entries();
   }
 
-  private <T> Future<T> call(Callable<T> callable) {
-    return executor.submit(callable);
+  /**
+   * Records in the signing journal that the Device computed its part of the given CreateSignature operation.
+   * Call this after computeMPCOperation succeeds for a pending Signature.
+   */
+  public void recordSignatureComputed(String operation) {
+    SigningJournal journal = signingJournal;
+    if (journal != null) {
+      journal.recordComputed(operation);
+    }
   }
 
   /**
    * Registers the current Device. Resolves with the Device object on success; rejects with an error otherwise.
    */
   public Future<Device> registerDevice() {
-    return call(() -> {
+    return call("MPCKeyService.registerDevice", false, () -> {
       try {
-        return keyClient.registerDevice();
+        return keyClient.get().registerDevice();
       } catch (Exception e) {
         throw new WaasException("registerDevice failed : ", e.getMessage());
       }
@@ -87,11 +224,10 @@ public class MPCKeyService {
    * Resolves with a list of the pending CreateDeviceGroupOperations on success; rejects with an error otherwise.
    */
   public Future<JSONArray> pollForPendingDeviceGroup(String deviceGroup, int pollInterval) {
-    return call(() -> {
+    return call("MPCKeyService.pollForPendingDeviceGroup", () -> {
       try {
-        byte[] pendingDeviceGroupData = keyClient.pollPendingDeviceGroup(deviceGroup, pollInterval);
-        String pendingDeviceGroupDataBytesToStrings = new String(pendingDeviceGroupData, StandardCharsets.UTF_8);
-        return new JSONArray(pendingDeviceGroupDataBytesToStrings);
+        byte[] pendingDeviceGroupData = keyClient.get().pollPendingDeviceGroup(deviceGroup, pollInterval);
+        return JsonBytes.toJSONArray(pendingDeviceGroupData);
       } catch (Exception e) {
         throw new WaasException("pollForPendingDeviceGroup failed : ", e.getMessage());
       }
@@ -105,10 +241,10 @@ public class MPCKeyService {
    * resolves with the empty string otherwise.
    */
   public Future<String> stopPollingPendingDeviceGroup() {
-    return call(() -> {
+    return call("MPCKeyService.stopPollingPendingDeviceGroup", () -> {
       try {
         ResponseReceiver receiver = new ResponseReceiver();
-        keyClient.stopPollingPendingDeviceGroup(receiver);
+        keyClient.get().stopPollingPendingDeviceGroup(receiver);
         return receiver.get();
       } catch (Exception e) {
         throw new WaasException("stopPollingPendingDeviceGroup failed : ", e.getMessage());
@@ -118,20 +254,114 @@ public class MPCKeyService {
 
   /**
    * Initiates an operation to create a Signature resource from the given transaction.
-   * Resolves with the string "success" on successful initiation; rejects with an error otherwise.
+   * A call for the same parent and transaction as one made within the deduplication window (see
+   * {@link #setSignatureDedupWindow}) joins that call instead of creating another operation, and so does
+   * a call for a transaction already in the signing journal.
+   * Resolves with the operation name on successful initiation; rejects with an error otherwise.
    */
   public Future<String> createSignatureFromTx(String parent, JSONObject serializedTx) {
-    return call(() -> {
+    return createSignatureFromTx(parent, SerializedTransaction.fromJSON(serializedTx));
+  }
+
+  /**
+   * Initiates an operation to create a Signature resource from the given, already serialized, transaction.
+   * Behaves like {@link #createSignatureFromTx(String, JSONObject)}; use this variant to serialize the
+   * transaction once and pass the same handle to {@link #getSignedTransaction(SerializedTransaction, Signature)}.
+   */
+  public Future<String> createSignatureFromTx(String parent, SerializedTransaction serializedTx) {
+    byte[] tx = serializedTx.bytes;
+    long windowMillis = signatureDedupWindowMillis;
+    if (windowMillis <= 0) {
+      return createTxSignature(parent, tx, null);
+    }
+
+    String key = TxDigest.of(parent, tx);
+    long now = System.nanoTime();
+    synchronized (recentSignatureRequests) {
+      pruneRecentSignatureRequests(now, windowMillis * 1_000_000L);
+      RecentSignatureRequest recent = recentSignatureRequests.get(key);
+      if (recent != null) {
+        return recent.operation;
+      }
+
+      RecentSignatureRequest request = new RecentSignatureRequest();
+      request.operation = createTxSignature(parent, tx, request);
+      recentSignatureRequests.put(key, request);
+      return request.operation;
+    }
+  }
+
+  /**
+   * Sets how long, in milliseconds, a createSignatureFromTx call is remembered for deduplication once it completes.
+   * A window of 0 disables deduplication.
+   */
+  public void setSignatureDedupWindow(long windowMillis) {
+    signatureDedupWindowMillis = windowMillis;
+  }
+
+  // Creates the operation; stamps `request`, if any, with when the call completed.
+  private Future<String> createTxSignature(String parent, byte[] tx, final RecentSignatureRequest request) {
+    return call("MPCKeyService.createSignatureFromTx", false, () -> {
       try {
+        SigningJournal journal = signingJournal;
+        if (journal != null) {
+          SigningJournal.Entry entry = journal.find(parent, tx);
+          if (entry != null) {
+            return entry.operation;
+          }
+        }
+
         ResponseReceiver receiver = new ResponseReceiver();
-        keyClient.createTxSignature(parent, serializedTx.toString().getBytes(StandardCharsets.UTF_8), receiver);
-        return receiver.get();
+        keyClient.get().createTxSignature(parent, tx, receiver);
+        String operation = receiver.get();
+        if (journal != null) {
+          journal.recordCreated(parent, tx, operation);
+        }
+        return operation;
       } catch (Exception e) {
         throw new WaasException("createSignatureFromTx failed : ", e.getMessage());
+      } finally {
+        if (request != null) {
+          request.completedAtNanos = System.nanoTime();
+        }
       }
     });
   }
 
+  // Drops requests that failed, and completed requests older than the window. Must hold recentSignatureRequests.
+  private void pruneRecentSignatureRequests(long now, long windowNanos) {
+    Iterator<RecentSignatureRequest> iterator = recentSignatureRequests.values().iterator();
+    while (iterator.hasNext()) {
+      RecentSignatureRequest recent = iterator.next();
+      if (!recent.operation.isDone()) {
+        continue;
+      }
+      if (now - recent.completedAtNanos > windowNanos || recent.failed()) {
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * A createSignatureFromTx call that later duplicates can join, until the window has passed since it completed.
+   */
+  private static final class RecentSignatureRequest {
+    // Set right after creation, under the recentSignatureRequests lock.
+    Future<String> operation;
+    // When the call completed (System.nanoTime based); set before the operation is done.
+    volatile long completedAtNanos;
+
+    // Only meaningful once the operation is done.
+    boolean failed() {
+      try {
+        operation.get();
+        return false;
+      } catch (Exception e) {
+        return true;
+      }
+    }
+  }
+
   /**
    * Polls for pending Signatures (i.e. CreateSignatureOperations), and returns the first set that materializes.
    * Only one DeviceGroup can be polled at a time; thus, this function must return (by calling either
@@ -139,11 +369,10 @@ public class MPCKeyService {
    * Resolves with a list of the pending Signatures on success; rejects with an error otherwise.
    */
   public Future<JSONArray> pollForPendingSignatures(String deviceGroup, int pollInterval) {
-    return call(() -> {
+    return call("MPCKeyService.pollForPendingSignatures", () -> {
       try {
-        byte[] pendingSeedsData = keyClient.pollPendingSignatures(deviceGroup, pollInterval);
-        String pendingSeedsDataBytesToStrings = new String(pendingSeedsData, StandardCharsets.UTF_8);
-        return new JSONArray(pendingSeedsDataBytesToStrings);
+        byte[] pendingSeedsData = keyClient.get().pollPendingSignatures(deviceGroup, pollInterval);
+        return JsonBytes.toJSONArray(pendingSeedsData);
       } catch (Exception e) {
         throw new WaasException("pollForPendingSignatures failed : ", e.getMessage());
       }
@@ -157,10 +386,10 @@ public class MPCKeyService {
    * resolves with the empty string otherwise.
    */
   public Future<String> stopPollingForPendingSignatures() {
-    return call(() -> {
+    return call("MPCKeyService.stopPollingForPendingSignatures", () -> {
       try {
         ResponseReceiver receiver = new ResponseReceiver();
-        keyClient.stopPollingPendingSignatures(receiver);
+        keyClient.get().stopPollingPendingSignatures(receiver);
         return receiver.get();
       } catch (Exception e) {
         throw new WaasException("stopPollingPendingSignatures failed : ", e.getMessage());
@@ -169,14 +398,39 @@ public class MPCKeyService {
   }
 
   /**
-   * Waits for a pending Signature with the given operation name. Resolves with the Signature object on success;
-   * rejects with an error otherwise.
+   * Waits for a pending Signature with the given operation name. Operations that already completed in this process
+   * resolve immediately from memory. Resolves with the Signature object on success; rejects with an error otherwise.
    */
   public Future<Signature> waitPendingSignature(String operation) {
-    return call(() -> {
+    Signature completed = completedSignatures.get(operation);
+    if (completed != null) {
+      return Futures.immediate(completed);
+    }
+
+    return call("MPCKeyService.waitPendingSignature", () -> {
       try {
-        return keyClient.waitPendingSignature(operation);
+        SigningJournal journal = signingJournal;
+        if (journal != null) {
+          SigningJournal.Entry entry = journal.findByOperation(operation);
+          if (entry != null && entry.signature != null) {
+            completedSignatures.put(operation, entry.signature);
+            return entry.signature;
+          }
+        }
+
+        Signature signature = keyClient.get().waitPendingSignature(operation);
+        completedSignatures.put(operation, signature);
+        if (journal != null) {
+          journal.recordSigned(operation, signature);
+        }
+        return signature;
       } catch (Exception e) {
+        SigningJournal journal = signingJournal;
+        if (journal != null && !RetryPolicy.isRetryable(e.getMessage(), true)) {
+          // Let a retry of the same transaction create a fresh operation. Transient errors keep the entry,
+          // whether or not they are retried here, so the operation can still be resumed.
+          journal.discard(operation);
+        }
         throw new WaasException("waitPendingSignature failed : ", e.getMessage());
       }
     });
@@ -187,9 +441,22 @@ public class MPCKeyService {
    * Resolves with the SignedTransaction on success; rejects with an error otherwise.
    */
   public Future<SignedTransaction> getSignedTransaction(JSONObject serializedTx, Signature signature) {
-    return call(() -> {
+    return getSignedTransaction(SerializedTransaction.fromJSON(serializedTx), signature);
+  }
+
+  /**
+   * Gets the signed transaction using the given, already serialized, transaction and Signature.
+   * Resolves with the SignedTransaction on success; rejects with an error otherwise.
+   */
+  public Future<SignedTransaction> getSignedTransaction(SerializedTransaction serializedTx, Signature signature) {
+    return call("MPCKeyService.getSignedTransaction", () -> {
       try {
-        return keyClient.getSignedTransaction(serializedTx.toString().getBytes(StandardCharsets.UTF_8), signature);
+        SignedTransaction signedTransaction = keyClient.get().getSignedTransaction(serializedTx.bytes, signature);
+        SigningJournal journal = signingJournal;
+        if (journal != null) {
+          journal.complete(signature);
+        }
+        return signedTransaction;
       } catch (Exception e) {
         throw new WaasException("getSignedTransaction failed : ", e.getMessage());
       }
@@ -200,25 +467,63 @@ public class MPCKeyService {
    * Gets a DeviceGroup with the given name. Resolves with the DeviceGroup object on success; rejects with an error otherwise.
    */
   public Future<DeviceGroup> getDeviceGroup(String name) {
-    return call(() -> {
+    ExpiringCache<String, DeviceGroup> cache = deviceGroupCache;
+    DeviceGroup cached = cache.get(name);
+    if (cached != null) {
+      return Futures.immediate(cached);
+    }
+
+    long generation = cache.generation();
+    return call("MPCKeyService.getDeviceGroup", () -> {
       try {
-        return keyClient.getDeviceGroup(name);
+        DeviceGroup deviceGroup = keyClient.get().getDeviceGroup(name);
+        cache.putIfGeneration(name, deviceGroup, generation);
+        return deviceGroup;
       } catch (Exception e) {
         throw new WaasException("getDeviceGroup failed : ", e.getMessage());
       }
     });
   }
 
+  /**
+   * Configures the in-memory DeviceGroup cache used by {@link #getDeviceGroup}, discarding any cached entries.
+   * A `maxEntries` of 0 disables caching; a `ttlMillis` of 0 keeps entries until they are evicted or invalidated.
+   */
+  public void configureDeviceGroupCache(int maxEntries, long ttlMillis) {
+    ExpiringCache<String, DeviceGroup> previous = deviceGroupCache;
+    deviceGroupCache = new ExpiringCache<>(maxEntries, ttlMillis);
+    previous.invalidateAll();
+  }
+
+  /**
+   * Drops the cached DeviceGroup with the given name, so the next {@link #getDeviceGroup} call goes to the server.
+   * The cache is dropped when an operation that changes the DeviceGroup is initiated, and, through an
+   * {@link MPCSdk.DeviceGroupChangeListener}, when the Device has computed it; call this when the DeviceGroup
+   * changes by other means.
+   */
+  public void invalidateDeviceGroup(String name) {
+    deviceGroupCache.invalidate(name);
+  }
+
+  /**
+   * Drops all cached DeviceGroups.
+   */
+  public void invalidateDeviceGroups() {
+    deviceGroupCache.invalidateAll();
+  }
+
   /**
    * Initiates an operation to prepare device archive for MPCKey export. Resolves with the operation name on successful initiation; rejects with
    * an error otherwise.
    */
   public Future<String> prepareDeviceArchive(String deviceGroup, String device) {
-    return call(() -> {
+    return call("MPCKeyService.prepareDeviceArchive", false, () -> {
       try {
         ResponseReceiver receiver = new ResponseReceiver();
-        keyClient.prepareDeviceArchive(deviceGroup, device, receiver);
-        return receiver.get();
+        keyClient.get().prepareDeviceArchive(deviceGroup, device, receiver);
+        String operation = receiver.get();
+        invalidateDeviceGroup(deviceGroup);
+        return operation;
       } catch (Exception e) {
         throw new WaasException("prepareDeviceArchive failed : ", e.getMessage());
       }
@@ -232,11 +537,10 @@ public class MPCKeyService {
    * Resolves with a list of the pending DeviceArchives on success; rejects with an error otherwise.
    */
   public Future<JSONArray> pollForPendingDeviceArchives(String deviceGroup, int pollInterval) {
-    return call(() -> {
+    return call("MPCKeyService.pollForPendingDeviceArchives", () -> {
       try {
-        byte[] pendingDeviceArchiveData = keyClient.pollPendingDeviceArchives(deviceGroup, pollInterval);
-        String pendingDeviceArchiveDataBytesToStrings = new String(pendingDeviceArchiveData, StandardCharsets.UTF_8);
-        return new JSONArray(pendingDeviceArchiveDataBytesToStrings);
+        byte[] pendingDeviceArchiveData = keyClient.get().pollPendingDeviceArchives(deviceGroup, pollInterval);
+        return JsonBytes.toJSONArray(pendingDeviceArchiveData);
       } catch (Exception e) {
         throw new WaasException("pollForPendingDeviceArchives failed : ", e.getMessage());
       }
@@ -249,10 +553,10 @@ public class MPCKeyService {
    * Resolves with string "stopped polling for pending Device Archives" if polling is stopped successfully; resolves with the empty string otherwise.
    */
   public Future<String> stopPollingForPendingDeviceArchives() {
-    return call(() -> {
+    return call("MPCKeyService.stopPollingForPendingDeviceArchives", () -> {
       try {
         ResponseReceiver receiver = new ResponseReceiver();
-        keyClient.stopPollingPendingDeviceArchives(receiver);
+        keyClient.get().stopPollingPendingDeviceArchives(receiver);
         return receiver.get();
       } catch (Exception e) {
         throw new WaasException("stopPollingForPendingDeviceArchives failed : ", e.getMessage());
@@ -268,11 +572,10 @@ public class MPCKeyService {
    * Resolves with a list of the pending DeviceBackups on success; rejects with an error otherwise.
    */
   public Future<JSONArray> pollForPendingDeviceBackups(String deviceGroup, int pollInterval) {
-    return call(() -> {
+    return call("MPCKeyService.pollForPendingDeviceBackups", () -> {
       try {
-        byte[] pendingDeviceBackupData = keyClient.pollPendingDeviceBackups(deviceGroup, pollInterval);
-        String pendingDeviceBackupDataBytesToStrings = new String(pendingDeviceBackupData, StandardCharsets.UTF_8);
-        return new JSONArray(pendingDeviceBackupDataBytesToStrings);
+        byte[] pendingDeviceBackupData = keyClient.get().pollPendingDeviceBackups(deviceGroup, pollInterval);
+        return JsonBytes.toJSONArray(pendingDeviceBackupData);
       } catch (Exception e) {
         throw new WaasException("pollForPendingDeviceBackups failed : ", e.getMessage());
       }
@@ -285,10 +588,10 @@ public class MPCKeyService {
    * Resolves with string "stopped polling for pending Device Backups" if polling is stopped successfully; resolves with the empty string otherwise.
    */
   public Future<String> stopPollingForPendingDeviceBackups() {
-    return call(() -> {
+    return call("MPCKeyService.stopPollingForPendingDeviceBackups", () -> {
       try {
         ResponseReceiver receiver = new ResponseReceiver();
-        keyClient.stopPollingPendingDeviceBackups(receiver);
+        keyClient.get().stopPollingPendingDeviceBackups(receiver);
         return receiver.get();
       } catch (Exception e) {
         throw new WaasException("stopPollingForPendingDeviceBackups failed : ", e.getMessage());
@@ -302,11 +605,13 @@ public class MPCKeyService {
    * an error otherwise.
    */
   public Future<String> prepareDeviceBackup(String deviceGroup, String device) {
-    return call(() -> {
+    return call("MPCKeyService.prepareDeviceBackup", false, () -> {
       try {
         ResponseReceiver receiver = new ResponseReceiver();
-        keyClient.prepareDeviceBackup(deviceGroup, device, receiver);
-        return receiver.get();
+        keyClient.get().prepareDeviceBackup(deviceGroup, device, receiver);
+        String operation = receiver.get();
+        invalidateDeviceGroup(deviceGroup);
+        return operation;
       } catch (Exception e) {
         throw new WaasException("prepareDeviceBackup failed : ", e.getMessage());
       }
@@ -318,11 +623,13 @@ public class MPCKeyService {
    * an error otherwise.
    */
   public Future<String> addDevice(String deviceGroup, String device) {
-    return call(() -> {
+    return call("MPCKeyService.addDevice", false, () -> {
       try {
         ResponseReceiver receiver = new ResponseReceiver();
-        keyClient.addDevice(deviceGroup, device, receiver);
-        return receiver.get();
+        keyClient.get().addDevice(deviceGroup, device, receiver);
+        String operation = receiver.get();
+        invalidateDeviceGroup(deviceGroup);
+        return operation;
       } catch (Exception e) {
         throw new WaasException("addDevice failed : ", e.getMessage());
       }
@@ -337,11 +644,10 @@ public class MPCKeyService {
    * Resolves with a list of the pending Devices on success; rejects with an error otherwise.
    */
   public Future<JSONArray> pollForPendingDevices(String deviceGroup, int pollInterval) {
-    return call(() -> {
+    return call("MPCKeyService.pollForPendingDevices", () -> {
       try {
-        byte[] pendingDeviceData = keyClient.pollPendingDevices(deviceGroup, pollInterval);
-        String pendingDeviceDataBytesToStrings = new String(pendingDeviceData, StandardCharsets.UTF_8);
-        return new JSONArray(pendingDeviceDataBytesToStrings);
+        byte[] pendingDeviceData = keyClient.get().pollPendingDevices(deviceGroup, pollInterval);
+        return JsonBytes.toJSONArray(pendingDeviceData);
       } catch (Exception e) {
         throw new WaasException("pollForPendingDevices failed : ", e.getMessage());
       }
@@ -354,10 +660,10 @@ public class MPCKeyService {
    * Resolves with string "stopped polling for pending Devices" if polling is stopped successfully; resolves with the empty string otherwise.
    */
   public Future<String> stopPollingForPendingDevices() {
-    return call(() -> {
+    return call("MPCKeyService.stopPollingForPendingDevices", () -> {
       try {
         ResponseReceiver receiver = new ResponseReceiver();
-        keyClient.stopPollingPendingDevices(receiver);
+        keyClient.get().stopPollingPendingDevices(receiver);
         return receiver.get();
       } catch (Exception e) {
         throw new WaasException("stopPollingForPendingDevices failed : ", e.getMessage());
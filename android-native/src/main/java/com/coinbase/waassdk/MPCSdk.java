@@ -4,10 +4,13 @@ import static com.waassdkinternal.v1.V1.newMPCSdk;
 
 import android.content.Context;
 
+import com.waassdkinternal.v1.AndroidCallbacks;
+
 import org.json.JSONArray;
 
-import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
@@ -19,26 +22,86 @@ public class MPCSdk {
   // The config to be used for MPCSdk initialization.
   private static final String mpcSdkConfig = "default";
 
-  // The handle to the Go MPCSdk class.
-  com.waassdkinternal.v1.MPCSdk sdk;
+  // The handle to the Go MPCSdk class, created on first use.
+  LazyClient<com.waassdkinternal.v1.MPCSdk> sdk;
 
   ExecutorService executor;
 
+  /**
+   * Notified when the Device has computed an MPC operation that changes DeviceGroups: AddDevice,
+   * PrepareDeviceBackup or PrepareDeviceArchive. The operation's DeviceGroup is not known to the MPCSdk.
+   */
+  public interface DeviceGroupChangeListener {
+    void onDeviceGroupsChanged();
+  }
+
+  private final List<DeviceGroupChangeListener> deviceGroupChangeListeners = new CopyOnWriteArrayList<>();
+
+  // The memoized result of getRegistrationData, cleared when the Device is bootstrapped or its passcode is reset.
+  private String registrationData;
+  // Bumped on every invalidation, so a fetch that overlaps a bootstrap or reset is not memoized.
+  private long registrationDataGeneration;
+
   /**
    * Initializes the MPCSdk  with the given parameters.
-   * Resolves on success; rejects with an error otherwise.
+   * The Go MPCSdk and its Keystore hooks are created on first use, so an error initializing them rejects
+   * the first call rather than throwing here.
    */
   public MPCSdk(Context context, Boolean isSimulator, ExecutorService executorService) throws WaasException {
-    try {
-      sdk = newMPCSdk(mpcSdkConfig, isSimulator, Callbacks.get(context));
-      executor = executorService;
-    } catch (Exception e) {
-      throw new WaasException("error initializing mpcsdk: ", e.getMessage());
+    sdk = new LazyClient<>("error initializing mpcsdk: ",
+      () -> newMPCSdk(mpcSdkConfig, isSimulator, Callbacks.get(context)));
+    executor = executorService;
+  }
+
+  /**
+   * Initializes the MPCSdk with the given hooks instead of the Android Keystore, e.g. SoftwareCallbacks from the
+   * test fixtures, to construct and exercise the MPCSdk in JVM or Robolectric tests.
+   */
+  public MPCSdk(AndroidCallbacks callbacks, Boolean isSimulator, ExecutorService executorService) throws WaasException {
+    sdk = new LazyClient<>("error initializing mpcsdk: ",
+      () -> newMPCSdk(mpcSdkConfig, isSimulator, Callbacks.instrument(callbacks)));
+    executor = executorService;
+  }
+
+  private <T> Future<T> call(String method, Callable<T> callable) {
+    return SdkTrace.submit(executor, method, SdkMetrics.timed(method, sdk.whenCreated(callable)));
+  }
+
+  /**
+   * Adds a listener to notify when the Device has computed an MPC operation that changes DeviceGroups, e.g. to
+   * drop the DeviceGroups cached by an {@link MPCKeyService} with {@link MPCKeyService#invalidateDeviceGroups()}.
+   */
+  public void addDeviceGroupChangeListener(DeviceGroupChangeListener listener) {
+    deviceGroupChangeListeners.add(listener);
+  }
+
+  public void removeDeviceGroupChangeListener(DeviceGroupChangeListener listener) {
+    deviceGroupChangeListeners.remove(listener);
+  }
+
+  private void notifyDeviceGroupsChanged() {
+    for (DeviceGroupChangeListener listener : deviceGroupChangeListeners) {
+      listener.onDeviceGroupsChanged();
     }
   }
 
-  private <T> Future<T> call(Callable<T> callable) {
-    return executor.submit(callable);
+  /**
+   * Creates the Go MPCSdk and its Keystore hooks ahead of the first call, on the executor, so the first call does not pay for it.
+   * Resolves once the service is ready; rejects if it cannot be created.
+   */
+  public Future<Void> createClient() {
+    return call("MPCSdk.createClient", () -> {
+      sdk.get();
+      return null;
+    });
+  }
+
+  /**
+   * Prepares the MPCSdk for the first real call. The MPCSdk makes no network calls of its own, so this creates
+   * the Go MPCSdk and loads its Keystore hooks. Resolves once the MPCSdk is ready; rejects if it cannot be created.
+   */
+  public Future<Void> warmUp() {
+    return createClient();
   }
 
   /**
@@ -49,37 +112,77 @@ public class MPCSdk {
    * has been called for the Device. Throws an exception if an error occurred.
    */
   public String bootstrapDevice(String passcode) throws WaasException {
+    invalidateRegistrationData();
+    long startedAt = System.nanoTime();
+    WaasException error = null;
     try {
       ResponseReceiver receiver = new ResponseReceiver();
-      sdk.bootstrapDevice(passcode, receiver);
+      sdk.get().bootstrapDevice(passcode, receiver);
       return receiver.get();
+    } catch (WaasException e) {
+      // The Go MPCSdk could not be created.
+      error = e;
+      throw error;
     } catch (Exception e) {
-      throw new WaasException("bootstrapDevice failed : ", e.getMessage());
+      error = new WaasException("bootstrapDevice failed : ", e.getMessage());
+      throw error;
+    } finally {
+      invalidateRegistrationData();
+      SdkMetrics.global().record("MPCSdk.bootstrapDevice", 0, System.nanoTime() - startedAt, error);
     }
   }
 
   /**
    * GetRegistrationData returns the data required to call RegisterDeviceAPI on MPCKeyService.
+   * The result is memoized until the Device is bootstrapped again or its passcode is reset.
    * Returns the RegistrationData on success; throws an exception otherwise.
    */
   public String getRegistrationData() throws WaasException {
+    long generation;
+    synchronized (this) {
+      if (registrationData != null) {
+        return registrationData;
+      }
+      generation = registrationDataGeneration;
+    }
+
+    long startedAt = System.nanoTime();
+    WaasException error = null;
     try {
       ResponseReceiver receiver = new ResponseReceiver();
-      sdk.getRegistrationData(receiver);
-      return receiver.get();
+      sdk.get().getRegistrationData(receiver);
+      String data = receiver.get();
+      synchronized (this) {
+        if (generation == registrationDataGeneration) {
+          registrationData = data;
+        }
+      }
+      return data;
+    } catch (WaasException e) {
+      // The Go MPCSdk could not be created.
+      error = e;
+      throw error;
     } catch (Exception e) {
-      throw new WaasException("getRegistrationData failed : ", e.getMessage());
+      error = new WaasException("getRegistrationData failed : ", e.getMessage());
+      throw error;
+    } finally {
+      SdkMetrics.global().record("MPCSdk.getRegistrationData", 0, System.nanoTime() - startedAt, error);
     }
   }
 
+  private synchronized void invalidateRegistrationData() {
+    registrationData = null;
+    registrationDataGeneration++;
+  }
+
   /**
    * ComputeMPCOperation computes an MPC operation, given mpcData from the response of ListMPCOperations API on
    * MPCKeyService. Resolves on success; rejects with an error otherwise.
    */
   public Future<Void> computeMPCOperation(String mpcData) {
-    return call(() -> {
+    return call("MPCSdk.computeMPCOperation", () -> {
       try {
-        sdk.computeMPCOperation(mpcData);
+        sdk.get().computeMPCOperation(mpcData);
         return null;
       } catch (Exception e) {
         throw new WaasException("computeMPCOperation failed : ", e.getMessage());
@@ -94,11 +197,10 @@ public class MPCSdk {
    * rejects with an error otherwise.
    */
   public Future<JSONArray> exportPrivateKeys(String mpcKeyExportMetadata, String passcode) {
-    return call(() -> {
+    return call("MPCSdk.exportPrivateKeys", () -> {
       try {
-        byte[] exportPrivateKeysData = sdk.exportPrivateKeys(mpcKeyExportMetadata, passcode);
-        String exportPrivateKeysDataBytesToStrings = new String(exportPrivateKeysData, StandardCharsets.UTF_8);
-        return new JSONArray(exportPrivateKeysDataBytesToStrings);
+        byte[] exportPrivateKeysData = sdk.get().exportPrivateKeys(mpcKeyExportMetadata, passcode);
+        return JsonBytes.toJSONArray(exportPrivateKeysData);
       } catch (Exception e) {
         throw new WaasException("exportPrivateKeys failed : ", e.getMessage());
       }
@@ -111,13 +213,14 @@ public class MPCSdk {
    * MPCKeyService and passcode of the Device. Resolves on success; rejects with an error otherwise.
    */
   public Future<Void> computePrepareDeviceArchiveMPCOperation(String mpcData, String passcode) {
-    return call(() -> {
+    return call("MPCSdk.computePrepareDeviceArchiveMPCOperation", () -> {
       try {
-        sdk.computePrepareDeviceArchiveMPCOperation(mpcData, passcode);
-        return null;
+        sdk.get().computePrepareDeviceArchiveMPCOperation(mpcData, passcode);
       } catch (Exception e) {
         throw new WaasException("computePrepareDeviceArchiveMPCOperation failed : ", e.getMessage());
       }
+      notifyDeviceGroupsChanged();
+      return null;
     });
   }
 
@@ -126,13 +229,14 @@ public class MPCSdk {
    * MPCKeyService and passcode of the Device. Resolves on success; rejects with an error otherwise.
    */
   public Future<Void> computePrepareDeviceBackupMPCOperation(String mpcData, String passcode) {
-    return call(() -> {
+    return call("MPCSdk.computePrepareDeviceBackupMPCOperation", () -> {
       try {
-        sdk.computePrepareDeviceBackupMPCOperation(mpcData, passcode);
-        return null;
+        sdk.get().computePrepareDeviceBackupMPCOperation(mpcData, passcode);
       } catch (Exception e) {
         throw new WaasException("computePrepareDeviceBackupMPCOperation failed : ", e.getMessage());
       }
+      notifyDeviceGroupsChanged();
+      return null;
     });
   }
 
@@ -141,10 +245,10 @@ public class MPCSdk {
    * Resolves with backup data as a hex-encoded string on success; rejects with an error otherwise.
    */
   public Future<String> exportDeviceBackup() {
-    return call(() -> {
+    return call("MPCSdk.exportDeviceBackup", () -> {
       try {
         ResponseReceiver receiver = new ResponseReceiver();
-        sdk.exportDeviceBackup(receiver);
+        sdk.get().exportDeviceBackup(receiver);
         return receiver.get();
       } catch (Exception e) {
         throw new WaasException("exportDeviceBackup failed : ", e.getMessage());
@@ -157,13 +261,14 @@ public class MPCSdk {
    * MPCKeyService, passcode of the Device and deviceBackup created with PrepareDeviceBackup operation. Resolves on success; rejects with an error otherwise.
    */
   public Future<Void> computeAddDeviceMPCOperation(String mpcData, String passcode, String deviceBackup) {
-    return call(() -> {
+    return call("MPCSdk.computeAddDeviceMPCOperation", () -> {
       try {
-        sdk.computeAddDeviceMPCOperation(mpcData, passcode, deviceBackup);
-        return null;
+        sdk.get().computeAddDeviceMPCOperation(mpcData, passcode, deviceBackup);
       } catch (Exception e) {
         throw new WaasException("computeAddDeviceMPCOperation failed : ", e.getMessage());
       }
+      notifyDeviceGroupsChanged();
+      return null;
     });
   }
 
@@ -175,12 +280,15 @@ public class MPCSdk {
    * resolves on success; a rejection otherwise.
    */
   public Future<Void> resetPasscode(String newPasscode) {
-    return call(() -> {
+    return call("MPCSdk.resetPasscode", () -> {
+      invalidateRegistrationData();
       try {
-        sdk.resetPasscode(newPasscode);
+        sdk.get().resetPasscode(newPasscode);
         return null;
       } catch (Exception e) {
         throw new WaasException("resetPasscode failed : ", e.getMessage());
+      } finally {
+        invalidateRegistrationData();
       }
     });
   }
@@ -8,7 +8,6 @@ import com.waassdkinternal.v1.MPCWallet;
 
 import org.json.JSONObject;
 
-import java.nio.charset.StandardCharsets;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -20,17 +19,90 @@ public class MPCWalletService {
   // The URL of the MPCWalletService when running in "direct mode".
   public static final String mpcWalletServiceWaaSUrl = "https://api.developer.coinbase.com/waas/mpc_wallets";
 
-  com.waassdkinternal.v1.MPCWalletService walletsClient;
+  // The handle to the Go MPCWalletService client, created on first use.
+  LazyClient<com.waassdkinternal.v1.MPCWalletService> walletsClient;
 
   ExecutorService executor;
 
-  private <T> Future<T> call(Callable<T> callable) {
-    return executor.submit(callable);
+  // How calls that fail with a transient error are retried.
+  private volatile RetryPolicy retryPolicy = RetryPolicy.defaults();
+
+  // An optional persistent cache of Addresses, filled by generateAddress and getAddress.
+  private volatile AddressCache addressCache;
+
+  private <T> Future<T> call(String method, Callable<T> callable) {
+    return call(method, true, callable);
+  }
+
+  // Calls that are not idempotent are only retried after errors showing the MPCWalletService never processed them.
+  private <T> Future<T> call(String method, boolean idempotent, Callable<T> callable) {
+    return retryPolicy.submit(executor, method, idempotent, walletsClient.whenCreated(callable));
+  }
+
+  /**
+   * Sets how calls that fail with a transient error are retried; see {@link RetryPolicy}.
+   * Defaults to {@link RetryPolicy#defaults()}. Pass {@link RetryPolicy#none()} to disable retries.
+   */
+  public void setRetryPolicy(RetryPolicy retryPolicy) {
+    this.retryPolicy = retryPolicy;
+  }
+
+  /**
+   * Creates the Go client ahead of the first call, on the executor, so the first call does not pay for it.
+   * Resolves once the service is ready; rejects if it cannot be created.
+   */
+  public Future<Void> createClient() {
+    return call("MPCWalletService.createClient", () -> {
+      walletsClient.get();
+      return null;
+    });
+  }
+
+  // A placeholder Address on no network in particular, read by warmUp when no Address to warm up with is set.
+  private static final String warmUpPlaceholder = "networks/waas-sdk-warm-up/addresses/waas-sdk-warm-up";
+
+  // The Address warmUp reads, or null to read warmUpPlaceholder.
+  private volatile String warmUpAddress;
+
+  /**
+   * Opens a connection to the MPCWalletService ahead of the first real call, so that call does not pay for DNS,
+   * the TLS handshake and authentication: creates the Go client, then reads the Address set with
+   * {@link #setWarmUpAddress}, discarding the result. The Address cache is bypassed. Resolves once the read is
+   * done, whether or not it succeeded; rejects only if the Go client cannot be created. Failed reads are counted
+   * as "failedReads" in the {@link SdkMetrics} of "MPCWalletService.warmUp", not as errors.
+   */
+  public Future<Void> warmUp() {
+    return call("MPCWalletService.warmUp", warmUpTask());
+  }
+
+  /**
+   * Sets the Address warmUp reads, e.g. one of the app's own once it is known, so the read succeeds. Until one
+   * is set, warmUp reads a placeholder Address, which the MPCWalletService rejects. Pass null to go back to the
+   * placeholder.
+   */
+  public void setWarmUpAddress(String address) {
+    this.warmUpAddress = address;
+  }
+
+  // The body of warmUp, also run by Waas.warmUp.
+  Callable<Void> warmUpTask() {
+    return () -> {
+      com.waassdkinternal.v1.MPCWalletService client = walletsClient.get();
+      String address = warmUpAddress;
+      try {
+        client.getAddress(address != null ? address : warmUpPlaceholder);
+      } catch (Exception e) {
+        // The connection is open either way.
+        SdkMetrics.global().count("MPCWalletService.warmUp", "failedReads", 1);
+      }
+      return null;
+    };
   }
 
   /**
    * Initializes the MPCWalletService with the given Cloud API Key parameters or proxy URL.
    * Utilizes `proxyUrl` and operates in insecure mode if either `apiKeyName` or `privateKey` is missing.
+   * The Go client is created on first use, so an invalid configuration rejects the first call rather than throwing here.
    * NOTE: You should almost never include these credentials in your app, and instead
    *       delegate to a proxy server to perform these calls.
    */
@@ -47,12 +119,27 @@ public class MPCWalletService {
       insecure = false;
     }
 
-    try {
-      walletsClient = newMPCWalletService(mpcWalletServiceUrl, apiKeyName, privateKey, insecure);
-      this.executor = executor;
-    } catch (Exception e) {
-      throw new WaasException("initialize MPC wallet service failed : ", e.getMessage());
-    }
+    walletsClient = new LazyClient<>("initialize MPC wallet service failed : ",
+      () -> newMPCWalletService(mpcWalletServiceUrl, apiKeyName, privateKey, insecure));
+    this.executor = executor;
+  }
+
+  /**
+   * Initializes the MPCWalletService with the given Go client, e.g. a RecordingWalletClient wrapping one
+   * from `V1.newMPCWalletService`, or a ReplayWalletClient to run without a backend,
+   * both from the test fixtures.
+   */
+  public MPCWalletService(com.waassdkinternal.v1.MPCWalletService walletsClient, ExecutorService executor) {
+    this.walletsClient = new LazyClient<>(walletsClient);
+    this.executor = executor;
+  }
+
+  /**
+   * Sets the persistent cache that {@link #getAddress} is served from, and that created and fetched
+   * Addresses are written to. Pass null to disable caching.
+   */
+  public void setAddressCache(AddressCache addressCache) {
+    this.addressCache = addressCache;
   }
 
   /**
@@ -60,9 +147,9 @@ public class MPCWalletService {
    * otherwise.
    */
   public Future<CreateMPCWalletResponse> createMPCWallet(String poolId, String device) {
-    return call(() -> {
+    return call("MPCWalletService.createMPCWallet", false, () -> {
       try {
-        return walletsClient.createMPCWallet(poolId, device);
+        return walletsClient.get().createMPCWallet(poolId, device);
       } catch (Exception e) {
         throw new WaasException("createMPCWallet failed : ", e.getMessage());
       }
@@ -74,9 +161,9 @@ public class MPCWalletService {
    * rejects with an error otherwise.
    */
   public Future<MPCWallet> waitPendingMPCWallet(String operation) {
-    return call(() -> {
+    return call("MPCWalletService.waitPendingMPCWallet", () -> {
       try {
-        return walletsClient.waitPendingMPCWallet(operation);
+        return walletsClient.get().waitPendingMPCWallet(operation);
       } catch (Exception e) {
         throw new WaasException("waitPendingMPCWallet failed : ", e.getMessage());
       }
@@ -90,11 +177,15 @@ public class MPCWalletService {
    * Resolves with the Address object on success; rejects with an error otherwise.
    */
   public Future<Address> generateAddress(String mpcWallet, WaasNetwork network) {
-    return call(() -> {
+    return call("MPCWalletService.generateAddress", false, () -> {
       try {
-        byte[] addressData = walletsClient.generateAddress(mpcWallet, network.toString());
-        String addressDataBytesToStrings = new String(addressData, StandardCharsets.UTF_8);
-        return Address.fromJSON(new JSONObject(addressDataBytesToStrings));
+        byte[] addressData = walletsClient.get().generateAddress(mpcWallet, network.toString());
+        Address address = Address.fromJSON(JsonBytes.toJSONObject(addressData));
+        AddressCache cache = addressCache;
+        if (cache != null) {
+          cache.put(address);
+        }
+        return address;
       } catch (Exception e) {
         throw new WaasException("generateAddress failed : ", e.getMessage());
       }
@@ -102,14 +193,33 @@ public class MPCWalletService {
   }
 
   /**
-   * Gets an Address with the given name. Resolves with the Address object on success; rejects with an error otherwise.
+   * Gets an Address with the given name, from the Address cache if one is set and holds it. Resolves with the Address object on success; rejects with an error otherwise.
    */
   public Future<Address> getAddress(String name) {
-    return call(() -> {
+    AddressCache cache = addressCache;
+    if (cache != null) {
+      Address cached = cache.peek(name);
+      if (cached != null) {
+        return Futures.immediate(cached);
+      }
+    }
+
+    return call("MPCWalletService.getAddress", () -> {
       try {
-        byte[] addressData = walletsClient.getAddress(name);
-        String addressDataBytesToStrings = new String(addressData, StandardCharsets.UTF_8);
-        return Address.fromJSON(new JSONObject(addressDataBytesToStrings));
+        if (cache != null) {
+          // The first lookup loads the cache from disk, so it happens here rather than on the calling thread.
+          Address cached = cache.get(name);
+          if (cached != null) {
+            return cached;
+          }
+        }
+
+        byte[] addressData = walletsClient.get().getAddress(name);
+        Address address = Address.fromJSON(JsonBytes.toJSONObject(addressData));
+        if (cache != null) {
+          cache.put(address);
+        }
+        return address;
       } catch (Exception e) {
         throw new WaasException("getAddress failed : ", e.getMessage());
       }
@@ -4,6 +4,7 @@ import static com.waassdkinternal.v1.V1.newPoolService;
 
 import com.waassdkinternal.v1.Pool;
 
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
@@ -14,14 +15,18 @@ import java.util.concurrent.Future;
 public class PoolService {
   // The URL of the PoolService when running in "direct mode".
   public static final String poolServiceWaaSUrl = "https://api.developer.coinbase.com/waas/pools";
-  // The handle to the Go PoolService client.
-  com.waassdkinternal.v1.PoolService poolClient;
+  // The handle to the Go PoolService client, created on first use.
+  LazyClient<com.waassdkinternal.v1.PoolService> poolClient;
   ExecutorService executor;
 
+  // How calls that fail with a transient error are retried.
+  private volatile RetryPolicy retryPolicy = RetryPolicy.defaults();
+
   /**
    * Initializes the PoolService with the given Cloud API Key parameters or proxy URL.
    * Utilizes `proxyUrl` and operates in insecure mode if either `apiKeyName` or `privateKey` is missing.
    * Uses direct WaaS URL with the API keys if both are provided.
+   * The Go client is created on first use, so an invalid configuration rejects the first call rather than throwing here.
    * Resolves with the string "success" on success; rejects with an error otherwise.
    */
   public PoolService(String apiKeyName, String privateKey, String proxyUrl, ExecutorService executor) throws WaasException {
@@ -39,11 +44,53 @@ public class PoolService {
       insecure = false;
     }
 
-    try {
-      poolClient = newPoolService(poolServiceUrl, apiKeyName, privateKey, insecure);
-    } catch (Exception e) {
-      throw new WaasException("initialize pool failed : ", e.getMessage());
-    }
+    poolClient = new LazyClient<>("initialize pool failed : ",
+      () -> newPoolService(poolServiceUrl, apiKeyName, privateKey, insecure));
+  }
+
+  /**
+   * Initializes the PoolService with the given Go client, e.g. a stand-in for tests that run without a backend.
+   */
+  public PoolService(com.waassdkinternal.v1.PoolService poolClient, ExecutorService executor) {
+    this.poolClient = new LazyClient<>(poolClient);
+    this.executor = executor;
+  }
+
+  private <T> Future<T> call(String method, Callable<T> callable) {
+    return call(method, true, callable);
+  }
+
+  // Calls that are not idempotent are only retried after errors showing the PoolService never processed them.
+  private <T> Future<T> call(String method, boolean idempotent, Callable<T> callable) {
+    return retryPolicy.submit(executor, method, idempotent, poolClient.whenCreated(callable));
+  }
+
+  /**
+   * Sets how calls that fail with a transient error are retried; see {@link RetryPolicy}.
+   * Defaults to {@link RetryPolicy#defaults()}. Pass {@link RetryPolicy#none()} to disable retries.
+   */
+  public void setRetryPolicy(RetryPolicy retryPolicy) {
+    this.retryPolicy = retryPolicy;
+  }
+
+  /**
+   * Creates the Go client ahead of the first call, on the executor, so the first call does not pay for it.
+   * Resolves once the service is ready; rejects if it cannot be created.
+   */
+  public Future<Void> createClient() {
+    return call("PoolService.createClient", () -> {
+      poolClient.get();
+      return null;
+    });
+  }
+
+  /**
+   * Prepares the PoolService for the first real call. The PoolService has no read to open a connection with,
+   * and creating a Pool is not safe to repeat, so this only creates the Go client.
+   * Resolves once the service is ready; rejects if it cannot be created.
+   */
+  public Future<Void> warmUp() {
+    return createClient();
   }
 
   /**
@@ -51,9 +98,9 @@ public class PoolService {
    * otherwise.
    */
   public Future<Pool> createPool(String displayName, String poolID) {
-    return executor.submit(() -> {
+    return call("PoolService.createPool", false, () -> {
       try {
-        return poolClient.createPool(displayName, poolID);
+        return poolClient.get().createPool(displayName, poolID);
       } catch (Exception e) {
         throw new WaasException("create pool failed : ", e.getMessage());
       }
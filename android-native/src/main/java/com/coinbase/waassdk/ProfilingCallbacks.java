@@ -0,0 +1,250 @@
+package com.coinbase.waassdk;
+
+import com.waassdkinternal.v1.AndroidCallbacks;
+
+/**
+ * An {@link AndroidCallbacks} decorator that records the call count and latency of every Keystore
+ * callback in {@link SdkMetrics}, both per callback (e.g. "Callbacks.fSignECDSA") and per callback
+ * and key tag (e.g. "Callbacks.fSignECDSA:tag"). Each Keystore callback is also traced as a
+ * section with {@link SdkTrace} while tracing is active.
+ *
+ * Comparing the total time of the "Callbacks.*" entries with that of an MPC operation such as
+ * "MPCSdk.computeMPCOperation" shows how much of the operation was spent in the Keystore.
+ *
+ * Profiling is off by default; enable it with {@link #setEnabled(boolean)}. Tracing is independent of it.
+ */
+class ProfilingCallbacks implements AndroidCallbacks {
+  private static volatile boolean enabled;
+
+  private final AndroidCallbacks delegate;
+
+  ProfilingCallbacks(AndroidCallbacks delegate) {
+    this.delegate = delegate;
+  }
+
+  /**
+   * Enables or disables Keystore callback profiling for all MPCSdk instances.
+   */
+  static void setEnabled(boolean enabled) {
+    ProfilingCallbacks.enabled = enabled;
+  }
+
+  private static long start() {
+    return enabled ? System.nanoTime() : 0;
+  }
+
+  private static void finish(String callback, String tag, long startedAt, Throwable error) {
+    if (startedAt == 0) {
+      return;
+    }
+    long latency = System.nanoTime() - startedAt;
+    SdkMetrics metrics = SdkMetrics.global();
+    metrics.record("Callbacks." + callback, 0, latency, error);
+    if (tag != null) {
+      metrics.record("Callbacks." + callback + ":" + tag, 0, latency, error);
+    }
+  }
+
+  @Override
+  public long fGetAPIVersion() {
+    return delegate.fGetAPIVersion();
+  }
+
+  @Override
+  public String fGetHomeDir() {
+    return delegate.fGetHomeDir();
+  }
+
+  @Override
+  public void fSetStorageType(long storageType) {
+    delegate.fSetStorageType(storageType);
+  }
+
+  @Override
+  public String fGetClientStatus() throws Exception {
+    boolean traced = SdkTrace.begin("Callbacks.fGetClientStatus");
+    long startedAt = start();
+    try {
+      String status = delegate.fGetClientStatus();
+      finish("fGetClientStatus", null, startedAt, null);
+      return status;
+    } catch (Exception e) {
+      finish("fGetClientStatus", null, startedAt, e);
+      throw e;
+    } finally {
+      SdkTrace.end(traced);
+    }
+  }
+
+  @Override
+  public long fGenHMAC(String tag, String jsonProtection) throws Exception {
+    boolean traced = SdkTrace.begin("Callbacks.fGenHMAC");
+    long startedAt = start();
+    try {
+      long result = delegate.fGenHMAC(tag, jsonProtection);
+      finish("fGenHMAC", tag, startedAt, null);
+      return result;
+    } catch (Exception e) {
+      finish("fGenHMAC", tag, startedAt, e);
+      throw e;
+    } finally {
+      SdkTrace.end(traced);
+    }
+  }
+
+  @Override
+  public void fGenECDSA(String tag, String jsonProtection) throws Exception {
+    boolean traced = SdkTrace.begin("Callbacks.fGenECDSA");
+    long startedAt = start();
+    try {
+      delegate.fGenECDSA(tag, jsonProtection);
+      finish("fGenECDSA", tag, startedAt, null);
+    } catch (Exception e) {
+      finish("fGenECDSA", tag, startedAt, e);
+      throw e;
+    } finally {
+      SdkTrace.end(traced);
+    }
+  }
+
+  @Override
+  public byte[] fGetPublicECDSA(String tag) throws Exception {
+    boolean traced = SdkTrace.begin("Callbacks.fGetPublicECDSA");
+    long startedAt = start();
+    try {
+      byte[] result = delegate.fGetPublicECDSA(tag);
+      finish("fGetPublicECDSA", tag, startedAt, null);
+      return result;
+    } catch (Exception e) {
+      finish("fGetPublicECDSA", tag, startedAt, e);
+      throw e;
+    } finally {
+      SdkTrace.end(traced);
+    }
+  }
+
+  @Override
+  public void fDelete(String tag) throws Exception {
+    boolean traced = SdkTrace.begin("Callbacks.fDelete");
+    long startedAt = start();
+    try {
+      delegate.fDelete(tag);
+      finish("fDelete", tag, startedAt, null);
+    } catch (Exception e) {
+      finish("fDelete", tag, startedAt, e);
+      throw e;
+    } finally {
+      SdkTrace.end(traced);
+    }
+  }
+
+  @Override
+  public byte[] fDeriveHMAC(String tag, byte[] seed) throws Exception {
+    boolean traced = SdkTrace.begin("Callbacks.fDeriveHMAC");
+    long startedAt = start();
+    try {
+      byte[] result = delegate.fDeriveHMAC(tag, seed);
+      finish("fDeriveHMAC", tag, startedAt, null);
+      return result;
+    } catch (Exception e) {
+      finish("fDeriveHMAC", tag, startedAt, e);
+      throw e;
+    } finally {
+      SdkTrace.end(traced);
+    }
+  }
+
+  @Override
+  public byte[] fSignECDSA(String tag, byte[] data) throws Exception {
+    boolean traced = SdkTrace.begin("Callbacks.fSignECDSA");
+    long startedAt = start();
+    try {
+      byte[] result = delegate.fSignECDSA(tag, data);
+      finish("fSignECDSA", tag, startedAt, null);
+      return result;
+    } catch (Exception e) {
+      finish("fSignECDSA", tag, startedAt, e);
+      throw e;
+    } finally {
+      SdkTrace.end(traced);
+    }
+  }
+
+  @Override
+  public void fValidate(String tag) throws Exception {
+    boolean traced = SdkTrace.begin("Callbacks.fValidate");
+    long startedAt = start();
+    try {
+      delegate.fValidate(tag);
+      finish("fValidate", tag, startedAt, null);
+    } catch (Exception e) {
+      finish("fValidate", tag, startedAt, e);
+      throw e;
+    } finally {
+      SdkTrace.end(traced);
+    }
+  }
+
+  @Override
+  public long fOpenSession(long op, String jsonProtection, String title, String subTitle, long timeout) throws Exception {
+    boolean traced = SdkTrace.begin("Callbacks.fOpenSession");
+    long startedAt = start();
+    try {
+      long handle = delegate.fOpenSession(op, jsonProtection, title, subTitle, timeout);
+      finish("fOpenSession", null, startedAt, null);
+      return handle;
+    } catch (Exception e) {
+      finish("fOpenSession", null, startedAt, e);
+      throw e;
+    } finally {
+      SdkTrace.end(traced);
+    }
+  }
+
+  @Override
+  public void fCloseSession(long handle) throws Exception {
+    boolean traced = SdkTrace.begin("Callbacks.fCloseSession");
+    long startedAt = start();
+    try {
+      delegate.fCloseSession(handle);
+      finish("fCloseSession", null, startedAt, null);
+    } catch (Exception e) {
+      finish("fCloseSession", null, startedAt, e);
+      throw e;
+    } finally {
+      SdkTrace.end(traced);
+    }
+  }
+
+  @Override
+  public byte[] fSessionDeriveHMAC(long handle, String tag, byte[] seed) throws Exception {
+    boolean traced = SdkTrace.begin("Callbacks.fSessionDeriveHMAC");
+    long startedAt = start();
+    try {
+      byte[] result = delegate.fSessionDeriveHMAC(handle, tag, seed);
+      finish("fSessionDeriveHMAC", tag, startedAt, null);
+      return result;
+    } catch (Exception e) {
+      finish("fSessionDeriveHMAC", tag, startedAt, e);
+      throw e;
+    } finally {
+      SdkTrace.end(traced);
+    }
+  }
+
+  @Override
+  public byte[] fSessionSignECDSA(long handle, String tag, byte[] data) throws Exception {
+    boolean traced = SdkTrace.begin("Callbacks.fSessionSignECDSA");
+    long startedAt = start();
+    try {
+      byte[] result = delegate.fSessionSignECDSA(handle, tag, data);
+      finish("fSessionSignECDSA", tag, startedAt, null);
+      return result;
+    } catch (Exception e) {
+      finish("fSessionSignECDSA", tag, startedAt, e);
+      throw e;
+    } finally {
+      SdkTrace.end(traced);
+    }
+  }
+}
@@ -0,0 +1,253 @@
+package com.coinbase.waassdk;
+
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * How the SDK retries calls to the WaaS services that fail with a transient error, such as a timeout or a
+ * dropped connection, before the error reaches the app. Retries wait with exponential backoff and full jitter.
+ * The wait happens on a shared scheduler thread rather than on the service's executor, which stays free to run
+ * other calls in the meantime.
+ *
+ * Errors are classified by the message of the Go error. When it carries a gRPC status ("rpc error: code = ..."),
+ * the status code decides:
+ * - ResourceExhausted, and Unavailable errors raised while dialing, mean the service never processed the
+ *   request, and are retried for every call;
+ * - other Unavailable errors, and DeadlineExceeded, are retried only for calls that are safe to repeat, as the
+ *   service may have processed the request before failing;
+ * - every other code is permanent, whatever its description says.
+ * Otherwise the errors of Go's net and net/http packages are recognized the same way: failures to connect or
+ * resolve the host, and 429 responses, are retried for every call; timeouts, reset connections and 502, 503 and
+ * 504 responses only for calls that are safe to repeat. Everything else is permanent, and thrown right away.
+ *
+ * Calls that create a resource or operation, like createSignatureFromTx, are not safe to repeat: retrying
+ * after the service may have processed them could create a second one.
+ */
+public final class RetryPolicy {
+
+  // The status code of a gRPC error, as formatted by status.Error in grpc-go.
+  private static final Pattern grpcCode = Pattern.compile("rpc error: code = (\\w+)");
+
+  // Go net and net/http errors raised before a request reached the service, or before the service processed it.
+  private static final String[] unsentErrors = {
+    // Failures to connect, e.g. "dial tcp 10.0.0.1:443: connect: connection refused", or to resolve the host.
+    "dial tcp",
+    "error while dialing",
+    "no such host",
+    "tls handshake timeout",
+    "429 too many requests",
+  };
+
+  // Go net and net/http errors that may go away on their own.
+  private static final String[] transientErrors = {
+    "i/o timeout",
+    "context deadline exceeded",
+    "client.timeout exceeded",
+    "connection reset by peer",
+    "broken pipe",
+    "unexpected eof",
+    "502 bad gateway",
+    "503 service unavailable",
+    "504 gateway timeout",
+  };
+
+  // Hands retries back to the services' executors once their backoff has passed; never runs a call itself.
+  private static final ScheduledExecutorService scheduler = newScheduler();
+
+  private static final RetryPolicy none = new RetryPolicy(1, 0, 0, 1);
+  private static final RetryPolicy defaults = new RetryPolicy(3, 200, 2000, 2);
+
+  private final int maxAttempts;
+  private final long initialBackoffMillis;
+  private final long maxBackoffMillis;
+  private final double multiplier;
+
+  /**
+   * @param maxAttempts The maximum number of attempts of a call, including the first; 1 disables retries.
+   * @param initialBackoffMillis The upper bound of the wait before the first retry, in milliseconds.
+   * @param maxBackoffMillis The upper bound of the wait before any retry, in milliseconds.
+   * @param multiplier The factor the upper bound of the wait grows by with each retry.
+   */
+  public RetryPolicy(int maxAttempts, long initialBackoffMillis, long maxBackoffMillis, double multiplier) {
+    if (maxAttempts < 1 || initialBackoffMillis < 0 || maxBackoffMillis < initialBackoffMillis || multiplier < 1) {
+      throw new IllegalArgumentException("invalid retry policy");
+    }
+    this.maxAttempts = maxAttempts;
+    this.initialBackoffMillis = initialBackoffMillis;
+    this.maxBackoffMillis = maxBackoffMillis;
+    this.multiplier = multiplier;
+  }
+
+  /**
+   * Returns a policy that never retries.
+   */
+  public static RetryPolicy none() {
+    return none;
+  }
+
+  /**
+   * Returns the policy the services use unless told otherwise: up to 3 attempts, waiting up to 200ms before
+   * the first retry and up to 400ms before the second.
+   */
+  public static RetryPolicy defaults() {
+    return defaults;
+  }
+
+  /**
+   * Submits `callable` to `executor`, tracing it as `method`, and submits it again while it fails with a
+   * WaasException this policy retries. Each attempt is timed in the {@link SdkMetrics} of `method`, and each
+   * retry counted there as "retries". Cancelling the returned Future cancels the attempt running or waiting.
+   *
+   * @param idempotent Whether the call is safe to repeat after the service may have processed it.
+   */
+  <T> Future<T> submit(ExecutorService executor, String method, boolean idempotent, Callable<T> callable) {
+    if (maxAttempts <= 1) {
+      return SdkTrace.submit(executor, method, SdkMetrics.timed(method, callable));
+    }
+
+    Retry<T> retry = new Retry<>(executor, method, idempotent, callable);
+    retry.attempt();
+    return retry;
+  }
+
+  // A call and its attempts; completes with the outcome of the last one.
+  private final class Retry<T> extends SdkTrace.TracedTask<T> {
+    private final ExecutorService executor;
+    private final boolean idempotent;
+    private final Callable<T> callable;
+    // The number of attempts started. Attempts run one after the other, each handed over to the next through
+    // the scheduler and the executor.
+    private int attempts;
+    // The attempt running, or the retry waiting for its backoff.
+    private volatile Future<?> current;
+
+    Retry(ExecutorService executor, String method, boolean idempotent, Callable<T> callable) {
+      // Completed through set and setException; never run.
+      super(method, () -> null);
+      this.executor = executor;
+      this.idempotent = idempotent;
+      this.callable = callable;
+    }
+
+    void attempt() {
+      if (isDone()) {
+        return;
+      }
+      FutureTask<T> task = new FutureTask<>(SdkMetrics.timed(operation, this::runAttempt));
+      current = task;
+      try {
+        executor.execute(task);
+      } catch (RejectedExecutionException e) {
+        setException(e);
+        return;
+      }
+      if (isCancelled()) {
+        task.cancel(false);
+      }
+    }
+
+    private T runAttempt() throws Exception {
+      boolean traced = SdkTrace.begin(operation);
+      attempts++;
+      try {
+        T result = callable.call();
+        set(result);
+        return result;
+      } catch (WaasException e) {
+        if (attempts < maxAttempts && !isDone() && isRetryable(e.getMessage(), idempotent)) {
+          SdkMetrics.global().count(operation, "retries", 1);
+          current = scheduler.schedule(this::attempt, backoffMillis(attempts), TimeUnit.MILLISECONDS);
+        } else {
+          setException(e);
+        }
+        throw e;
+      } catch (Throwable e) {
+        setException(e);
+        throw e;
+      } finally {
+        SdkTrace.end(traced);
+      }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      if (!super.cancel(mayInterruptIfRunning)) {
+        return false;
+      }
+      Future<?> attempt = current;
+      if (attempt != null) {
+        attempt.cancel(mayInterruptIfRunning);
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Returns the wait before retry number `retry`, counting from 1: a uniformly random time up to
+   * initialBackoffMillis * multiplier^(retry - 1), capped at maxBackoffMillis.
+   */
+  long backoffMillis(int retry) {
+    double bound = Math.min(maxBackoffMillis, initialBackoffMillis * Math.pow(multiplier, retry - 1));
+    return (long) (ThreadLocalRandom.current().nextDouble() * bound);
+  }
+
+  /**
+   * Returns whether a call that failed with `message` should be retried.
+   */
+  static boolean isRetryable(String message, boolean idempotent) {
+    if (message == null) {
+      return false;
+    }
+    String lower = message.toLowerCase(Locale.ROOT);
+    Matcher code = grpcCode.matcher(lower);
+    if (code.find()) {
+      switch (code.group(1)) {
+        case "resourceexhausted":
+          return true;
+        case "unavailable":
+          return idempotent || matches(lower, unsentErrors);
+        case "deadlineexceeded":
+          return idempotent;
+        default:
+          return false;
+      }
+    }
+    if (matches(lower, unsentErrors)) {
+      return true;
+    }
+    return idempotent && matches(lower, transientErrors);
+  }
+
+  private static boolean matches(String message, String[] patterns) {
+    for (String pattern : patterns) {
+      if (message.contains(pattern)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static ScheduledExecutorService newScheduler() {
+    ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread thread = new Thread(r, "waas-RetryPolicy");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+    scheduler.setRemoveOnCancelPolicy(true);
+    return scheduler;
+  }
+}
@@ -0,0 +1,141 @@
+package com.coinbase.waassdk;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates the thread pools the Waas SDK runs on, and exposes health gauges for each of them:
+ * queue depth, active and idle threads, rejected tasks, and how long tasks wait in the queue.
+ *
+ * Executors are registered by name; creating a new executor with the name of an existing one
+ * replaces it in {@link #snapshot()}.
+ */
+public final class SdkExecutors {
+
+  /**
+   * A point-in-time view of the health of one executor.
+   */
+  public static final class ExecutorSnapshot {
+    // The number of tasks waiting for a thread.
+    public final int queueDepth;
+    // The number of threads running a task.
+    public final int activeThreads;
+    // The number of started threads not running a task.
+    public final int idleThreads;
+    // The maximum number of threads.
+    public final int maxThreads;
+    // The number of tasks that have finished running.
+    public final long completedTasks;
+    // The number of tasks rejected because the executor was saturated or shut down.
+    public final long rejectedTasks;
+    // Percentiles of the time tasks waited in the queue before running, in milliseconds.
+    public final double queueWaitP50Millis;
+    public final double queueWaitP95Millis;
+    public final double queueWaitP99Millis;
+
+    ExecutorSnapshot(InstrumentedExecutor executor) {
+      int poolSize = executor.getPoolSize();
+      this.queueDepth = executor.getQueue().size();
+      this.activeThreads = executor.getActiveCount();
+      this.idleThreads = Math.max(0, poolSize - activeThreads);
+      this.maxThreads = executor.getMaximumPoolSize();
+      this.completedTasks = executor.getCompletedTaskCount();
+      this.rejectedTasks = executor.rejected.get();
+      this.queueWaitP50Millis = executor.queueWait.percentileMillis(50);
+      this.queueWaitP95Millis = executor.queueWait.percentileMillis(95);
+      this.queueWaitP99Millis = executor.queueWait.percentileMillis(99);
+    }
+  }
+
+  // A task, stamped with the time it was handed to the executor.
+  private static final class Enqueued implements Runnable {
+    final Runnable task;
+    final long enqueuedAt = System.nanoTime();
+
+    Enqueued(Runnable task) {
+      this.task = task;
+    }
+
+    @Override
+    public void run() {
+      task.run();
+    }
+  }
+
+  private static final class InstrumentedExecutor extends ThreadPoolExecutor {
+    final LatencyHistogram queueWait = new LatencyHistogram();
+    final AtomicLong rejected;
+
+    InstrumentedExecutor(final String name, int threads, final AtomicLong rejected) {
+      super(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+        new ThreadFactory() {
+          private final AtomicInteger count = new AtomicInteger();
+
+          @Override
+          public Thread newThread(Runnable r) {
+            return new Thread(r, "waas-" + name + "-" + count.incrementAndGet());
+          }
+        },
+        new RejectedExecutionHandler() {
+          @Override
+          public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException("Task rejected by " + name);
+          }
+        });
+      this.rejected = rejected;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      super.execute(new Enqueued(command));
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+      if (r instanceof Enqueued) {
+        queueWait.record(System.nanoTime() - ((Enqueued) r).enqueuedAt);
+      }
+      super.beforeExecute(t, r);
+    }
+  }
+
+  private static final ConcurrentHashMap<String, InstrumentedExecutor> executors = new ConcurrentHashMap<>();
+
+  private SdkExecutors() {
+  }
+
+  /**
+   * Creates a fixed-size thread pool whose health is reported under `name`.
+   *
+   * @param name The name to report the executor under, e.g. "MPCKeyService".
+   * @param threads The number of threads.
+   */
+  public static ExecutorService newFixedThreadPool(String name, int threads) {
+    InstrumentedExecutor executor = new InstrumentedExecutor(name, threads, new AtomicLong());
+    executors.put(name, executor);
+    return executor;
+  }
+
+  /**
+   * Returns the health of every executor created so far, keyed and sorted by name.
+   */
+  public static Map<String, ExecutorSnapshot> snapshot() {
+    Map<String, ExecutorSnapshot> out = new TreeMap<>();
+    for (Map.Entry<String, InstrumentedExecutor> entry : executors.entrySet()) {
+      out.put(entry.getKey(), new ExecutorSnapshot(entry.getValue()));
+    }
+    return Collections.unmodifiableMap(out);
+  }
+}
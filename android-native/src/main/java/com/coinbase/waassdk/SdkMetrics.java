@@ -0,0 +1,222 @@
+package com.coinbase.waassdk;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-method call metrics for every Waas SDK operation: call and error counts, errors by
+ * {@link WaasException} type, and histograms of queue wait (time between submission and the
+ * task starting on its executor) and execution latency.
+ *
+ * Metrics are process-wide. Read them with {@link #snapshot()}, or subscribe to individual calls
+ * with {@link #addListener(Listener)}.
+ */
+public final class SdkMetrics {
+
+  /**
+   * Receives every recorded call. Invoked synchronously on the thread that ran the call, so
+   * implementations must be fast and must not throw.
+   */
+  public interface Listener {
+    /**
+     * @param method The SDK method, e.g. "MPCKeyService.getDeviceGroup".
+     * @param queueWaitNanos How long the call waited for an executor thread.
+     * @param latencyNanos How long the call took to execute.
+     * @param errorType The {@link WaasException} error type if the call failed, or null if it succeeded.
+     */
+    void onCall(String method, long queueWaitNanos, long latencyNanos, String errorType);
+  }
+
+  /**
+   * A point-in-time view of the metrics of one method.
+   */
+  public static final class MethodSnapshot {
+    public final long calls;
+    public final long errors;
+    public final Map<String, Long> errorsByType;
+    // Named totals recorded with {@link SdkMetrics#count}, e.g. bytes marshaled over the bridge.
+    public final Map<String, Long> counters;
+    // The summed execution latency of all calls.
+    public final double totalLatencyMillis;
+    public final double queueWaitP50Millis;
+    public final double queueWaitP95Millis;
+    public final double queueWaitP99Millis;
+    public final double latencyP50Millis;
+    public final double latencyP95Millis;
+    public final double latencyP99Millis;
+
+    MethodSnapshot(MethodMetrics metrics) {
+      this.calls = metrics.calls.get();
+      this.errors = metrics.errors.get();
+      Map<String, Long> byType = new HashMap<>();
+      for (Map.Entry<String, AtomicLong> entry : metrics.errorsByType.entrySet()) {
+        byType.put(entry.getKey(), entry.getValue().get());
+      }
+      this.errorsByType = Collections.unmodifiableMap(byType);
+      Map<String, Long> counters = new HashMap<>();
+      for (Map.Entry<String, AtomicLong> entry : metrics.counters.entrySet()) {
+        counters.put(entry.getKey(), entry.getValue().get());
+      }
+      this.counters = Collections.unmodifiableMap(counters);
+      this.totalLatencyMillis = metrics.totalLatencyNanos.get() / 1_000_000.0;
+      this.queueWaitP50Millis = metrics.queueWait.percentileMillis(50);
+      this.queueWaitP95Millis = metrics.queueWait.percentileMillis(95);
+      this.queueWaitP99Millis = metrics.queueWait.percentileMillis(99);
+      this.latencyP50Millis = metrics.latency.percentileMillis(50);
+      this.latencyP95Millis = metrics.latency.percentileMillis(95);
+      this.latencyP99Millis = metrics.latency.percentileMillis(99);
+    }
+  }
+
+  private static final class MethodMetrics {
+    final AtomicLong calls = new AtomicLong();
+    final AtomicLong errors = new AtomicLong();
+    final AtomicLong totalLatencyNanos = new AtomicLong();
+    final ConcurrentHashMap<String, AtomicLong> errorsByType = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    final LatencyHistogram queueWait = new LatencyHistogram();
+    final LatencyHistogram latency = new LatencyHistogram();
+  }
+
+  private static final SdkMetrics global = new SdkMetrics();
+
+  private final ConcurrentHashMap<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+  private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+  private volatile boolean enabled = true;
+
+  private SdkMetrics() {
+  }
+
+  /**
+   * Returns the process-wide metrics registry.
+   */
+  public static SdkMetrics global() {
+    return global;
+  }
+
+  /**
+   * Wraps `callable` so that running it records a call of `method`. The queue wait is measured
+   * from the moment this method is called, so call it right before submitting to an executor.
+   */
+  static <T> Callable<T> timed(String method, Callable<T> callable) {
+    SdkMetrics metrics = global;
+    if (!metrics.enabled) {
+      return callable;
+    }
+
+    long submittedAt = System.nanoTime();
+    return () -> {
+      long startedAt = System.nanoTime();
+      try {
+        T result = callable.call();
+        metrics.record(method, startedAt - submittedAt, System.nanoTime() - startedAt, null);
+        return result;
+      } catch (Exception e) {
+        metrics.record(method, startedAt - submittedAt, System.nanoTime() - startedAt, e);
+        throw e;
+      }
+    };
+  }
+
+  /**
+   * Records a call of `method`.
+   *
+   * @param error The error the call failed with, or null if it succeeded.
+   */
+  public void record(String method, long queueWaitNanos, long latencyNanos, Throwable error) {
+    if (!enabled) {
+      return;
+    }
+
+    MethodMetrics metrics = metricsFor(method);
+    metrics.calls.incrementAndGet();
+    metrics.queueWait.record(queueWaitNanos);
+    metrics.latency.record(latencyNanos);
+    metrics.totalLatencyNanos.addAndGet(latencyNanos);
+
+    String errorType = null;
+    if (error != null) {
+      errorType = error instanceof WaasException ? ((WaasException) error).getErrorType() : error.getClass().getName();
+      metrics.errors.incrementAndGet();
+      counterFor(metrics.errorsByType, errorType).incrementAndGet();
+    }
+
+    for (Listener listener : listeners) {
+      listener.onCall(method, queueWaitNanos, latencyNanos, errorType);
+    }
+  }
+
+  /**
+   * Adds `delta` to the named counter of `method`, e.g. the number of bytes a call marshaled.
+   */
+  public void count(String method, String counter, long delta) {
+    if (!enabled) {
+      return;
+    }
+    counterFor(metricsFor(method).counters, counter).addAndGet(delta);
+  }
+
+  private MethodMetrics metricsFor(String method) {
+    MethodMetrics metrics = methods.get(method);
+    if (metrics == null) {
+      MethodMetrics created = new MethodMetrics();
+      metrics = methods.putIfAbsent(method, created);
+      if (metrics == null) {
+        metrics = created;
+      }
+    }
+    return metrics;
+  }
+
+  private static AtomicLong counterFor(ConcurrentHashMap<String, AtomicLong> counters, String name) {
+    AtomicLong counter = counters.get(name);
+    if (counter == null) {
+      AtomicLong created = new AtomicLong();
+      counter = counters.putIfAbsent(name, created);
+      if (counter == null) {
+        counter = created;
+      }
+    }
+    return counter;
+  }
+
+  /**
+   * Returns the metrics of every method called so far, keyed and sorted by method name.
+   */
+  public Map<String, MethodSnapshot> snapshot() {
+    Map<String, MethodSnapshot> out = new TreeMap<>();
+    for (Map.Entry<String, MethodMetrics> entry : methods.entrySet()) {
+      out.put(entry.getKey(), new MethodSnapshot(entry.getValue()));
+    }
+    return Collections.unmodifiableMap(out);
+  }
+
+  public void addListener(Listener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(Listener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Enables or disables recording. Metrics are enabled by default.
+   */
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Discards all recorded metrics.
+   */
+  public void reset() {
+    methods.clear();
+  }
+}
@@ -0,0 +1,113 @@
+package com.coinbase.waassdk;
+
+import androidx.tracing.Trace;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Emits systrace/Perfetto trace sections for Waas SDK work, so that it shows up on the timeline
+ * next to the app's own frames and network activity.
+ *
+ * Tasks submitted through {@link #submit} get an async slice named after their operation, spanning
+ * submission to completion, and a section on the executor thread while they run. Nothing is
+ * emitted unless tracing is active.
+ */
+public final class SdkTrace {
+
+  // A task that traces its lifetime and remembers the operation it runs.
+  static class TracedTask<T> extends FutureTask<T> {
+    final String operation;
+    final int cookie;
+    final boolean async;
+
+    TracedTask(String operation, Callable<T> callable) {
+      super(callable);
+      this.operation = operation;
+      this.cookie = cookies.incrementAndGet();
+      this.async = Trace.isEnabled();
+      if (async) {
+        Trace.beginAsyncSection(operation, cookie);
+      }
+    }
+
+    @Override
+    public void run() {
+      boolean traced = begin(operation);
+      try {
+        super.run();
+      } finally {
+        end(traced);
+      }
+    }
+
+    @Override
+    protected void done() {
+      if (async) {
+        Trace.endAsyncSection(operation, cookie);
+      }
+    }
+  }
+
+  // Distinguishes concurrent async slices with the same name.
+  private static final AtomicInteger cookies = new AtomicInteger();
+
+  private SdkTrace() {
+  }
+
+  /**
+   * Submits `callable` to `executor`, tracing it as `operation`.
+   *
+   * @param operation The name of the operation, e.g. "MPCKeyService.getDeviceGroup".
+   */
+  public static <T> Future<T> submit(ExecutorService executor, String operation, Callable<T> callable) {
+    TracedTask<T> task = new TracedTask<>(operation, callable);
+    executor.execute(task);
+    return task;
+  }
+
+  /**
+   * Submits `runnable` to `executor`, tracing it as `operation`.
+   */
+  public static Future<Void> submit(ExecutorService executor, String operation, final Runnable runnable) {
+    return submit(executor, operation, new Callable<Void>() {
+      @Override
+      public Void call() {
+        runnable.run();
+        return null;
+      }
+    });
+  }
+
+  /**
+   * Returns the operation a future returned by {@link #submit} runs, or null for any other future.
+   */
+  public static String operationOf(Future<?> future) {
+    return future instanceof TracedTask ? ((TracedTask<?>) future).operation : null;
+  }
+
+  /**
+   * Begins a section on the current thread if tracing is active.
+   *
+   * @return Whether a section was begun, to pass to {@link #end}.
+   */
+  public static boolean begin(String section) {
+    if (!Trace.isEnabled()) {
+      return false;
+    }
+    Trace.beginSection(section);
+    return true;
+  }
+
+  /**
+   * Ends the section begun by the matching {@link #begin} call.
+   */
+  public static void end(boolean begun) {
+    if (begun) {
+      Trace.endSection();
+    }
+  }
+}
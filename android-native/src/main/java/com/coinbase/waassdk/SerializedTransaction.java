@@ -0,0 +1,34 @@
+package com.coinbase.waassdk;
+
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A transaction in the serialized form the Go SDK consumes, produced once and reused across the
+ * signing flow ({@link MPCKeyService#createSignatureFromTx} and {@link MPCKeyService#getSignedTransaction}).
+ */
+public final class SerializedTransaction {
+  // The UTF-8 encoded JSON of the transaction. Never mutated after construction.
+  final byte[] bytes;
+
+  private SerializedTransaction(byte[] bytes) {
+    this.bytes = bytes;
+  }
+
+  /**
+   * Serializes the given transaction.
+   *
+   * @param transaction The EIP-1559 transaction, as JSON.
+   */
+  public static SerializedTransaction fromJSON(JSONObject transaction) {
+    return new SerializedTransaction(transaction.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Returns the size of the serialized transaction in bytes.
+   */
+  public int size() {
+    return bytes.length;
+  }
+}
@@ -0,0 +1,295 @@
+package com.coinbase.waassdk;
+
+import com.waassdkinternal.v1.Signature;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A persistent journal of in-flight transaction signings, so that a signing interrupted by process
+ * death can resume from its last completed stage instead of creating a new backend operation.
+ *
+ * Entries are keyed by a hash of the parent key and the serialized transaction, and move through
+ * {@link Stage#CREATED}, {@link Stage#COMPUTED} and {@link Stage#SIGNED}. An entry is removed once
+ * the signed transaction has been produced, or dropped on load once it is older than the retention period.
+ *
+ * The journal is rewritten atomically (write to a temporary file, then rename) on every change.
+ * It is best-effort: I/O failures never fail the signing call that triggered them.
+ */
+public class SigningJournal {
+
+  /**
+   * The last completed stage of a journaled signing.
+   */
+  public enum Stage {
+    // The CreateSignature operation was created on the backend.
+    CREATED,
+    // The Device computed its part of the MPC signing operation.
+    COMPUTED,
+    // The Signature was received from the backend.
+    SIGNED
+  }
+
+  /**
+   * A journaled signing.
+   */
+  public static final class Entry {
+    // The hash of the parent key and the serialized transaction.
+    public final String key;
+    // The resource name of the parent Key.
+    public final String parent;
+    // The serialized transaction, as JSON.
+    public final String transaction;
+    // The resource name of the operation creating the Signature.
+    public final String operation;
+    // The last completed stage.
+    public final Stage stage;
+    // The Signature, once the stage is SIGNED; null otherwise.
+    public final Signature signature;
+    // When the signing was started, in milliseconds since the epoch.
+    public final long createdAtMillis;
+
+    Entry(String key, String parent, String transaction, String operation, Stage stage, Signature signature, long createdAtMillis) {
+      this.key = key;
+      this.parent = parent;
+      this.transaction = transaction;
+      this.operation = operation;
+      this.stage = stage;
+      this.signature = signature;
+      this.createdAtMillis = createdAtMillis;
+    }
+
+    Entry withStage(Stage stage, Signature signature) {
+      return new Entry(key, parent, transaction, operation, stage, signature, createdAtMillis);
+    }
+  }
+
+  // The file the journal is kept in, within the journal directory.
+  private static final String fileName = "signing-journal.json";
+  // Signings older than this are dropped on load; the backend operation will have expired.
+  private static final long retentionMillis = 24 * 60 * 60 * 1000;
+
+  private final File file;
+  private Map<String, Entry> entries;
+
+  /**
+   * Creates a journal backed by a file in `directory`. No I/O happens until the journal is first used.
+   *
+   * @param directory The directory to keep the journal in, e.g. a subdirectory of `context.getFilesDir()`.
+   */
+  public SigningJournal(File directory) {
+    this.file = new File(directory, fileName);
+  }
+
+  /**
+   * Returns the journaled signing of the given transaction, or null if there is none.
+   */
+  public synchronized Entry find(String parent, byte[] serializedTx) {
+    return load().get(TxDigest.of(parent, serializedTx));
+  }
+
+  /**
+   * Returns the journaled signing with the given operation name, or null if there is none.
+   */
+  public synchronized Entry findByOperation(String operation) {
+    for (Entry entry : load().values()) {
+      if (entry.operation.equals(operation)) {
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns all journaled signings, oldest first. Use this at startup to resume interrupted signings.
+   */
+  public synchronized List<Entry> entries() {
+    return Collections.unmodifiableList(new ArrayList<>(load().values()));
+  }
+
+  /**
+   * Records that the CreateSignature operation for the transaction was created.
+   */
+  public synchronized void recordCreated(String parent, byte[] serializedTx, String operation) {
+    String key = TxDigest.of(parent, serializedTx);
+    String transaction = new String(serializedTx, StandardCharsets.UTF_8);
+    load().put(key, new Entry(key, parent, transaction, operation, Stage.CREATED, null, System.currentTimeMillis()));
+    save();
+  }
+
+  /**
+   * Records that the Device computed its part of the signing operation.
+   */
+  public synchronized void recordComputed(String operation) {
+    Entry entry = findByOperation(operation);
+    if (entry != null && entry.stage == Stage.CREATED) {
+      entries.put(entry.key, entry.withStage(Stage.COMPUTED, null));
+      save();
+    }
+  }
+
+  /**
+   * Records that the Signature for the operation was received.
+   */
+  public synchronized void recordSigned(String operation, Signature signature) {
+    Entry entry = findByOperation(operation);
+    if (entry != null) {
+      entries.put(entry.key, entry.withStage(Stage.SIGNED, signature));
+      save();
+    }
+  }
+
+  /**
+   * Removes the signing that produced the given Signature, once its signed transaction has been obtained.
+   */
+  public synchronized void complete(Signature signature) {
+    String name = signature.getName();
+    boolean removed = false;
+    for (Entry entry : new ArrayList<>(load().values())) {
+      if (entry.signature != null && name.equals(entry.signature.getName())) {
+        entries.remove(entry.key);
+        removed = true;
+      }
+    }
+    if (removed) {
+      save();
+    }
+  }
+
+  /**
+   * Removes the signing with the given operation name, e.g. because its operation failed.
+   */
+  public synchronized void discard(String operation) {
+    Entry entry = findByOperation(operation);
+    if (entry != null) {
+      entries.remove(entry.key);
+      save();
+    }
+  }
+
+  /**
+   * Removes all journaled signings.
+   */
+  public synchronized void clear() {
+    entries = new LinkedHashMap<>();
+    file.delete();
+  }
+
+  private Map<String, Entry> load() {
+    if (entries != null) {
+      return entries;
+    }
+    entries = new LinkedHashMap<>();
+    if (!file.exists()) {
+      return entries;
+    }
+
+    long cutoff = System.currentTimeMillis() - retentionMillis;
+    try {
+      JSONArray array = new JSONObject(read(file)).getJSONArray("entries");
+      for (int i = 0; i < array.length(); i++) {
+        Entry entry = fromJSON(array.getJSONObject(i));
+        if (entry.createdAtMillis >= cutoff) {
+          entries.put(entry.key, entry);
+        }
+      }
+    } catch (IOException | JSONException | IllegalArgumentException e) {
+      // A journal that cannot be read is discarded; affected signings start over.
+      entries.clear();
+      file.delete();
+    }
+    return entries;
+  }
+
+  private void save() {
+    File directory = file.getParentFile();
+    if (directory != null && !directory.exists()) {
+      directory.mkdirs();
+    }
+
+    File tmp = new File(file.getPath() + ".tmp");
+    try {
+      JSONArray array = new JSONArray();
+      for (Entry entry : entries.values()) {
+        array.put(toJSON(entry));
+      }
+      JSONObject root = new JSONObject();
+      root.put("entries", array);
+
+      try (FileOutputStream out = new FileOutputStream(tmp)) {
+        out.write(root.toString().getBytes(StandardCharsets.UTF_8));
+        out.getFD().sync();
+      }
+      if (!tmp.renameTo(file)) {
+        tmp.delete();
+      }
+    } catch (IOException | JSONException e) {
+      // The in-memory journal still serves this process.
+      tmp.delete();
+    }
+  }
+
+  private static String read(File file) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (InputStream in = new FileInputStream(file)) {
+      byte[] buffer = new byte[4096];
+      int n;
+      while ((n = in.read(buffer)) != -1) {
+        bytes.write(buffer, 0, n);
+      }
+    }
+    return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static JSONObject toJSON(Entry entry) throws JSONException {
+    JSONObject obj = new JSONObject();
+    obj.put("Key", entry.key);
+    obj.put("Parent", entry.parent);
+    obj.put("Transaction", entry.transaction);
+    obj.put("Operation", entry.operation);
+    obj.put("Stage", entry.stage.name());
+    obj.put("CreatedAt", entry.createdAtMillis);
+    if (entry.signature != null) {
+      JSONObject signature = new JSONObject();
+      signature.put("Name", entry.signature.getName());
+      signature.put("Payload", entry.signature.getPayload());
+      signature.put("SignedPayload", entry.signature.getSignedPayload());
+      obj.put("Signature", signature);
+    }
+    return obj;
+  }
+
+  private static Entry fromJSON(JSONObject obj) throws JSONException {
+    Signature signature = null;
+    JSONObject signatureJson = obj.optJSONObject("Signature");
+    if (signatureJson != null) {
+      signature = new Signature();
+      signature.setName(signatureJson.getString("Name"));
+      signature.setPayload(signatureJson.getString("Payload"));
+      signature.setSignedPayload(signatureJson.getString("SignedPayload"));
+    }
+    return new Entry(
+      obj.getString("Key"),
+      obj.getString("Parent"),
+      obj.getString("Transaction"),
+      obj.getString("Operation"),
+      Stage.valueOf(obj.getString("Stage")),
+      signature,
+      obj.getLong("CreatedAt")
+    );
+  }
+}
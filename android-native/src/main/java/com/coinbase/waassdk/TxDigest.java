@@ -0,0 +1,31 @@
+package com.coinbase.waassdk;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes stable keys identifying a transaction submitted for signing.
+ */
+final class TxDigest {
+  private TxDigest() {
+  }
+
+  /**
+   * Returns the hex-encoded SHA-256 of the parent key name and the serialized transaction.
+   */
+  static String of(String parent, byte[] serializedTx) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform is required to support SHA-256.
+      throw new IllegalStateException(e);
+    }
+    digest.update(parent.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+    digest.update(serializedTx);
+
+    return Hex.encode(digest.digest());
+  }
+}
@@ -2,8 +2,12 @@ package com.coinbase.waassdk;
 
 import android.content.Context;
 
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A utility class for talking to several Waas services
@@ -18,15 +22,104 @@ public class Waas {
   public final MPCWalletService wallets;
   public final PoolService pools;
 
-  ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+  ExecutorService executor;
 
   public Waas(String apiKey, String privateKey, Context context, boolean isSimulator, String passcode) throws WaasException {
+    executor = newExecutor();
     mpc = new MPCSdk(context, isSimulator, executor);
     keys = new MPCKeyService(apiKey, privateKey, executor);
     wallets = new MPCWalletService(apiKey, privateKey, executor);
     pools = new PoolService(apiKey, privateKey, executor);
 
+    mpc.addDeviceGroupChangeListener(keys::invalidateDeviceGroups);
+
     // mpc needs to be bootstrapped once.
     mpc.bootstrapDevice(passcode);
   }
+
+  Waas(MPCSdk mpc, MPCKeyService keys, MPCWalletService wallets, PoolService pools, ExecutorService executor) {
+    this.mpc = mpc;
+    this.keys = keys;
+    this.wallets = wallets;
+    this.pools = pools;
+    this.executor = executor;
+  }
+
+  /**
+   * Starts the Waas services without blocking: their Go clients are created in parallel, and the Device is
+   * bootstrapped with `passcode` at the same time. Pass a null `passcode` to skip bootstrapping, e.g. when the
+   * Device was bootstrapped on a previous launch. `listener`, if not null, is told as each service comes up.
+   * Utilizes `proxyUrl` and operates in insecure mode if either `apiKeyName` or `privateKey` is missing.
+   */
+  public static WaasStartup start(String apiKeyName, String privateKey, String proxyUrl, Context context,
+                                  boolean isSimulator, String passcode, WaasStartup.Listener listener) throws WaasException {
+    ExecutorService executor = newExecutor();
+    MPCSdk mpc = new MPCSdk(context, isSimulator, executor);
+    MPCKeyService keys = new MPCKeyService(apiKeyName, privateKey, proxyUrl, executor);
+    mpc.addDeviceGroupChangeListener(keys::invalidateDeviceGroups);
+    return new WaasStartup(
+      mpc,
+      keys,
+      new MPCWalletService(apiKeyName, privateKey, proxyUrl, executor),
+      new PoolService(apiKeyName, privateKey, proxyUrl, executor),
+      passcode,
+      executor,
+      listener
+    );
+  }
+
+  /**
+   * Warms up every service ahead of the first real call, in parallel: opens connections to the MPCKeyService
+   * and MPCWalletService, and creates the Go clients and the MPCSdk's Keystore hooks. Resolves once all are done;
+   * rejects if a service cannot be created.
+   */
+  public Future<Void> warmUp() {
+    final AtomicInteger pending = new AtomicInteger(4);
+    final AtomicReference<WaasException> firstError = new AtomicReference<>();
+    // Completed by the last warm-up to finish, so no thread waits on the others.
+    final FutureTask<Void> warmed = new FutureTask<>(() -> {
+      WaasException error = firstError.get();
+      if (error != null) {
+        throw error;
+      }
+      return null;
+    });
+
+    warmUp("MPCSdk", () -> {
+      mpc.sdk.get();
+      return null;
+    }, pending, firstError, warmed);
+    warmUp("MPCKeyService", keys.warmUpTask(), pending, firstError, warmed);
+    warmUp("MPCWalletService", wallets.warmUpTask(), pending, firstError, warmed);
+    warmUp("PoolService", () -> {
+      pools.poolClient.get();
+      return null;
+    }, pending, firstError, warmed);
+    return warmed;
+  }
+
+  // Runs the warm-up of one service on the executor, and completes `warmed` if it is the last to finish.
+  private void warmUp(String service, final Callable<Void> task, final AtomicInteger pending,
+                      final AtomicReference<WaasException> firstError, final FutureTask<Void> warmed) {
+    SdkTrace.submit(executor, "Waas.warmUp:" + service, () -> {
+      try {
+        return task.call();
+      } catch (WaasException e) {
+        firstError.compareAndSet(null, e);
+        throw e;
+      } catch (Exception e) {
+        WaasException error = new WaasException("warmUp failed : ", e.getMessage());
+        firstError.compareAndSet(null, error);
+        throw error;
+      } finally {
+        if (pending.decrementAndGet() == 0) {
+          warmed.run();
+        }
+      }
+    });
+  }
+
+  private static ExecutorService newExecutor() {
+    return SdkExecutors.newFixedThreadPool("Waas", Runtime.getRuntime().availableProcessors());
+  }
 }
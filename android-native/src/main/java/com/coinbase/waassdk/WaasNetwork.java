@@ -2,10 +2,41 @@ package com.coinbase.waassdk;
 
 import androidx.annotation.NonNull;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * An opaque type for dealing with network names in Waas.
+ *
+ * Networks set with {@link #setKnownNetworks} are interned, so two WaasNetworks for the same known network are
+ * the same instance and can be compared by identity.
  */
 public class WaasNetwork {
+  // The prefix of every network resource name.
+  private static final String networkPrefix = "networks/";
+
+  /**
+   * The networks known to be valid, and when that knowledge expires. Replaced as a whole, so readers always see a
+   * list together with its own expiry.
+   */
+  private static final class KnownNetworks {
+    // The interned networks, keyed by canonical resource name.
+    final Map<String, WaasNetwork> networks;
+    // When the list stops being trusted (System.nanoTime based).
+    final long expiresAtNanos;
+
+    KnownNetworks(Map<String, WaasNetwork> networks, long expiresAtNanos) {
+      this.networks = networks;
+      this.expiresAtNanos = expiresAtNanos;
+    }
+  }
+
+  private static volatile KnownNetworks knownNetworks =
+    new KnownNetworks(Collections.<String, WaasNetwork>emptyMap(), System.nanoTime());
+
   private final String name;
 
   /**
@@ -13,13 +44,91 @@ public class WaasNetwork {
    * to be instantiated from a call to the backend `ListNetworks` (or manually
    * if you know exactly what network you're looking for).
    *
+   * The name is used as given; use {@link #parse} to canonicalize and validate it.
+   *
    * @param networkString "networks/ethereum-goerli"
    * @return A WaasNetwork for use with the {@link MPCWalletService} api.
    */
   public static WaasNetwork fromNetworkString(String networkString) {
+    WaasNetwork known = knownNetworks.networks.get(networkString);
+    if (known != null) {
+      return known;
+    }
     return new WaasNetwork(networkString);
   }
 
+  /**
+   * Canonicalizes and validates the given network name: "Ethereum-Goerli" becomes "networks/ethereum-goerli".
+   * Names are checked against the list set with {@link #setKnownNetworks} while it has not expired,
+   * and only for well-formedness otherwise.
+   *
+   * @param networkString "networks/ethereum-goerli" or "ethereum-goerli"
+   * @return The WaasNetwork; the interned one if the network is known.
+   * @throws WaasException if the name is malformed or not a known network.
+   */
+  public static WaasNetwork parse(String networkString) throws WaasException {
+    String canonical = canonicalize(networkString);
+    if (!isWellFormed(canonical)) {
+      throw new WaasException("invalid network : ", "malformed network name " + networkString);
+    }
+
+    KnownNetworks known = knownNetworks;
+    WaasNetwork network = known.networks.get(canonical);
+    if (network != null) {
+      return network;
+    }
+    if (!known.networks.isEmpty() && System.nanoTime() - known.expiresAtNanos < 0) {
+      throw new WaasException("invalid network : ", "unknown network " + networkString);
+    }
+    return new WaasNetwork(canonical);
+  }
+
+  /**
+   * Sets the networks {@link #parse} validates against, e.g. from the backend `ListNetworks` response,
+   * replacing any set before. Once `ttlMillis` has passed, only well-formedness is checked until the list is
+   * set again.
+   *
+   * @param networkStrings The valid network names.
+   * @param ttlMillis How long the list should be trusted for, in milliseconds.
+   */
+  public static synchronized void setKnownNetworks(Collection<String> networkStrings, long ttlMillis) {
+    Map<String, WaasNetwork> previous = knownNetworks.networks;
+    Map<String, WaasNetwork> networks = new HashMap<>();
+    for (String networkString : networkStrings) {
+      String canonical = canonicalize(networkString);
+      if (!isWellFormed(canonical) || networks.containsKey(canonical)) {
+        continue;
+      }
+      // Keep the instances of networks that stay known, so identity holds across refreshes.
+      WaasNetwork network = previous.get(canonical);
+      networks.put(canonical, network != null ? network : new WaasNetwork(canonical));
+    }
+    knownNetworks = new KnownNetworks(Collections.unmodifiableMap(networks), System.nanoTime() + ttlMillis * 1_000_000L);
+  }
+
+  private static String canonicalize(String networkString) {
+    String canonical = networkString.trim().toLowerCase(Locale.ROOT);
+    if (!canonical.startsWith(networkPrefix)) {
+      canonical = networkPrefix + canonical;
+    }
+    return canonical;
+  }
+
+  // A well-formed network name is "networks/" followed by a non-empty id of [a-z0-9-].
+  private static boolean isWellFormed(String canonical) {
+    int length = canonical.length();
+    if (length == networkPrefix.length()) {
+      return false;
+    }
+    for (int i = networkPrefix.length(); i < length; i++) {
+      char c = canonical.charAt(i);
+      if (!((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-')) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private WaasNetwork(final String text) {
     this.name = text;
   }
@@ -0,0 +1,118 @@
+package com.coinbase.waassdk;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The startup of the Waas services begun by {@link Waas#start}: each service's Go client is created in parallel
+ * on the executor, while the Device is bootstrapped on the MPCSdk, so an app can enable features as each service
+ * comes up instead of waiting for all of them. Once their clients exist, the MPCKeyService and MPCWalletService
+ * are warmed up in the background, so the first real call finds a connection already open.
+ */
+public final class WaasStartup {
+
+  /**
+   * Receives the readiness of each service, on the executor thread that brought it up. Services are named
+   * "MPCSdk", "MPCKeyService", "MPCWalletService" and "PoolService". Implementations should not block.
+   */
+  public interface Listener {
+    void onServiceReady(String service);
+
+    void onServiceFailed(String service, WaasException error);
+  }
+
+  /**
+   * Brings up a service, and returns it.
+   */
+  private interface Step<T> {
+    T run() throws WaasException;
+  }
+
+  // Each service, resolved once it is ready; rejected if it could not be brought up.
+  public final Future<MPCSdk> mpc;
+  public final Future<MPCKeyService> keys;
+  public final Future<MPCWalletService> wallets;
+  public final Future<PoolService> pools;
+
+  // The combined Waas, completed by the last service to settle.
+  private final FutureTask<Waas> waas;
+  // The number of services that have not settled yet.
+  private final AtomicInteger pending = new AtomicInteger(4);
+  // The first error a service failed with.
+  private final AtomicReference<WaasException> firstError = new AtomicReference<>();
+  private final Listener listener;
+
+  WaasStartup(final MPCSdk mpcSdk, final MPCKeyService keyService, final MPCWalletService walletService,
+              final PoolService poolService, final String passcode, final ExecutorService executor, Listener listener) {
+    this.listener = listener;
+    this.waas = new FutureTask<>(() -> {
+      WaasException error = firstError.get();
+      if (error != null) {
+        throw error;
+      }
+      return new Waas(mpcSdk, keyService, walletService, poolService, executor);
+    });
+
+    mpc = start(executor, "MPCSdk", () -> {
+      if (passcode != null) {
+        // Bootstrapping creates the Go MPCSdk on the way.
+        mpcSdk.bootstrapDevice(passcode);
+      } else {
+        mpcSdk.sdk.get();
+      }
+      return mpcSdk;
+    });
+    keys = start(executor, "MPCKeyService", () -> {
+      keyService.keyClient.get();
+      // Open a connection in the background, without holding up readiness.
+      keyService.warmUp();
+      return keyService;
+    });
+    wallets = start(executor, "MPCWalletService", () -> {
+      walletService.walletsClient.get();
+      // Open a connection in the background, without holding up readiness.
+      walletService.warmUp();
+      return walletService;
+    });
+    pools = start(executor, "PoolService", () -> {
+      poolService.poolClient.get();
+      return poolService;
+    });
+  }
+
+  /**
+   * Returns the Waas, once every service is ready. Rejects with the first error a service failed with.
+   */
+  public Future<Waas> waas() {
+    return waas;
+  }
+
+  private <T> Future<T> start(ExecutorService executor, final String service, final Step<T> step) {
+    return SdkTrace.submit(executor, "Waas.start:" + service, new Callable<T>() {
+      @Override
+      public T call() throws WaasException {
+        try {
+          T ready = step.run();
+          if (listener != null) {
+            listener.onServiceReady(service);
+          }
+          return ready;
+        } catch (WaasException e) {
+          firstError.compareAndSet(null, e);
+          if (listener != null) {
+            listener.onServiceFailed(service, e);
+          }
+          throw e;
+        } finally {
+          if (pending.decrementAndGet() == 0) {
+            waas.run();
+          }
+        }
+      }
+    });
+  }
+}
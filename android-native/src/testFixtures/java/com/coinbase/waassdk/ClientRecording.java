@@ -0,0 +1,251 @@
+package com.coinbase.waassdk;
+
+import com.waassdkinternal.v1.ApiResponseReceiver;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * A recording of the calls made to the Go MPCKeyService and MPCWalletService clients: the response or
+ * error of each call and how long it took. Filled by {@link RecordingKeyClient} and {@link RecordingWalletClient},
+ * and played back by {@link ReplayKeyClient} and {@link ReplayWalletClient}, so the Java layers can be
+ * exercised and benchmarked against production-shaped traffic without a backend.
+ *
+ * Recordings are stored as JSON lines, one call per line, in the order the calls completed. They hold the
+ * responses as they were, Signatures and DeviceGroups included, in plain form: record only against test
+ * backends, and keep recordings out of shared or backed-up storage.
+ *
+ * Like the recording and replay clients, this is only published in the test fixtures.
+ */
+public final class ClientRecording {
+  /**
+   * A recorded call.
+   */
+  public static final class Call {
+    // The client and method called, e.g. "MPCKeyService.waitPendingSignature".
+    public final String method;
+    // How long the call took, in nanoseconds.
+    public final long latencyNanos;
+    // The response, encoded by the recording client; null if the call failed.
+    final JSONObject result;
+    // The message of the error the call failed with; null if it succeeded.
+    public final String error;
+
+    Call(String method, long latencyNanos, JSONObject result, String error) {
+      this.method = method;
+      this.latencyNanos = latencyNanos;
+      this.result = result;
+      this.error = error;
+    }
+
+    JSONObject toJSON() throws JSONException {
+      JSONObject obj = new JSONObject();
+      obj.put("method", method);
+      obj.put("latencyNanos", latencyNanos);
+      if (result != null) {
+        obj.put("result", result);
+      }
+      if (error != null) {
+        obj.put("error", error);
+      }
+      return obj;
+    }
+
+    static Call fromJSON(JSONObject obj) throws JSONException {
+      return new Call(
+        obj.getString("method"),
+        obj.getLong("latencyNanos"),
+        obj.optJSONObject("result"),
+        obj.has("error") ? obj.getString("error") : null
+      );
+    }
+  }
+
+  /**
+   * Encodes a client response for the recording.
+   */
+  interface Encoder<T> {
+    JSONObject encode(T value) throws JSONException;
+  }
+
+  private final List<Call> calls = new ArrayList<>();
+  // The calls of each method, in order, and the index of the next one to replay.
+  private final Map<String, List<Call>> callsByMethod = new HashMap<>();
+  private final Map<String, Integer> cursors = new HashMap<>();
+
+  /**
+   * Creates an empty recording.
+   */
+  public ClientRecording() {
+  }
+
+  /**
+   * Reads a recording written by {@link #writeTo(File)}.
+   */
+  public static ClientRecording readFrom(File file) throws IOException {
+    ClientRecording recording = new ClientRecording();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.isEmpty()) {
+          continue;
+        }
+        recording.add(Call.fromJSON(new JSONObject(line)));
+      }
+    } catch (JSONException e) {
+      throw new IOException("malformed recording " + file + ": " + e.getMessage());
+    }
+    return recording;
+  }
+
+  /**
+   * Writes the recording to `file` as JSON lines, replacing its contents.
+   */
+  public synchronized void writeTo(File file) throws IOException {
+    try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+      for (Call call : calls) {
+        writer.write(call.toJSON().toString());
+        writer.write('\n');
+      }
+    } catch (JSONException e) {
+      throw new IOException("could not encode recording: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Returns the recorded calls, in the order they completed.
+   */
+  public synchronized List<Call> calls() {
+    return Collections.unmodifiableList(new ArrayList<>(calls));
+  }
+
+  /**
+   * Rewinds replay to the first recorded call of every method.
+   */
+  public synchronized void rewind() {
+    cursors.clear();
+  }
+
+  synchronized void add(Call call) {
+    calls.add(call);
+    List<Call> methodCalls = callsByMethod.get(call.method);
+    if (methodCalls == null) {
+      methodCalls = new ArrayList<>();
+      callsByMethod.put(call.method, methodCalls);
+    }
+    methodCalls.add(call);
+  }
+
+  /**
+   * Returns the next recorded call of `method`. Calls of a method are replayed in the order they were recorded,
+   * regardless of their arguments, and start over once all have been replayed.
+   */
+  synchronized Call next(String method) throws IOException {
+    List<Call> methodCalls = callsByMethod.get(method);
+    if (methodCalls == null) {
+      throw new IOException("no recorded calls of " + method);
+    }
+    Integer cursor = cursors.get(method);
+    int index = cursor == null ? 0 : cursor;
+    cursors.put(method, (index + 1) % methodCalls.size());
+    return methodCalls.get(index);
+  }
+
+  /**
+   * Makes the call, and records its response encoded with `encoder`, or its error.
+   */
+  <T> T record(String method, Callable<T> call, Encoder<T> encoder) throws Exception {
+    long startedAt = System.nanoTime();
+    T result;
+    try {
+      result = call.call();
+    } catch (Exception e) {
+      add(new Call(method, System.nanoTime() - startedAt, null, String.valueOf(e.getMessage())));
+      throw e;
+    }
+    long latencyNanos = System.nanoTime() - startedAt;
+    add(new Call(method, latencyNanos, result == null ? null : encoder.encode(result), null));
+    return result;
+  }
+
+  /**
+   * Returns a receiver that records the value or error it is given, then passes it on to `receiver`.
+   * The latency recorded is the time from this call until the value is received.
+   */
+  ApiResponseReceiver record(final String method, final ApiResponseReceiver receiver) {
+    final long startedAt = System.nanoTime();
+    return new ApiResponseReceiver() {
+      @Override
+      public void returnValue(String data, Exception err) {
+        long latencyNanos = System.nanoTime() - startedAt;
+        try {
+          if (err != null) {
+            add(new Call(method, latencyNanos, null, String.valueOf(err.getMessage())));
+          } else {
+            JSONObject result = new JSONObject();
+            result.put("data", data);
+            add(new Call(method, latencyNanos, result, null));
+          }
+        } catch (JSONException e) {
+          // The response is passed on regardless; only the recording misses it.
+        }
+        receiver.returnValue(data, err);
+      }
+    };
+  }
+
+  /**
+   * Replays the next recorded call of `method`: waits for its recorded latency scaled by `latencyScale`,
+   * then returns its encoded response or throws its error.
+   */
+  JSONObject replay(String method, double latencyScale) throws Exception {
+    Call call = next(method);
+    long delayNanos = (long) (call.latencyNanos * latencyScale);
+    if (delayNanos > 0) {
+      Thread.sleep(delayNanos / 1000000, (int) (delayNanos % 1000000));
+    }
+    if (call.error != null) {
+      throw new Exception(call.error);
+    }
+    return call.result;
+  }
+
+  /**
+   * Replays the next recorded call of `method` into `receiver`, as the Go client would.
+   */
+  void replay(String method, double latencyScale, ApiResponseReceiver receiver) {
+    try {
+      JSONObject result = replay(method, latencyScale);
+      receiver.returnValue(result == null ? null : optString(result, "data"), null);
+    } catch (Exception e) {
+      receiver.returnValue(null, e);
+    }
+  }
+
+  static String optString(JSONObject obj, String name) throws JSONException {
+    return obj.isNull(name) ? null : obj.getString(name);
+  }
+
+  /**
+   * Returns `bytes` hex-encoded, as recordings store byte responses; for tests that write recordings by hand.
+   */
+  public static String toHex(byte[] bytes) {
+    return Hex.encode(bytes);
+  }
+}
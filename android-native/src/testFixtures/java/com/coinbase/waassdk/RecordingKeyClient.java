@@ -0,0 +1,143 @@
+package com.coinbase.waassdk;
+
+import com.waassdkinternal.v1.ApiResponseReceiver;
+import com.waassdkinternal.v1.Device;
+import com.waassdkinternal.v1.DeviceGroup;
+import com.waassdkinternal.v1.Signature;
+import com.waassdkinternal.v1.SignedTransaction;
+
+import org.json.JSONObject;
+
+/**
+ * A Go MPCKeyService client that forwards every call to another client and records its response and
+ * timing in a {@link ClientRecording}, for later replay with {@link ReplayKeyClient}.
+ *
+ * Pass it to {@link MPCKeyService#MPCKeyService(com.waassdkinternal.v1.MPCKeyService, java.util.concurrent.ExecutorService)}.
+ * NOTE: Recordings hold Signatures and DeviceGroup metadata, and should be captured only from test pools.
+ */
+public class RecordingKeyClient implements com.waassdkinternal.v1.MPCKeyService {
+  private final com.waassdkinternal.v1.MPCKeyService delegate;
+  private final ClientRecording recording;
+
+  public RecordingKeyClient(com.waassdkinternal.v1.MPCKeyService delegate, ClientRecording recording) {
+    this.delegate = delegate;
+    this.recording = recording;
+  }
+
+  private static final ClientRecording.Encoder<byte[]> bytes = value -> {
+    JSONObject obj = new JSONObject();
+    obj.put("bytes", Hex.encode(value));
+    return obj;
+  };
+
+  @Override
+  public Device registerDevice() throws Exception {
+    return recording.record("MPCKeyService.registerDevice", () -> delegate.registerDevice(), device -> {
+      JSONObject obj = new JSONObject();
+      obj.put("name", device.getName());
+      return obj;
+    });
+  }
+
+  @Override
+  public DeviceGroup getDeviceGroup(String name) throws Exception {
+    return recording.record("MPCKeyService.getDeviceGroup", () -> delegate.getDeviceGroup(name), group -> {
+      JSONObject obj = new JSONObject();
+      obj.put("name", group.getName());
+      obj.put("mpcKeyExportMetadata", group.getMPCKeyExportMetadata());
+      obj.put("devices", Hex.encode(group.getDevices()));
+      return obj;
+    });
+  }
+
+  @Override
+  public Signature waitPendingSignature(String operation) throws Exception {
+    return recording.record("MPCKeyService.waitPendingSignature", () -> delegate.waitPendingSignature(operation), signature -> {
+      JSONObject obj = new JSONObject();
+      obj.put("name", signature.getName());
+      obj.put("payload", signature.getPayload());
+      obj.put("signedPayload", signature.getSignedPayload());
+      return obj;
+    });
+  }
+
+  @Override
+  public SignedTransaction getSignedTransaction(byte[] tx, Signature signature) throws Exception {
+    return recording.record("MPCKeyService.getSignedTransaction", () -> delegate.getSignedTransaction(tx, signature), signed -> {
+      JSONObject obj = new JSONObject();
+      obj.put("rawTransaction", signed.getRawTransaction());
+      obj.put("transactionHash", signed.getTransactionHash());
+      return obj;
+    });
+  }
+
+  @Override
+  public byte[] pollPendingDeviceGroup(String deviceGroup, long pollInterval) throws Exception {
+    return recording.record("MPCKeyService.pollPendingDeviceGroup", () -> delegate.pollPendingDeviceGroup(deviceGroup, pollInterval), bytes);
+  }
+
+  @Override
+  public byte[] pollPendingSignatures(String deviceGroup, long pollInterval) throws Exception {
+    return recording.record("MPCKeyService.pollPendingSignatures", () -> delegate.pollPendingSignatures(deviceGroup, pollInterval), bytes);
+  }
+
+  @Override
+  public byte[] pollPendingDeviceBackups(String deviceGroup, long pollInterval) throws Exception {
+    return recording.record("MPCKeyService.pollPendingDeviceBackups", () -> delegate.pollPendingDeviceBackups(deviceGroup, pollInterval), bytes);
+  }
+
+  @Override
+  public byte[] pollPendingDeviceArchives(String deviceGroup, long pollInterval) throws Exception {
+    return recording.record("MPCKeyService.pollPendingDeviceArchives", () -> delegate.pollPendingDeviceArchives(deviceGroup, pollInterval), bytes);
+  }
+
+  @Override
+  public byte[] pollPendingDevices(String deviceGroup, long pollInterval) throws Exception {
+    return recording.record("MPCKeyService.pollPendingDevices", () -> delegate.pollPendingDevices(deviceGroup, pollInterval), bytes);
+  }
+
+  @Override
+  public void createTxSignature(String keyName, byte[] tx, ApiResponseReceiver receiver) {
+    delegate.createTxSignature(keyName, tx, recording.record("MPCKeyService.createTxSignature", receiver));
+  }
+
+  @Override
+  public void addDevice(String deviceGroup, String device, ApiResponseReceiver receiver) {
+    delegate.addDevice(deviceGroup, device, recording.record("MPCKeyService.addDevice", receiver));
+  }
+
+  @Override
+  public void prepareDeviceArchive(String deviceGroup, String device, ApiResponseReceiver receiver) {
+    delegate.prepareDeviceArchive(deviceGroup, device, recording.record("MPCKeyService.prepareDeviceArchive", receiver));
+  }
+
+  @Override
+  public void prepareDeviceBackup(String deviceGroup, String device, ApiResponseReceiver receiver) {
+    delegate.prepareDeviceBackup(deviceGroup, device, recording.record("MPCKeyService.prepareDeviceBackup", receiver));
+  }
+
+  @Override
+  public void stopPollingPendingDeviceGroup(ApiResponseReceiver receiver) {
+    delegate.stopPollingPendingDeviceGroup(recording.record("MPCKeyService.stopPollingPendingDeviceGroup", receiver));
+  }
+
+  @Override
+  public void stopPollingPendingSignatures(ApiResponseReceiver receiver) {
+    delegate.stopPollingPendingSignatures(recording.record("MPCKeyService.stopPollingPendingSignatures", receiver));
+  }
+
+  @Override
+  public void stopPollingPendingDeviceBackups(ApiResponseReceiver receiver) {
+    delegate.stopPollingPendingDeviceBackups(recording.record("MPCKeyService.stopPollingPendingDeviceBackups", receiver));
+  }
+
+  @Override
+  public void stopPollingPendingDeviceArchives(ApiResponseReceiver receiver) {
+    delegate.stopPollingPendingDeviceArchives(recording.record("MPCKeyService.stopPollingPendingDeviceArchives", receiver));
+  }
+
+  @Override
+  public void stopPollingPendingDevices(ApiResponseReceiver receiver) {
+    delegate.stopPollingPendingDevices(recording.record("MPCKeyService.stopPollingPendingDevices", receiver));
+  }
+}
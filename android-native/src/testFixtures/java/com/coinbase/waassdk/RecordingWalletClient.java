@@ -0,0 +1,58 @@
+package com.coinbase.waassdk;
+
+import com.waassdkinternal.v1.CreateMPCWalletResponse;
+import com.waassdkinternal.v1.MPCWallet;
+
+import org.json.JSONObject;
+
+/**
+ * A Go MPCWalletService client that forwards every call to another client and records its response and
+ * timing in a {@link ClientRecording}, for later replay with {@link ReplayWalletClient}.
+ *
+ * Pass it to {@link MPCWalletService#MPCWalletService(com.waassdkinternal.v1.MPCWalletService, java.util.concurrent.ExecutorService)}.
+ */
+public class RecordingWalletClient implements com.waassdkinternal.v1.MPCWalletService {
+  private final com.waassdkinternal.v1.MPCWalletService delegate;
+  private final ClientRecording recording;
+
+  public RecordingWalletClient(com.waassdkinternal.v1.MPCWalletService delegate, ClientRecording recording) {
+    this.delegate = delegate;
+    this.recording = recording;
+  }
+
+  private static final ClientRecording.Encoder<byte[]> bytes = value -> {
+    JSONObject obj = new JSONObject();
+    obj.put("bytes", Hex.encode(value));
+    return obj;
+  };
+
+  @Override
+  public CreateMPCWalletResponse createMPCWallet(String poolId, String device) throws Exception {
+    return recording.record("MPCWalletService.createMPCWallet", () -> delegate.createMPCWallet(poolId, device), response -> {
+      JSONObject obj = new JSONObject();
+      obj.put("deviceGroup", response.getDeviceGroup());
+      obj.put("operation", response.getOperation());
+      return obj;
+    });
+  }
+
+  @Override
+  public MPCWallet waitPendingMPCWallet(String operation) throws Exception {
+    return recording.record("MPCWalletService.waitPendingMPCWallet", () -> delegate.waitPendingMPCWallet(operation), wallet -> {
+      JSONObject obj = new JSONObject();
+      obj.put("name", wallet.getName());
+      obj.put("deviceGroup", wallet.getDeviceGroup());
+      return obj;
+    });
+  }
+
+  @Override
+  public byte[] generateAddress(String mpcWallet, String network) throws Exception {
+    return recording.record("MPCWalletService.generateAddress", () -> delegate.generateAddress(mpcWallet, network), bytes);
+  }
+
+  @Override
+  public byte[] getAddress(String name) throws Exception {
+    return recording.record("MPCWalletService.getAddress", () -> delegate.getAddress(name), bytes);
+  }
+}
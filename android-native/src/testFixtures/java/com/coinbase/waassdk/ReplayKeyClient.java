@@ -0,0 +1,162 @@
+package com.coinbase.waassdk;
+
+import com.waassdkinternal.v1.ApiResponseReceiver;
+import com.waassdkinternal.v1.Device;
+import com.waassdkinternal.v1.DeviceGroup;
+import com.waassdkinternal.v1.Signature;
+import com.waassdkinternal.v1.SignedTransaction;
+
+import org.json.JSONObject;
+
+/**
+ * A Go MPCKeyService client that answers every call from a {@link ClientRecording} made with
+ * {@link RecordingKeyClient}, without a backend. Calls of each method get the recorded responses of that
+ * method in order, after the recorded latency; arguments are ignored.
+ *
+ * Pass it to {@link MPCKeyService#MPCKeyService(com.waassdkinternal.v1.MPCKeyService, java.util.concurrent.ExecutorService)}
+ * to exercise or benchmark the Java layers deterministically.
+ */
+public class ReplayKeyClient implements com.waassdkinternal.v1.MPCKeyService {
+  private final ClientRecording recording;
+  private final double latencyScale;
+
+  /**
+   * Creates a client that replays `recording` with the recorded latencies.
+   */
+  public ReplayKeyClient(ClientRecording recording) {
+    this(recording, 1.0);
+  }
+
+  /**
+   * Creates a client that replays `recording` with the recorded latencies multiplied by `latencyScale`;
+   * 0 replays without delay, to measure the Java-side overhead alone.
+   */
+  public ReplayKeyClient(ClientRecording recording, double latencyScale) {
+    this.recording = recording;
+    this.latencyScale = latencyScale;
+  }
+
+  private byte[] replayBytes(String method) throws Exception {
+    JSONObject obj = recording.replay(method, latencyScale);
+    return obj == null ? null : Hex.decode(ClientRecording.optString(obj, "bytes"));
+  }
+
+  @Override
+  public Device registerDevice() throws Exception {
+    JSONObject obj = recording.replay("MPCKeyService.registerDevice", latencyScale);
+    if (obj == null) {
+      return null;
+    }
+    Device device = new Device();
+    device.setName(ClientRecording.optString(obj, "name"));
+    return device;
+  }
+
+  @Override
+  public DeviceGroup getDeviceGroup(String name) throws Exception {
+    JSONObject obj = recording.replay("MPCKeyService.getDeviceGroup", latencyScale);
+    if (obj == null) {
+      return null;
+    }
+    DeviceGroup group = new DeviceGroup();
+    group.setName(ClientRecording.optString(obj, "name"));
+    group.setMPCKeyExportMetadata(ClientRecording.optString(obj, "mpcKeyExportMetadata"));
+    group.setDevices(Hex.decode(ClientRecording.optString(obj, "devices")));
+    return group;
+  }
+
+  @Override
+  public Signature waitPendingSignature(String operation) throws Exception {
+    JSONObject obj = recording.replay("MPCKeyService.waitPendingSignature", latencyScale);
+    if (obj == null) {
+      return null;
+    }
+    Signature signature = new Signature();
+    signature.setName(ClientRecording.optString(obj, "name"));
+    signature.setPayload(ClientRecording.optString(obj, "payload"));
+    signature.setSignedPayload(ClientRecording.optString(obj, "signedPayload"));
+    return signature;
+  }
+
+  @Override
+  public SignedTransaction getSignedTransaction(byte[] tx, Signature signature) throws Exception {
+    JSONObject obj = recording.replay("MPCKeyService.getSignedTransaction", latencyScale);
+    if (obj == null) {
+      return null;
+    }
+    SignedTransaction signed = new SignedTransaction();
+    signed.setRawTransaction(ClientRecording.optString(obj, "rawTransaction"));
+    signed.setTransactionHash(ClientRecording.optString(obj, "transactionHash"));
+    return signed;
+  }
+
+  @Override
+  public byte[] pollPendingDeviceGroup(String deviceGroup, long pollInterval) throws Exception {
+    return replayBytes("MPCKeyService.pollPendingDeviceGroup");
+  }
+
+  @Override
+  public byte[] pollPendingSignatures(String deviceGroup, long pollInterval) throws Exception {
+    return replayBytes("MPCKeyService.pollPendingSignatures");
+  }
+
+  @Override
+  public byte[] pollPendingDeviceBackups(String deviceGroup, long pollInterval) throws Exception {
+    return replayBytes("MPCKeyService.pollPendingDeviceBackups");
+  }
+
+  @Override
+  public byte[] pollPendingDeviceArchives(String deviceGroup, long pollInterval) throws Exception {
+    return replayBytes("MPCKeyService.pollPendingDeviceArchives");
+  }
+
+  @Override
+  public byte[] pollPendingDevices(String deviceGroup, long pollInterval) throws Exception {
+    return replayBytes("MPCKeyService.pollPendingDevices");
+  }
+
+  @Override
+  public void createTxSignature(String keyName, byte[] tx, ApiResponseReceiver receiver) {
+    recording.replay("MPCKeyService.createTxSignature", latencyScale, receiver);
+  }
+
+  @Override
+  public void addDevice(String deviceGroup, String device, ApiResponseReceiver receiver) {
+    recording.replay("MPCKeyService.addDevice", latencyScale, receiver);
+  }
+
+  @Override
+  public void prepareDeviceArchive(String deviceGroup, String device, ApiResponseReceiver receiver) {
+    recording.replay("MPCKeyService.prepareDeviceArchive", latencyScale, receiver);
+  }
+
+  @Override
+  public void prepareDeviceBackup(String deviceGroup, String device, ApiResponseReceiver receiver) {
+    recording.replay("MPCKeyService.prepareDeviceBackup", latencyScale, receiver);
+  }
+
+  @Override
+  public void stopPollingPendingDeviceGroup(ApiResponseReceiver receiver) {
+    recording.replay("MPCKeyService.stopPollingPendingDeviceGroup", latencyScale, receiver);
+  }
+
+  @Override
+  public void stopPollingPendingSignatures(ApiResponseReceiver receiver) {
+    recording.replay("MPCKeyService.stopPollingPendingSignatures", latencyScale, receiver);
+  }
+
+  @Override
+  public void stopPollingPendingDeviceBackups(ApiResponseReceiver receiver) {
+    recording.replay("MPCKeyService.stopPollingPendingDeviceBackups", latencyScale, receiver);
+  }
+
+  @Override
+  public void stopPollingPendingDeviceArchives(ApiResponseReceiver receiver) {
+    recording.replay("MPCKeyService.stopPollingPendingDeviceArchives", latencyScale, receiver);
+  }
+
+  @Override
+  public void stopPollingPendingDevices(ApiResponseReceiver receiver) {
+    recording.replay("MPCKeyService.stopPollingPendingDevices", latencyScale, receiver);
+  }
+}
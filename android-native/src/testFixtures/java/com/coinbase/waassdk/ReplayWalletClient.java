@@ -0,0 +1,74 @@
+package com.coinbase.waassdk;
+
+import com.waassdkinternal.v1.CreateMPCWalletResponse;
+import com.waassdkinternal.v1.MPCWallet;
+
+import org.json.JSONObject;
+
+/**
+ * A Go MPCWalletService client that answers every call from a {@link ClientRecording} made with
+ * {@link RecordingWalletClient}, without a backend. Calls of each method get the recorded responses of that
+ * method in order, after the recorded latency; arguments are ignored.
+ *
+ * Pass it to {@link MPCWalletService#MPCWalletService(com.waassdkinternal.v1.MPCWalletService, java.util.concurrent.ExecutorService)}
+ * to exercise or benchmark the Java layers deterministically.
+ */
+public class ReplayWalletClient implements com.waassdkinternal.v1.MPCWalletService {
+  private final ClientRecording recording;
+  private final double latencyScale;
+
+  /**
+   * Creates a client that replays `recording` with the recorded latencies.
+   */
+  public ReplayWalletClient(ClientRecording recording) {
+    this(recording, 1.0);
+  }
+
+  /**
+   * Creates a client that replays `recording` with the recorded latencies multiplied by `latencyScale`;
+   * 0 replays without delay, to measure the Java-side overhead alone.
+   */
+  public ReplayWalletClient(ClientRecording recording, double latencyScale) {
+    this.recording = recording;
+    this.latencyScale = latencyScale;
+  }
+
+  private byte[] replayBytes(String method) throws Exception {
+    JSONObject obj = recording.replay(method, latencyScale);
+    return obj == null ? null : Hex.decode(ClientRecording.optString(obj, "bytes"));
+  }
+
+  @Override
+  public CreateMPCWalletResponse createMPCWallet(String poolId, String device) throws Exception {
+    JSONObject obj = recording.replay("MPCWalletService.createMPCWallet", latencyScale);
+    if (obj == null) {
+      return null;
+    }
+    CreateMPCWalletResponse response = new CreateMPCWalletResponse();
+    response.setDeviceGroup(ClientRecording.optString(obj, "deviceGroup"));
+    response.setOperation(ClientRecording.optString(obj, "operation"));
+    return response;
+  }
+
+  @Override
+  public MPCWallet waitPendingMPCWallet(String operation) throws Exception {
+    JSONObject obj = recording.replay("MPCWalletService.waitPendingMPCWallet", latencyScale);
+    if (obj == null) {
+      return null;
+    }
+    MPCWallet wallet = new MPCWallet();
+    wallet.setName(ClientRecording.optString(obj, "name"));
+    wallet.setDeviceGroup(ClientRecording.optString(obj, "deviceGroup"));
+    return wallet;
+  }
+
+  @Override
+  public byte[] generateAddress(String mpcWallet, String network) throws Exception {
+    return replayBytes("MPCWalletService.generateAddress");
+  }
+
+  @Override
+  public byte[] getAddress(String name) throws Exception {
+    return replayBytes("MPCWalletService.getAddress");
+  }
+}
@@ -0,0 +1,224 @@
+package com.coinbase.waassdk;
+
+import com.waassdkinternal.v1.AndroidCallbacks;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStoreException;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+/**
+ * A pure-Java, in-memory implementation of the MPCSdk hooks, with software HMAC and ECDSA (P-256) keys
+ * in place of the Android Keystore. Lets an MPCSdk be constructed and exercised in JVM or Robolectric
+ * tests and benchmarks, without Keystore latency or a device.
+ *
+ * Keys live only in this object, and user authentication is never prompted for: sessions open
+ * immediately. NOTE: This offers none of the Keystore's protections and must never be used in production;
+ * it is only published in the test fixtures, and is given to an MPCSdk through its AndroidCallbacks constructor.
+ */
+public class SoftwareCallbacks implements AndroidCallbacks, Closeable {
+  private final long apiVersion;
+  private final File homeDir;
+  private final boolean ownsHomeDir;
+  private final String clientStatus;
+
+  private final Map<String, SecretKey> hmacKeys = new HashMap<>();
+  private final Map<String, KeyPair> ecdsaKeys = new HashMap<>();
+  private final Set<Long> sessions = new HashSet<>();
+  private long nextSession;
+  private long storageType;
+
+  /**
+   * Creates hooks whose home dir is a fresh temporary directory, removed by {@link #close()}.
+   *
+   * @param apiVersion The hooks API version to report to the MPCSdk; that of the bundled Keystore library.
+   */
+  public SoftwareCallbacks(long apiVersion) throws IOException {
+    this(apiVersion, createTempDir(), true, "{}");
+  }
+
+  /**
+   * Creates hooks with the given home dir and client status.
+   *
+   * @param apiVersion The hooks API version to report to the MPCSdk; that of the bundled Keystore library.
+   * @param homeDir The directory the MPCSdk stores its files in.
+   * @param clientStatus The client status to report, as JSON.
+   */
+  public SoftwareCallbacks(long apiVersion, File homeDir, String clientStatus) {
+    this(apiVersion, homeDir, false, clientStatus);
+  }
+
+  private SoftwareCallbacks(long apiVersion, File homeDir, boolean ownsHomeDir, String clientStatus) {
+    this.apiVersion = apiVersion;
+    this.homeDir = homeDir;
+    this.ownsHomeDir = ownsHomeDir;
+    this.clientStatus = clientStatus;
+  }
+
+  private static File createTempDir() throws IOException {
+    File dir = new File(System.getProperty("java.io.tmpdir"), "waas-home-" + UUID.randomUUID());
+    if (!dir.mkdirs()) {
+      throw new IOException("could not create " + dir);
+    }
+    return dir;
+  }
+
+  /**
+   * Returns the storage type last set by the MPCSdk.
+   */
+  public synchronized long getStorageType() {
+    return storageType;
+  }
+
+  /**
+   * Deletes all keys and sessions, and the home dir if it was created by this object.
+   */
+  @Override
+  public synchronized void close() {
+    hmacKeys.clear();
+    ecdsaKeys.clear();
+    sessions.clear();
+    if (ownsHomeDir) {
+      delete(homeDir);
+    }
+  }
+
+  private static void delete(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+
+  @Override
+  public long fGetAPIVersion() {
+    return apiVersion;
+  }
+
+  @Override
+  public String fGetHomeDir() {
+    return homeDir.getPath();
+  }
+
+  @Override
+  public synchronized void fSetStorageType(long storageType) {
+    this.storageType = storageType;
+  }
+
+  @Override
+  public String fGetClientStatus() {
+    return clientStatus;
+  }
+
+  @Override
+  public synchronized long fGenHMAC(String tag, String jsonProtection) throws Exception {
+    KeyGenerator generator = KeyGenerator.getInstance("HmacSHA256");
+    hmacKeys.put(tag, generator.generateKey());
+    return 0;
+  }
+
+  @Override
+  public synchronized void fGenECDSA(String tag, String jsonProtection) throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+    generator.initialize(new ECGenParameterSpec("secp256r1"));
+    ecdsaKeys.put(tag, generator.generateKeyPair());
+  }
+
+  @Override
+  public synchronized byte[] fGetPublicECDSA(String tag) throws Exception {
+    return ecdsaKey(tag).getPublic().getEncoded();
+  }
+
+  @Override
+  public synchronized void fDelete(String tag) {
+    hmacKeys.remove(tag);
+    ecdsaKeys.remove(tag);
+  }
+
+  @Override
+  public byte[] fDeriveHMAC(String tag, byte[] seed) throws Exception {
+    Mac mac = Mac.getInstance("HmacSHA256");
+    mac.init(hmacKey(tag));
+    return mac.doFinal(seed);
+  }
+
+  @Override
+  public byte[] fSignECDSA(String tag, byte[] data) throws Exception {
+    Signature signature = Signature.getInstance("SHA256withECDSA");
+    signature.initSign(ecdsaKey(tag).getPrivate());
+    signature.update(data);
+    return signature.sign();
+  }
+
+  @Override
+  public synchronized void fValidate(String tag) throws KeyStoreException {
+    if (!hmacKeys.containsKey(tag) && !ecdsaKeys.containsKey(tag)) {
+      throw new KeyStoreException("no key " + tag);
+    }
+  }
+
+  @Override
+  public synchronized long fOpenSession(long op, String jsonProtection, String title, String subTitle, long timeout) {
+    long handle = ++nextSession;
+    sessions.add(handle);
+    return handle;
+  }
+
+  @Override
+  public synchronized void fCloseSession(long handle) throws GeneralSecurityException {
+    if (!sessions.remove(handle)) {
+      throw new GeneralSecurityException("no session " + handle);
+    }
+  }
+
+  @Override
+  public byte[] fSessionDeriveHMAC(long handle, String tag, byte[] seed) throws Exception {
+    checkSession(handle);
+    return fDeriveHMAC(tag, seed);
+  }
+
+  @Override
+  public byte[] fSessionSignECDSA(long handle, String tag, byte[] data) throws Exception {
+    checkSession(handle);
+    return fSignECDSA(tag, data);
+  }
+
+  private synchronized void checkSession(long handle) throws GeneralSecurityException {
+    if (!sessions.contains(handle)) {
+      throw new GeneralSecurityException("no session " + handle);
+    }
+  }
+
+  private synchronized SecretKey hmacKey(String tag) throws KeyStoreException {
+    SecretKey key = hmacKeys.get(tag);
+    if (key == null) {
+      throw new KeyStoreException("no HMAC key " + tag);
+    }
+    return key;
+  }
+
+  private synchronized KeyPair ecdsaKey(String tag) throws KeyStoreException {
+    KeyPair key = ecdsaKeys.get(tag);
+    if (key == null) {
+      throw new KeyStoreException("no ECDSA key " + tag);
+    }
+    return key;
+  }
+}
@@ -0,0 +1,454 @@
+package com.coinbase.waassdkreactnative;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.coinbase.waassdk.ClientRecording;
+import com.coinbase.waassdk.ReplayKeyClient;
+import com.coinbase.waassdk.ReplayWalletClient;
+import com.coinbase.waassdk.SdkExecutors;
+import com.coinbase.waassdk.SoftwareCallbacks;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.PromiseImpl;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.soloader.SoLoader;
+import com.mpcmw.corekmsutils.SystemKeys;
+import com.waassdkinternal.v1.Pool;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stress test of the threading of the React Native modules.
+ *
+ * Every module method is called many times at once from several threads, against backends mocked with
+ * {@link ReplayKeyClient}, {@link ReplayWalletClient} and a slow PoolService stand-in. Each backend call takes
+ * {@link #backendLatencyMillis}, and one in {@link #errorEvery} fails. The test asserts that:
+ *
+ * - every promise settles before {@link #deadlockTimeoutSeconds} (no deadlock), with a dump of the SDK threads otherwise;
+ * - no promise takes longer than the time its executor needs to drain the flood, with headroom for
+ *   {@link WaasPromise} parking a thread on each call (no starvation);
+ * - no task is rejected, the SDK never runs more threads than its pools hold, and none outlive their pool (no leaks).
+ *
+ * `WaasSdkReactNativeModule.batch` is left out: it looks up the other modules through a running React instance.
+ *
+ * Run from `android/` on a device or emulator:
+ *
+ *   ./gradlew connectedAndroidTest \
+ *     -Pandroid.testInstrumentationRunnerArguments.class=com.coinbase.waassdkreactnative.ExecutorStressTest
+ */
+@RunWith(AndroidJUnit4.class)
+public class ExecutorStressTest {
+  // How long every mocked backend call takes.
+  private static final long backendLatencyMillis = 50;
+  // One in this many mocked backend calls fails.
+  private static final int errorEvery = 5;
+  // How many times each module method is called.
+  private static final int callsPerMethod = 20;
+  // How many threads call into the modules at once.
+  private static final int callerThreads = 16;
+  // The extra time, on top of the modelled drain time, that a call may take.
+  private static final long slackMillis = 30 * 1000;
+  // How long to wait for all calls to settle before declaring a deadlock.
+  private static final long deadlockTimeoutSeconds = 180;
+
+  // The prefix of the names of the threads of SdkExecutors pools.
+  private static final String sdkThreadPrefix = "waas-";
+
+  private ReactApplicationContext reactContext;
+  private SoftwareCallbacks softwareCallbacks;
+  private Set<Thread> threadsBefore;
+
+  private MPCKeyService keys;
+  private MPCWalletService wallets;
+  private PoolService pools;
+  private MPCSdk sdk;
+  private WaasSdkReactNativeModule waas;
+
+  /**
+   * One module method call, and when its promise settled.
+   */
+  private static final class Call {
+    final String method;
+    final ExecutorService executor;
+    final Invocation invocation;
+    volatile long issuedAt;
+    volatile long settledAt;
+    volatile boolean rejected;
+
+    Call(String method, ExecutorService executor, Invocation invocation) {
+      this.method = method;
+      this.executor = executor;
+      this.invocation = invocation;
+    }
+  }
+
+  private interface Invocation {
+    void invoke(PromiseImpl promise) throws Exception;
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+    SoLoader.init(context, false);
+    reactContext = new ReactApplicationContext(context);
+    softwareCallbacks = new SoftwareCallbacks(new SystemKeys(context).API_VERSION);
+    threadsBefore = liveThreads();
+
+    ClientRecording backend = ClientRecording.readFrom(writeBackend(context.getCacheDir()));
+
+    waas = new WaasSdkReactNativeModule(reactContext);
+    keys = new MPCKeyService(reactContext);
+    keys.keyClient = new com.coinbase.waassdk.MPCKeyService(new ReplayKeyClient(backend), keys.executor);
+    wallets = new MPCWalletService(reactContext);
+    wallets.walletsClient = new com.coinbase.waassdk.MPCWalletService(new ReplayWalletClient(backend), wallets.executor);
+    pools = new PoolService(reactContext);
+    pools.poolClient = new com.coinbase.waassdk.PoolService(slowPoolClient(), pools.executor);
+    sdk = new MPCSdk(reactContext);
+    sdk.sdk = new com.coinbase.waassdk.MPCSdk(softwareCallbacks, true, sdk.executor);
+  }
+
+  @After
+  public void tearDown() {
+    for (ExecutorService executor : moduleExecutors()) {
+      executor.shutdownNow();
+    }
+    softwareCallbacks.close();
+  }
+
+  @Test
+  public void floodAllModuleMethods() throws Exception {
+    List<Call> calls = new ArrayList<>();
+    for (int i = 0; i < callsPerMethod; i++) {
+      addCalls(calls, i);
+    }
+    Collections.shuffle(calls);
+
+    CountDownLatch settled = new CountDownLatch(calls.size());
+    ExecutorService callers = Executors.newFixedThreadPool(callerThreads);
+    for (final Call call : calls) {
+      callers.execute(() -> issue(call, settled));
+    }
+
+    if (!settled.await(deadlockTimeoutSeconds, TimeUnit.SECONDS)) {
+      fail("deadlock: " + settled.getCount() + " of " + calls.size() + " calls did not settle within "
+        + deadlockTimeoutSeconds + "s; pending: " + pendingMethods(calls) + "\n" + dumpSdkThreads());
+    }
+    callers.shutdown();
+
+    assertBoundedLatency(calls);
+    assertNoRejections();
+    assertNoThreadLeaks();
+  }
+
+  private void addCalls(List<Call> calls, final int i) {
+    final String deviceGroup = "pools/stress/deviceGroups/" + i;
+    final String device = "devices/" + i;
+
+    calls.add(new Call("MPCKeyService.registerDevice", keys.executor, p -> keys.registerDevice(p)));
+    calls.add(new Call("MPCKeyService.pollForPendingDeviceGroup", keys.executor, p -> keys.pollForPendingDeviceGroup(deviceGroup, 1, p)));
+    calls.add(new Call("MPCKeyService.stopPollingPendingDeviceGroup", keys.executor, p -> keys.stopPollingPendingDeviceGroup(p)));
+    calls.add(new Call("MPCKeyService.createSignatureFromTx", keys.executor, p -> keys.createSignatureFromTx(deviceGroup + "/mpcKeys/0", transaction(i), p)));
+    calls.add(new Call("MPCKeyService.createSignatureFromTxWithHandle", keys.executor, p -> keys.createSignatureFromTxWithHandle(deviceGroup + "/mpcKeys/1", transaction(i), p)));
+    calls.add(new Call("MPCKeyService.pollForPendingSignatures", keys.executor, p -> keys.pollForPendingSignatures(deviceGroup, 1, p)));
+    calls.add(new Call("MPCKeyService.stopPollingForPendingSignatures", keys.executor, p -> keys.stopPollingForPendingSignatures(p)));
+    calls.add(new Call("MPCKeyService.waitPendingSignature", keys.executor, p -> keys.waitPendingSignature("operations/signature-" + i, p)));
+    calls.add(new Call("MPCKeyService.getSignedTransaction", keys.executor, p -> keys.getSignedTransaction(transaction(i), signature(i), p)));
+    calls.add(new Call("MPCKeyService.getSignedTransactionFromHandle", keys.executor, p -> keys.getSignedTransactionFromHandle(Integer.toString(i), signature(i), p)));
+    calls.add(new Call("MPCKeyService.getDeviceGroup", keys.executor, p -> keys.getDeviceGroup(deviceGroup, p)));
+    calls.add(new Call("MPCKeyService.prepareDeviceArchive", keys.executor, p -> keys.prepareDeviceArchive(deviceGroup, device, p)));
+    calls.add(new Call("MPCKeyService.pollForPendingDeviceArchives", keys.executor, p -> keys.pollForPendingDeviceArchives(deviceGroup, 1, p)));
+    calls.add(new Call("MPCKeyService.stopPollingForPendingDeviceArchives", keys.executor, p -> keys.stopPollingForPendingDeviceArchives(p)));
+    calls.add(new Call("MPCKeyService.pollForPendingDeviceBackups", keys.executor, p -> keys.pollForPendingDeviceBackups(deviceGroup, 1, p)));
+    calls.add(new Call("MPCKeyService.stopPollingForPendingDeviceBackups", keys.executor, p -> keys.stopPollingForPendingDeviceBackups(p)));
+    calls.add(new Call("MPCKeyService.prepareDeviceBackup", keys.executor, p -> keys.prepareDeviceBackup(deviceGroup, device, p)));
+    calls.add(new Call("MPCKeyService.addDevice", keys.executor, p -> keys.addDevice(deviceGroup, device, p)));
+    calls.add(new Call("MPCKeyService.pollForPendingDevices", keys.executor, p -> keys.pollForPendingDevices(deviceGroup, 1, p)));
+    calls.add(new Call("MPCKeyService.stopPollingForPendingDevices", keys.executor, p -> keys.stopPollingForPendingDevices(p)));
+
+    calls.add(new Call("MPCWalletService.createMPCWallet", wallets.executor, p -> wallets.createMPCWallet("pools/stress", device, p)));
+    calls.add(new Call("MPCWalletService.waitPendingMPCWallet", wallets.executor, p -> wallets.waitPendingMPCWallet("operations/wallet-" + i, p)));
+    calls.add(new Call("MPCWalletService.generateAddress", wallets.executor, p -> wallets.generateAddress("pools/stress/mpcWallets/" + i, "networks/ethereum-goerli", p)));
+    calls.add(new Call("MPCWalletService.getAddress", wallets.executor, p -> wallets.getAddress("networks/ethereum-goerli/addresses/" + i, p)));
+
+    calls.add(new Call("PoolService.createPool", pools.executor, p -> pools.createPool("stress", "stress-" + i, p)));
+
+    calls.add(new Call("MPCSdk.bootstrapDevice", sdk.executor, p -> sdk.bootstrapDevice("stress-passcode", p)));
+    calls.add(new Call("MPCSdk.getRegistrationData", sdk.executor, p -> sdk.getRegistrationData(p)));
+    calls.add(new Call("MPCSdk.computeMPCOperation", sdk.executor, p -> sdk.computeMPCOperation("{}", p)));
+    calls.add(new Call("MPCSdk.exportPrivateKeys", sdk.executor, p -> sdk.exportPrivateKeys("{}", "stress-passcode", p)));
+    calls.add(new Call("MPCSdk.computePrepareDeviceArchiveMPCOperation", sdk.executor, p -> sdk.computePrepareDeviceArchiveMPCOperation("{}", "stress-passcode", p)));
+    calls.add(new Call("MPCSdk.computePrepareDeviceBackupMPCOperation", sdk.executor, p -> sdk.computePrepareDeviceBackupMPCOperation("{}", "stress-passcode", p)));
+    calls.add(new Call("MPCSdk.exportDeviceBackup", sdk.executor, p -> sdk.exportDeviceBackup(p)));
+    calls.add(new Call("MPCSdk.computeAddDeviceMPCOperation", sdk.executor, p -> sdk.computeAddDeviceMPCOperation("{}", "stress-passcode", "", p)));
+    calls.add(new Call("MPCSdk.resetPasscode", sdk.executor, p -> sdk.resetPasscode("stress-passcode", p)));
+
+    // The metrics methods resolve on the calling thread, while the SDK executors are busy.
+    calls.add(new Call("WaasSdkReactNativeModule.getMetrics", null, p -> waas.getMetrics(p)));
+    calls.add(new Call("WaasSdkReactNativeModule.getExecutorGauges", null, p -> waas.getExecutorGauges(p)));
+  }
+
+  private static void issue(final Call call, final CountDownLatch settled) {
+    PromiseImpl promise = new PromiseImpl(new Callback() {
+      @Override
+      public void invoke(Object... args) {
+        call.settledAt = System.nanoTime();
+        settled.countDown();
+      }
+    }, new Callback() {
+      @Override
+      public void invoke(Object... args) {
+        call.rejected = true;
+        call.settledAt = System.nanoTime();
+        settled.countDown();
+      }
+    });
+
+    call.issuedAt = System.nanoTime();
+    try {
+      call.invocation.invoke(promise);
+    } catch (Exception e) {
+      promise.reject(e);
+    }
+  }
+
+  private static WritableMap transaction(int nonce) {
+    WritableMap tx = Arguments.createMap();
+    tx.putString("ChainID", "0x5");
+    tx.putInt("Nonce", nonce);
+    tx.putString("MaxPriorityFeePerGas", "0x59682f00");
+    tx.putString("MaxFeePerGas", "0x59682f0e");
+    tx.putInt("Gas", 63000);
+    tx.putString("From", "0x0000000000000000000000000000000000000001");
+    tx.putString("To", "0xd8ee094fef6bf8b2a0e9cc3a16b2ce9d6a4c8f09");
+    tx.putString("Value", "0x2386f26fc10000");
+    tx.putString("Data", "");
+    return tx;
+  }
+
+  private static WritableMap signature(int i) {
+    WritableMap signature = Arguments.createMap();
+    signature.putString("Name", "signatures/" + i);
+    signature.putString("Payload", "payload");
+    signature.putString("SignedPayload", "signed-payload");
+    return signature;
+  }
+
+  /**
+   * Asserts that no call took longer than the time its executor needs to drain all calls submitted to it.
+   * Each call holds one thread for a backend call, and WaasPromise parks a second one waiting for it,
+   * so an executor of n threads is modelled as serving n / 2 backend calls at a time.
+   */
+  private void assertBoundedLatency(List<Call> calls) {
+    Map<ExecutorService, Integer> callsPerExecutor = new HashMap<>();
+    for (Call call : calls) {
+      Integer count = callsPerExecutor.get(call.executor);
+      callsPerExecutor.put(call.executor, count == null ? 1 : count + 1);
+    }
+
+    int threads = Runtime.getRuntime().availableProcessors();
+    List<String> slow = new ArrayList<>();
+    for (Call call : calls) {
+      long boundMillis = slackMillis;
+      if (call.executor != null) {
+        long waves = (long) Math.ceil(callsPerExecutor.get(call.executor) / Math.max(1.0, threads / 2.0));
+        boundMillis += waves * backendLatencyMillis;
+      }
+      long latencyMillis = TimeUnit.NANOSECONDS.toMillis(call.settledAt - call.issuedAt);
+      if (latencyMillis > boundMillis) {
+        slow.add(call.method + " took " + latencyMillis + "ms, bound " + boundMillis + "ms");
+      }
+    }
+    assertTrue("starvation: " + slow, slow.isEmpty());
+  }
+
+  private static void assertNoRejections() {
+    for (Map.Entry<String, SdkExecutors.ExecutorSnapshot> entry : SdkExecutors.snapshot().entrySet()) {
+      assertEquals("rejected tasks on " + entry.getKey(), 0, entry.getValue().rejectedTasks);
+    }
+  }
+
+  /**
+   * Asserts that the SDK ran no more threads than its pools hold, and that all of them stop with their pools.
+   */
+  private void assertNoThreadLeaks() throws InterruptedException {
+    List<ExecutorService> executors = moduleExecutors();
+    int poolThreads = executors.size() * Runtime.getRuntime().availableProcessors();
+    List<Thread> sdkThreads = newSdkThreads();
+    assertTrue("SDK runs " + sdkThreads.size() + " threads, its pools hold " + poolThreads,
+      sdkThreads.size() <= poolThreads);
+
+    for (ExecutorService executor : executors) {
+      executor.shutdown();
+      assertTrue("executor did not terminate", executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+    for (Thread thread : sdkThreads) {
+      thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+    List<Thread> leaked = newSdkThreads();
+    assertTrue("leaked threads: " + leaked, leaked.isEmpty());
+  }
+
+  private List<ExecutorService> moduleExecutors() {
+    List<ExecutorService> executors = new ArrayList<>();
+    executors.add(keys.executor);
+    executors.add(wallets.executor);
+    executors.add(pools.executor);
+    executors.add(sdk.executor);
+    return executors;
+  }
+
+  // Returns the live SDK threads started since setUp.
+  private List<Thread> newSdkThreads() {
+    List<Thread> threads = new ArrayList<>();
+    for (Thread thread : liveThreads()) {
+      if (!threadsBefore.contains(thread) && thread.getName().startsWith(sdkThreadPrefix)) {
+        threads.add(thread);
+      }
+    }
+    return threads;
+  }
+
+  private static Set<Thread> liveThreads() {
+    Set<Thread> threads = new HashSet<>();
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      if (thread.isAlive()) {
+        threads.add(thread);
+      }
+    }
+    return threads;
+  }
+
+  private static Set<String> pendingMethods(List<Call> calls) {
+    Set<String> methods = new HashSet<>();
+    for (Call call : calls) {
+      if (call.settledAt == 0) {
+        methods.add(call.method);
+      }
+    }
+    return methods;
+  }
+
+  private static String dumpSdkThreads() {
+    StringBuilder out = new StringBuilder();
+    for (Map.Entry<Thread, StackTraceElement[]> entry : Thread.getAllStackTraces().entrySet()) {
+      Thread thread = entry.getKey();
+      if (!thread.getName().startsWith(sdkThreadPrefix)) {
+        continue;
+      }
+      out.append(thread.getName()).append(' ').append(thread.getState()).append('\n');
+      for (StackTraceElement frame : entry.getValue()) {
+        out.append("    at ").append(frame).append('\n');
+      }
+    }
+    return out.toString();
+  }
+
+  private static com.waassdkinternal.v1.PoolService slowPoolClient() {
+    final AtomicLong calls = new AtomicLong();
+    return (displayName, poolID) -> {
+      Thread.sleep(backendLatencyMillis);
+      if (calls.incrementAndGet() % errorEvery == 0) {
+        throw new Exception("injected failure");
+      }
+      Pool pool = new Pool();
+      pool.setName("pools/" + poolID);
+      pool.setDisplayName(displayName);
+      return pool;
+    };
+  }
+
+  /**
+   * Writes a recording of a backend in which every call takes backendLatencyMillis and one in errorEvery fails,
+   * in the format read by {@link ClientRecording#readFrom(File)}.
+   */
+  private static File writeBackend(File directory) throws Exception {
+    JSONArray operations = new JSONArray();
+    operations.put(new JSONObject().put("Operation", "operations/stress").put("MPCData", "{}"));
+    String operationsHex = hex(operations.toString());
+
+    JSONArray mpcKeys = new JSONArray().put("pools/stress/deviceGroups/0/mpcKeys/0");
+    String addressHex = hex(new JSONObject()
+      .put("Name", "networks/ethereum-goerli/addresses/0")
+      .put("Address", "0xd8ee094fef6bf8b2a0e9cc3a16b2ce9d6a4c8f09")
+      .put("MPCKeys", mpcKeys)
+      .put("MPCWallet", "pools/stress/mpcWallets/0")
+      .toString());
+
+    Map<String, JSONObject> responses = new HashMap<>();
+    responses.put("MPCKeyService.registerDevice", new JSONObject().put("name", "devices/stress"));
+    responses.put("MPCKeyService.getDeviceGroup", new JSONObject()
+      .put("name", "pools/stress/deviceGroups/0")
+      .put("mpcKeyExportMetadata", "metadata")
+      .put("devices", hex("[\"devices/stress\"]")));
+    responses.put("MPCKeyService.waitPendingSignature", new JSONObject()
+      .put("name", "signatures/stress").put("payload", "payload").put("signedPayload", "signed-payload"));
+    responses.put("MPCKeyService.getSignedTransaction", new JSONObject()
+      .put("rawTransaction", "0x02").put("transactionHash", "0xabc"));
+    for (String poll : new String[]{"DeviceGroup", "Signatures", "DeviceArchives", "DeviceBackups", "Devices"}) {
+      responses.put("MPCKeyService.pollPending" + poll, new JSONObject().put("bytes", operationsHex));
+      responses.put("MPCKeyService.stopPollingPending" + poll, new JSONObject().put("data", "stopped polling"));
+    }
+    for (String operation : new String[]{"createTxSignature", "addDevice", "prepareDeviceArchive", "prepareDeviceBackup"}) {
+      responses.put("MPCKeyService." + operation, new JSONObject().put("data", "operations/stress"));
+    }
+    responses.put("MPCWalletService.createMPCWallet", new JSONObject()
+      .put("deviceGroup", "pools/stress/deviceGroups/0").put("operation", "operations/stress"));
+    responses.put("MPCWalletService.waitPendingMPCWallet", new JSONObject()
+      .put("name", "pools/stress/mpcWallets/0").put("deviceGroup", "pools/stress/deviceGroups/0"));
+    responses.put("MPCWalletService.generateAddress", new JSONObject().put("bytes", addressHex));
+    responses.put("MPCWalletService.getAddress", new JSONObject().put("bytes", addressHex));
+
+    File file = new File(directory, "stress-backend.jsonl");
+    long latencyNanos = TimeUnit.MILLISECONDS.toNanos(backendLatencyMillis);
+    try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+      for (Map.Entry<String, JSONObject> entry : responses.entrySet()) {
+        for (int i = 1; i <= errorEvery; i++) {
+          JSONObject call = new JSONObject().put("method", entry.getKey()).put("latencyNanos", latencyNanos);
+          if (i == errorEvery) {
+            call.put("error", "injected failure");
+          } else {
+            call.put("result", entry.getValue());
+          }
+          writer.write(call.toString());
+          writer.write('\n');
+        }
+      }
+    }
+    return file;
+  }
+
+  private static String hex(String value) {
+    return ClientRecording.toHex(value.getBytes(StandardCharsets.UTF_8));
+  }
+}
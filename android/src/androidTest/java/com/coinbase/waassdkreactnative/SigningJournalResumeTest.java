@@ -0,0 +1,202 @@
+package com.coinbase.waassdkreactnative;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.coinbase.waassdk.ClientRecording;
+import com.coinbase.waassdk.ReplayKeyClient;
+import com.coinbase.waassdk.SigningJournal;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.PromiseImpl;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.soloader.SoLoader;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Resuming a signing from the signing journal, through the React Native MPCKeyService module.
+ *
+ * A signing is started and its computation recorded; a second module, backed by a fresh journal over the same
+ * directory, then stands in for the app after process death. The test asserts that it reports the signing as
+ * interrupted at the right stage, that createSignatureFromTx for the same transaction resumes the journaled
+ * operation instead of creating another, and that the entry is dropped once the signed transaction is obtained.
+ *
+ * Run from `android/` on a device or emulator:
+ *
+ *   ./gradlew connectedAndroidTest \
+ *     -Pandroid.testInstrumentationRunnerArguments.class=com.coinbase.waassdkreactnative.SigningJournalResumeTest
+ */
+@RunWith(AndroidJUnit4.class)
+public class SigningJournalResumeTest {
+  // How long to wait for a promise to settle.
+  private static final long settleTimeoutSeconds = 10;
+
+  private static final String parent = "pools/resume/deviceGroups/0/mpcKeys/0";
+  // The operation the backend creates first, and the one it would create for a second request.
+  private static final String firstOperation = "operations/first";
+  private static final String secondOperation = "operations/second";
+
+  private ReactApplicationContext reactContext;
+  private File journalDir;
+  private ClientRecording backend;
+  private final List<MPCKeyService> modules = new ArrayList<>();
+
+  @Before
+  public void setUp() throws Exception {
+    Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+    SoLoader.init(context, false);
+    reactContext = new ReactApplicationContext(context);
+
+    journalDir = new File(context.getCacheDir(), "signing-journal-resume-test");
+    new SigningJournal(journalDir).clear();
+    backend = ClientRecording.readFrom(writeBackend(context.getCacheDir()));
+  }
+
+  @After
+  public void tearDown() {
+    for (MPCKeyService module : modules) {
+      module.executor.shutdownNow();
+    }
+    new SigningJournal(journalDir).clear();
+  }
+
+  @Test
+  public void resumesFromJournalAfterRestart() throws Exception {
+    MPCKeyService before = newModule();
+    assertEquals(firstOperation, await(p -> before.createSignatureFromTx(parent, transaction(), p)));
+    await(p -> before.recordSignatureComputed(firstOperation, p));
+
+    // The app is killed and restarted: nothing survives but the journal on disk.
+    MPCKeyService after = newModule();
+
+    ReadableArray interrupted = (ReadableArray) await(after::getInterruptedSignings);
+    assertEquals(1, interrupted.size());
+    ReadableMap signing = interrupted.getMap(0);
+    assertEquals(parent, signing.getString("Parent"));
+    assertEquals(firstOperation, signing.getString("Operation"));
+    assertEquals("COMPUTED", signing.getString("Stage"));
+    assertTrue(signing.isNull("Signature"));
+    assertEquals("0x5", signing.getMap("Transaction").getString("ChainID"));
+
+    assertEquals(firstOperation, await(p -> after.createSignatureFromTx(parent, transaction(), p)));
+
+    ReadableMap signature = (ReadableMap) await(p -> after.waitPendingSignature(firstOperation, p));
+    assertEquals("SIGNED", ((ReadableArray) await(after::getInterruptedSignings)).getMap(0).getString("Stage"));
+
+    await(p -> after.getSignedTransaction(transaction(), copy(signature), p));
+    assertEquals(0, ((ReadableArray) await(after::getInterruptedSignings)).size());
+  }
+
+  private MPCKeyService newModule() {
+    MPCKeyService module = new MPCKeyService(reactContext);
+    module.keyClient = new com.coinbase.waassdk.MPCKeyService(new ReplayKeyClient(backend, 0), module.executor);
+    module.keyClient.setSigningJournal(new SigningJournal(journalDir));
+    modules.add(module);
+    return module;
+  }
+
+  private interface Invocation {
+    void invoke(PromiseImpl promise) throws Exception;
+  }
+
+  // Calls the module method, and returns what it resolved with; fails the test if it rejected.
+  private static Object await(Invocation invocation) throws Exception {
+    final CountDownLatch settled = new CountDownLatch(1);
+    final AtomicReference<Object> value = new AtomicReference<>();
+    final AtomicReference<String> error = new AtomicReference<>();
+    PromiseImpl promise = new PromiseImpl(new Callback() {
+      @Override
+      public void invoke(Object... args) {
+        value.set(args.length > 0 ? args[0] : null);
+        settled.countDown();
+      }
+    }, new Callback() {
+      @Override
+      public void invoke(Object... args) {
+        error.set(args.length > 0 ? String.valueOf(args[0]) : "rejected");
+        settled.countDown();
+      }
+    });
+
+    invocation.invoke(promise);
+    if (!settled.await(settleTimeoutSeconds, TimeUnit.SECONDS)) {
+      fail("promise did not settle within " + settleTimeoutSeconds + "s");
+    }
+    if (error.get() != null) {
+      fail("promise rejected: " + error.get());
+    }
+    return value.get();
+  }
+
+  private static WritableMap transaction() {
+    WritableMap tx = Arguments.createMap();
+    tx.putString("ChainID", "0x5");
+    tx.putInt("Nonce", 7);
+    tx.putString("MaxPriorityFeePerGas", "0x59682f00");
+    tx.putString("MaxFeePerGas", "0x59682f0e");
+    tx.putInt("Gas", 63000);
+    tx.putString("From", "0x0000000000000000000000000000000000000001");
+    tx.putString("To", "0xd8ee094fef6bf8b2a0e9cc3a16b2ce9d6a4c8f09");
+    tx.putString("Value", "0x2386f26fc10000");
+    tx.putString("Data", "");
+    return tx;
+  }
+
+  private static WritableMap copy(ReadableMap map) {
+    WritableMap copy = Arguments.createMap();
+    copy.merge(map);
+    return copy;
+  }
+
+  /**
+   * Writes a recording of a backend that creates firstOperation, then secondOperation, so that a signing
+   * that was not resumed shows up as a second operation.
+   */
+  private static File writeBackend(File directory) throws Exception {
+    List<JSONObject> calls = new ArrayList<>();
+    calls.add(call("MPCKeyService.createTxSignature", new JSONObject().put("data", firstOperation)));
+    calls.add(call("MPCKeyService.createTxSignature", new JSONObject().put("data", secondOperation)));
+    calls.add(call("MPCKeyService.waitPendingSignature", new JSONObject()
+      .put("name", parent + "/signatures/0").put("payload", "payload").put("signedPayload", "signed-payload")));
+    calls.add(call("MPCKeyService.getSignedTransaction", new JSONObject()
+      .put("rawTransaction", "0x02").put("transactionHash", "0xabc")));
+
+    File file = new File(directory, "resume-backend.jsonl");
+    try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+      for (JSONObject call : calls) {
+        writer.write(call.toString());
+        writer.write('\n');
+      }
+    }
+    return file;
+  }
+
+  private static JSONObject call(String method, JSONObject result) throws Exception {
+    return new JSONObject().put("method", method).put("latencyNanos", 0).put("result", result);
+  }
+}
@@ -0,0 +1,83 @@
+package com.coinbase.waassdkreactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects the per-item results of a batched bridge call, and resolves the
+ * react-native promise once with all of them.
+ *
+ * Each item resolves to either `{ ok: true, value }` or `{ ok: false, code, message }`,
+ * so a failing command does not reject the batch as a whole.
+ */
+class BatchPromise {
+  private final Promise promise;
+  private final WritableMap[] results;
+  private final AtomicInteger remaining;
+
+  BatchPromise(Promise promise, int size) {
+    this.promise = promise;
+    this.results = new WritableMap[size];
+    this.remaining = new AtomicInteger(size);
+    if (size == 0) {
+      promise.resolve(Arguments.createArray());
+    }
+  }
+
+  /**
+   * Records a successful result for the command at `index`.
+   */
+  void resolve(int index, Object value) {
+    WritableMap item = Arguments.createMap();
+    item.putBoolean("ok", true);
+    putValue(item, value);
+    complete(index, item);
+  }
+
+  /**
+   * Records a failed result for the command at `index`.
+   */
+  void reject(int index, String code, String message) {
+    WritableMap item = Arguments.createMap();
+    item.putBoolean("ok", false);
+    item.putString("code", code);
+    item.putString("message", message);
+    complete(index, item);
+  }
+
+  private void complete(int index, WritableMap item) {
+    results[index] = item;
+    if (remaining.decrementAndGet() == 0) {
+      WritableArray out = Arguments.createArray();
+      for (WritableMap result : results) {
+        out.pushMap(result);
+      }
+      promise.resolve(out);
+    }
+  }
+
+  private static void putValue(WritableMap item, Object value) {
+    if (value == null) {
+      item.putNull("value");
+    } else if (value instanceof WritableMap) {
+      item.putMap("value", (WritableMap) value);
+    } else if (value instanceof WritableArray) {
+      item.putArray("value", (WritableArray) value);
+    } else if (value instanceof Boolean) {
+      item.putBoolean("value", (Boolean) value);
+    } else if (value instanceof Integer) {
+      item.putInt("value", (Integer) value);
+    } else if (value instanceof Number) {
+      // JS numbers are doubles; longs beyond 2^53 lose precision, as they would in JS.
+      item.putDouble("value", ((Number) value).doubleValue());
+    } else if (value instanceof String) {
+      item.putString("value", (String) value);
+    } else {
+      item.putString("value", value.toString());
+    }
+  }
+}
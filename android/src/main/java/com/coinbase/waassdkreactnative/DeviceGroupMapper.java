@@ -0,0 +1,69 @@
+package com.coinbase.waassdkreactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+import com.waassdkinternal.v1.DeviceGroup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Converts DeviceGroups to the map MPCKeyService resolves with. Reading a field of a Go DeviceGroup crosses into
+ * Go, so each DeviceGroup is decoded once and the result kept for as long as the SDK hands back the same instance.
+ */
+final class DeviceGroupMapper implements CheckedFunction<DeviceGroup, Object> {
+
+  /**
+   * The fields of a DeviceGroup, read out of the Go object and decoded once.
+   */
+  private static final class DecodedDeviceGroup {
+    final DeviceGroup source;
+    final String name;
+    final String mpcKeyExportMetadata;
+    final String devices;
+
+    DecodedDeviceGroup(DeviceGroup deviceGroup) {
+      this.source = deviceGroup;
+      this.name = deviceGroup.getName();
+      this.mpcKeyExportMetadata = deviceGroup.getMPCKeyExportMetadata();
+      this.devices = new String(deviceGroup.getDevices(), StandardCharsets.UTF_8);
+    }
+  }
+
+  // Decoded DeviceGroups by name, tied to the DeviceGroup instance they were decoded from.
+  private final Map<String, DecodedDeviceGroup> decoded;
+
+  /**
+   * @param maxEntries The maximum number of decoded DeviceGroups to keep around for re-use.
+   */
+  DeviceGroupMapper(final int maxEntries) {
+    this.decoded = new LinkedHashMap<String, DecodedDeviceGroup>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, DecodedDeviceGroup> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  @Override
+  public WritableMap apply(DeviceGroup deviceGroup) {
+    DecodedDeviceGroup group;
+    synchronized (decoded) {
+      group = decoded.get(deviceGroup.getName());
+    }
+    // The SDK hands back the same DeviceGroup instance while it is cached, so only decode it once.
+    if (group == null || group.source != deviceGroup) {
+      group = new DecodedDeviceGroup(deviceGroup);
+      synchronized (decoded) {
+        decoded.put(group.name, group);
+      }
+    }
+
+    WritableMap map = Arguments.createMap();
+    map.putString("Name", group.name);
+    map.putString("MPCKeyExportMetadata", group.mpcKeyExportMetadata);
+    map.putString("Devices", group.devices);
+    return map;
+  }
+}
@@ -1,9 +1,14 @@
 package com.coinbase.waassdkreactnative;
 
+import static com.coinbase.waassdkreactnative.Utils.convertJsonToMap;
 import static com.coinbase.waassdkreactnative.Utils.convertMapToJson;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
+import com.coinbase.waassdk.SdkExecutors;
+import com.coinbase.waassdk.SerializedTransaction;
+import com.coinbase.waassdk.SigningJournal;
 import com.coinbase.waassdk.WaasException;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Promise;
@@ -11,6 +16,7 @@ import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.WritableNativeMap;
 import com.facebook.react.module.annotations.ReactModule;
@@ -20,12 +26,13 @@ import com.waassdkinternal.v1.SignedTransaction;
 
 import org.json.JSONObject;
 
-import java.nio.charset.StandardCharsets;
+import java.io.File;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * React Native wrapper for {@link com.coinbase.waassdk.MPCKeyService}
@@ -40,15 +47,40 @@ public class MPCKeyService extends ReactContextBaseJavaModule {
   private String uninitializedErr = "MPCKeyService must be initialized";
   public static final String NAME = "MPCKeyService";
 
+  // The directory, under the app's files dir, that the signing journal is kept in.
+  private static final String signingJournalDir = "waas";
+
   ExecutorService executor;
 
   // The handle to the Go MPCKeyService client.
   com.coinbase.waassdk.MPCKeyService keyClient;
   private static final int NUMBER_OF_CORES = Runtime.getRuntime().availableProcessors();
 
+  // The error code for getSignedTransactionFromHandle calls with an unknown or evicted handle.
+  private static final String unknownTransactionHandleErr = "E_UNKNOWN_TRANSACTION_HANDLE";
+
+  // The maximum number of serialized transactions to keep for in-flight signings.
+  private static final int MAX_TRANSACTION_HANDLES = 64;
+
+  // Serialized transactions by handle, from createSignatureFromTxWithHandle until the signed transaction is obtained.
+  private final Map<String, SerializedTransaction> transactionHandles =
+    new LinkedHashMap<String, SerializedTransaction>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, SerializedTransaction> eldest) {
+        return size() > MAX_TRANSACTION_HANDLES;
+      }
+    };
+  private final AtomicLong nextTransactionHandle = new AtomicLong();
+
+  // The maximum number of decoded DeviceGroups to keep around for re-use.
+  private static final int MAX_DECODED_DEVICE_GROUPS = 64;
+
+  // Converts DeviceGroup results, decoding each DeviceGroup once.
+  private final DeviceGroupMapper deviceGroupMapper = new DeviceGroupMapper(MAX_DECODED_DEVICE_GROUPS);
+
   MPCKeyService(ReactApplicationContext reactContext) {
     super(reactContext);
-    this.executor = Executors.newFixedThreadPool(NUMBER_OF_CORES);
+    this.executor = SdkExecutors.newFixedThreadPool("MPCKeyService", NUMBER_OF_CORES);
   }
 
   @Override
@@ -67,7 +99,7 @@ public class MPCKeyService extends ReactContextBaseJavaModule {
 
   /**
    * Initializes the MPCKeyService  with the given parameters.
-   * Resolves on success; rejects with an error otherwise.
+   * The Go client is created on the executor; resolves once it is ready; rejects with an error otherwise.
    */
   @ReactMethod
   public void initialize(String apiKeyName, String privateKey, Promise promise) {
@@ -78,12 +110,39 @@ public class MPCKeyService extends ReactContextBaseJavaModule {
 
     try {
       keyClient = new com.coinbase.waassdk.MPCKeyService(apiKeyName, privateKey, this.executor);
-      promise.resolve(null);
+      keyClient.setSigningJournal(new SigningJournal(new File(getReactApplicationContext().getFilesDir(), signingJournalDir)));
+      WaasPromise.resolve(keyClient.createClient(), promise, executor);
     } catch (Exception e) {
       promise.reject(new WaasException("initialize MPC key service failed : ", e.getMessage()));
     }
   }
 
+  /**
+   * Opens a connection to the MPCKeyService ahead of the first real call. Resolves once done, whether or not the
+   * warm-up request succeeded; rejects if the service is not initialized or cannot be created.
+   */
+  @ReactMethod
+  public void warmUp(Promise promise) {
+    if (failIfUninitialized(promise)) {
+      return;
+    }
+
+    WaasPromise.resolve(keyClient.warmUp(), promise, executor);
+  }
+
+  /**
+   * Sets the DeviceGroup warmUp reads, so the read succeeds; null goes back to a placeholder. Resolves once set.
+   */
+  @ReactMethod
+  public void setWarmUpDeviceGroup(@Nullable String deviceGroup, Promise promise) {
+    if (failIfUninitialized(promise)) {
+      return;
+    }
+
+    keyClient.setWarmUpDeviceGroup(deviceGroup);
+    promise.resolve(null);
+  }
+
   /**
    * Registers the current Device. Resolves with the Device object on success; rejects with an error otherwise.
    */
@@ -111,7 +170,7 @@ public class MPCKeyService extends ReactContextBaseJavaModule {
     if (failIfUninitialized(promise)) {
       return;
     }
-    WaasPromise.resolveMap(keyClient.pollForPendingDeviceGroup(deviceGroup, pollInterval), promise, Utils::convertJsonToArray, this.executor);
+    WaasPromise.resolveMap(keyClient.pollForPendingDeviceGroup(deviceGroup, pollInterval), promise, Utils.jsonToArray("MPCKeyService.pollForPendingDeviceGroup"), this.executor);
   }
 
   /**
@@ -138,13 +197,57 @@ public class MPCKeyService extends ReactContextBaseJavaModule {
       return;
     }
     try {
-      JSONObject serializedTx = convertMapToJson(transaction);
+      JSONObject serializedTx = convertMapToJson("MPCKeyService.createSignatureFromTx", transaction);
       WaasPromise.resolveMap(keyClient.createSignatureFromTx(parent, serializedTx), promise, null, this.executor);
     } catch (Exception e) {
       promise.reject("createSignatureFromTx failed : ", e);
     }
   }
 
+  /**
+   * Sets how long, in milliseconds, a createSignatureFromTx call is remembered once it completes, so that a call
+   * for the same parent and transaction joins it instead of creating another operation. A window of 0 disables
+   * deduplication. Resolves once set.
+   */
+  @ReactMethod
+  public void setSignatureDedupWindow(double windowMillis, Promise promise) {
+    if (failIfUninitialized(promise)) {
+      return;
+    }
+
+    keyClient.setSignatureDedupWindow((long) windowMillis);
+    promise.resolve(null);
+  }
+
+  /**
+   * Initiates an operation to create a Signature resource from the given transaction, keeping the serialized
+   * transaction on the native side for a later getSignedTransactionFromHandle call.
+   * Resolves with a map of the operation name ("Operation") and the transaction handle ("TransactionHandle") on
+   * successful initiation; rejects with an error otherwise.
+   */
+  @ReactMethod
+  public void createSignatureFromTxWithHandle(String parent, ReadableMap transaction, Promise promise) {
+    if (failIfUninitialized(promise)) {
+      return;
+    }
+    try {
+      SerializedTransaction serializedTx = SerializedTransaction.fromJSON(convertMapToJson("MPCKeyService.createSignatureFromTxWithHandle", transaction));
+      WaasPromise.resolveMap(keyClient.createSignatureFromTx(parent, serializedTx), promise, (String operation) -> {
+        // Registered only once the operation exists, so failed calls never take up a slot.
+        String handle = Long.toString(nextTransactionHandle.incrementAndGet());
+        synchronized (transactionHandles) {
+          transactionHandles.put(handle, serializedTx);
+        }
+        WritableMap map = Arguments.createMap();
+        map.putString("Operation", operation);
+        map.putString("TransactionHandle", handle);
+        return map;
+      }, this.executor);
+    } catch (Exception e) {
+      promise.reject("createSignatureFromTx failed : ", e);
+    }
+  }
+
   /**
    * Polls for pending Signatures (i.e. CreateSignatureOperations), and returns the first set that materializes.
    * Only one DeviceGroup can be polled at a time; thus, this function must return (by calling either
@@ -156,7 +259,7 @@ public class MPCKeyService extends ReactContextBaseJavaModule {
     if (failIfUninitialized(promise)) {
       return;
     }
-    WaasPromise.resolveMap(keyClient.pollForPendingSignatures(deviceGroup, pollInterval), promise, Utils::convertJsonToArray, this.executor);
+    WaasPromise.resolveMap(keyClient.pollForPendingSignatures(deviceGroup, pollInterval), promise, Utils.jsonToArray("MPCKeyService.pollForPendingSignatures"), this.executor);
   }
 
   /**
@@ -183,13 +286,65 @@ public class MPCKeyService extends ReactContextBaseJavaModule {
       return;
     }
 
-    WaasPromise.resolveMap(keyClient.waitPendingSignature(operation), promise, (Signature signature) -> {
-      WritableMap map = Arguments.createMap();
-      map.putString("Name", signature.getName());
-      map.putString("Payload", signature.getPayload());
-      map.putString("SignedPayload", signature.getSignedPayload());
-      return map;
-    }, this.executor);
+    WaasPromise.resolveMap(keyClient.waitPendingSignature(operation), promise, MPCKeyService::toJsSignature, this.executor);
+  }
+
+  /**
+   * Records in the signing journal that the Device computed its part of the given CreateSignature operation.
+   * Call this after computeMPCOperation succeeds for a pending Signature. Resolves on success; rejects with an
+   * error otherwise.
+   */
+  @ReactMethod
+  public void recordSignatureComputed(String operation, Promise promise) {
+    if (failIfUninitialized(promise)) {
+      return;
+    }
+
+    keyClient.recordSignatureComputed(operation);
+    promise.resolve(null);
+  }
+
+  /**
+   * Gets the signings interrupted before their signed transaction was obtained, e.g. by the app being killed, so
+   * they can be resumed. Resolves with a list of maps of the parent Key ("Parent"), the transaction
+   * ("Transaction"), the operation ("Operation"), the last completed stage ("Stage": "CREATED", "COMPUTED" or
+   * "SIGNED"), the Signature once signed ("Signature", null before) and when the signing started, in milliseconds
+   * since the epoch ("CreatedAt"); rejects with an error otherwise.
+   */
+  @ReactMethod
+  public void getInterruptedSignings(Promise promise) {
+    if (failIfUninitialized(promise)) {
+      return;
+    }
+
+    try {
+      WritableArray signings = Arguments.createArray();
+      for (SigningJournal.Entry entry : keyClient.getInterruptedSignings()) {
+        WritableMap map = Arguments.createMap();
+        map.putString("Parent", entry.parent);
+        map.putMap("Transaction", convertJsonToMap(new JSONObject(entry.transaction)));
+        map.putString("Operation", entry.operation);
+        map.putString("Stage", entry.stage.name());
+        if (entry.signature != null) {
+          map.putMap("Signature", toJsSignature(entry.signature));
+        } else {
+          map.putNull("Signature");
+        }
+        map.putDouble("CreatedAt", entry.createdAtMillis);
+        signings.pushMap(map);
+      }
+      promise.resolve(signings);
+    } catch (Exception e) {
+      promise.reject("getInterruptedSignings failed : ", e);
+    }
+  }
+
+  private static WritableMap toJsSignature(Signature signature) {
+    WritableMap map = Arguments.createMap();
+    map.putString("Name", signature.getName());
+    map.putString("Payload", signature.getPayload());
+    map.putString("SignedPayload", signature.getSignedPayload());
+    return map;
   }
 
   /**
@@ -202,17 +357,43 @@ public class MPCKeyService extends ReactContextBaseJavaModule {
       return;
     }
     try {
-      Signature goSignature = new Signature();
-      goSignature.setName(signature.getString("Name"));
-      goSignature.setPayload(signature.getString("Payload"));
-      goSignature.setSignedPayload(signature.getString("SignedPayload"));
+      Signature goSignature = toGoSignature(signature);
+
+      JSONObject serializedTx = convertMapToJson("MPCKeyService.getSignedTransaction", transaction);
+
+      WaasPromise.resolveMap(keyClient.getSignedTransaction(serializedTx, goSignature), promise,
+        (SignedTransaction tx) -> Utils.mapSignedTransaction(transaction, signature, tx), this.executor);
+    } catch (Exception e) {
+      promise.reject("getSignedTransaction failed : ", e);
+    }
+  }
 
-      JSONObject serializedTx = convertMapToJson(transaction);
+  /**
+   * Gets the signed transaction for a transaction serialized by createSignatureFromTxWithHandle. The handle is
+   * released once the signed transaction is obtained.
+   * Resolves with a map of "RawTransaction" and "TransactionHash" on success; rejects with an error otherwise.
+   */
+  @ReactMethod
+  public void getSignedTransactionFromHandle(String handle, ReadableMap signature, Promise promise) {
+    if (failIfUninitialized(promise)) {
+      return;
+    }
+
+    SerializedTransaction serializedTx;
+    synchronized (transactionHandles) {
+      serializedTx = transactionHandles.get(handle);
+    }
+    if (serializedTx == null) {
+      promise.reject(unknownTransactionHandleErr, "unknown transaction handle " + handle);
+      return;
+    }
 
-      WaasPromise.resolveMap(keyClient.getSignedTransaction(serializedTx, goSignature), promise, (SignedTransaction tx) -> {
+    try {
+      WaasPromise.resolveMap(keyClient.getSignedTransaction(serializedTx, toGoSignature(signature)), promise, (SignedTransaction tx) -> {
+        synchronized (transactionHandles) {
+          transactionHandles.remove(handle);
+        }
         WritableMap map = Arguments.createMap();
-        map.putMap("Transaction", transaction);
-        map.putMap("Signature", signature);
         map.putString("RawTransaction", tx.getRawTransaction());
         map.putString("TransactionHash", tx.getTransactionHash());
         return map;
@@ -222,6 +403,14 @@ public class MPCKeyService extends ReactContextBaseJavaModule {
     }
   }
 
+  private static Signature toGoSignature(ReadableMap signature) {
+    Signature goSignature = new Signature();
+    goSignature.setName(signature.getString("Name"));
+    goSignature.setPayload(signature.getString("Payload"));
+    goSignature.setSignedPayload(signature.getString("SignedPayload"));
+    return goSignature;
+  }
+
   /**
    * Gets a DeviceGroup with the given name. Resolves with the DeviceGroup object on success; rejects with an error otherwise.
    */
@@ -231,16 +420,59 @@ public class MPCKeyService extends ReactContextBaseJavaModule {
       return;
     }
 
-    WaasPromise.resolveMap(keyClient.getDeviceGroup(name), promise, (deviceGroup) -> {
-      byte[] devicesData = deviceGroup.getDevices();
-      String devicesDataBytesToStrings = new String(devicesData, StandardCharsets.UTF_8);
+    WaasPromise.resolveMap(keyClient.getDeviceGroup(name), promise, deviceGroupMapper, this.executor);
+  }
 
-      WritableMap map = Arguments.createMap();
-      map.putString("Name", deviceGroup.getName());
-      map.putString("MPCKeyExportMetadata", deviceGroup.getMPCKeyExportMetadata());
-      map.putString("Devices", devicesDataBytesToStrings);
-      return map;
-    }, this.executor);
+  /**
+   * Configures the DeviceGroup cache used by getDeviceGroup, discarding any cached entries. A `maxEntries` of 0
+   * disables caching; a `ttlMillis` of 0 keeps entries until they are evicted or invalidated. Resolves once set.
+   */
+  @ReactMethod
+  public void configureDeviceGroupCache(int maxEntries, double ttlMillis, Promise promise) {
+    if (failIfUninitialized(promise)) {
+      return;
+    }
+
+    keyClient.configureDeviceGroupCache(maxEntries, (long) ttlMillis);
+    promise.resolve(null);
+  }
+
+  /**
+   * Drops the cached DeviceGroup with the given name, so the next getDeviceGroup call goes to the server.
+   * Resolves once dropped.
+   */
+  @ReactMethod
+  public void invalidateDeviceGroup(String name, Promise promise) {
+    if (failIfUninitialized(promise)) {
+      return;
+    }
+
+    keyClient.invalidateDeviceGroup(name);
+    promise.resolve(null);
+  }
+
+  /**
+   * Drops all cached DeviceGroups. Resolves once dropped.
+   */
+  @ReactMethod
+  public void invalidateDeviceGroups(Promise promise) {
+    if (failIfUninitialized(promise)) {
+      return;
+    }
+
+    keyClient.invalidateDeviceGroups();
+    promise.resolve(null);
+  }
+
+  /**
+   * Queues a getDeviceGroup call as one item of a batched bridge call.
+   */
+  void batchGetDeviceGroup(String name, BatchPromise batch, int index) {
+    if (keyClient == null) {
+      batch.reject(index, mpcKeyServiceErr, uninitializedErr);
+      return;
+    }
+    WaasPromise.resolveInto(keyClient.getDeviceGroup(name), batch, index, deviceGroupMapper, this.executor);
   }
 
   /**
@@ -266,7 +498,7 @@ public class MPCKeyService extends ReactContextBaseJavaModule {
     if (failIfUninitialized(promise)) {
       return;
     }
-    WaasPromise.resolveMap(keyClient.pollForPendingDeviceArchives(deviceGroup, pollInterval), promise, Utils::convertJsonToArray, this.executor);
+    WaasPromise.resolveMap(keyClient.pollForPendingDeviceArchives(deviceGroup, pollInterval), promise, Utils.jsonToArray("MPCKeyService.pollForPendingDeviceArchives"), this.executor);
   }
 
   /**
@@ -294,7 +526,7 @@ public class MPCKeyService extends ReactContextBaseJavaModule {
     if (failIfUninitialized(promise)) {
       return;
     }
-    WaasPromise.resolveMap(keyClient.pollForPendingDeviceBackups(deviceGroup, pollInterval), promise, Utils::convertJsonToArray, this.executor);
+    WaasPromise.resolveMap(keyClient.pollForPendingDeviceBackups(deviceGroup, pollInterval), promise, Utils.jsonToArray("MPCKeyService.pollForPendingDeviceBackups"), this.executor);
   }
 
   /**
@@ -347,7 +579,7 @@ public class MPCKeyService extends ReactContextBaseJavaModule {
     if (failIfUninitialized(promise)) {
       return;
     }
-    WaasPromise.resolveMap(keyClient.pollForPendingDevices(deviceGroup, pollInterval), promise, Utils::convertJsonToArray, this.executor);
+    WaasPromise.resolveMap(keyClient.pollForPendingDevices(deviceGroup, pollInterval), promise, Utils.jsonToArray("MPCKeyService.pollForPendingDevices"), this.executor);
   }
 
   /**
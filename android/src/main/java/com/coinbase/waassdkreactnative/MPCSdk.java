@@ -2,6 +2,7 @@ package com.coinbase.waassdkreactnative;
 
 import androidx.annotation.NonNull;
 
+import com.coinbase.waassdk.SdkExecutors;
 import com.coinbase.waassdk.WaasException;
 import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
@@ -10,7 +11,6 @@ import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.module.annotations.ReactModule;
 
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * React-native wrapper for {@link com.coinbase.waassdk.MPCSdk}
@@ -29,7 +29,7 @@ public class MPCSdk extends ReactContextBaseJavaModule {
 
   MPCSdk(ReactApplicationContext reactContext) {
     super(reactContext);
-    this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    this.executor = SdkExecutors.newFixedThreadPool("MPCSdk", Runtime.getRuntime().availableProcessors());
   }
 
   @Override
@@ -50,7 +50,7 @@ public class MPCSdk extends ReactContextBaseJavaModule {
 
   /**
    * Initializes the MPCSdk  with the given parameters.
-   * Resolves with the string "success" on success; rejects with an error otherwise.
+   * The Go MPCSdk is created on the executor; resolves once it is ready; rejects with an error otherwise.
    */
   @ReactMethod
   public void initialize(Boolean isSimulator, Promise promise) {
@@ -60,13 +60,26 @@ public class MPCSdk extends ReactContextBaseJavaModule {
     }
 
     try {
-      sdk = new com.coinbase.waassdk.MPCSdk(WaasSdkReactNativeModule.context, isSimulator, this.executor);
-      promise.resolve(true);
+      sdk = new com.coinbase.waassdk.MPCSdk(getReactApplicationContext().getApplicationContext(), isSimulator, this.executor);
+      sdk.addDeviceGroupChangeListener(this::invalidateDeviceGroups);
+      WaasPromise.resolveMap(sdk.createClient(), promise, created -> true, executor);
     } catch (Exception e) {
       promise.reject("initialize MPCSdk service failed : ", e);
     }
   }
 
+  // Drops the DeviceGroups cached by the MPCKeyService module, if it has been created and initialized.
+  private void invalidateDeviceGroups() {
+    ReactApplicationContext context = getReactApplicationContext();
+    if (!context.hasNativeModule(MPCKeyService.class)) {
+      return;
+    }
+    com.coinbase.waassdk.MPCKeyService keys = context.getNativeModule(MPCKeyService.class).keyClient;
+    if (keys != null) {
+      keys.invalidateDeviceGroups();
+    }
+  }
+
   /**
    * BootstrapDevice initializes the Device with the given passcode. The passcode is used to generate a private/public
    * key pair that encodes the back-up material for WaaS keys created on this Device. This function should be called
@@ -132,7 +145,7 @@ public class MPCSdk extends ReactContextBaseJavaModule {
       return;
     }
 
-    WaasPromise.resolveMap(sdk.exportPrivateKeys(mpcKeyExportMetadata, passcode), promise, Utils::convertJsonToArray, executor);
+    WaasPromise.resolveMap(sdk.exportPrivateKeys(mpcKeyExportMetadata, passcode), promise, Utils.jsonToArray("MPCSdk.exportPrivateKeys"), executor);
   }
 
 
@@ -1,10 +1,11 @@
 package com.coinbase.waassdkreactnative;
 
 
-import static com.coinbase.waassdkreactnative.Utils.convertJsonToMap;
-
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
+import com.coinbase.waassdk.AddressCache;
+import com.coinbase.waassdk.SdkExecutors;
 import com.coinbase.waassdk.WaasException;
 import com.coinbase.waassdk.WaasNetwork;
 import com.facebook.react.bridge.Arguments;
@@ -12,11 +13,14 @@ import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.module.annotations.ReactModule;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * React-native wrapper for {@link com.coinbase.waassdk.MPCWalletService}
@@ -30,12 +34,14 @@ public class MPCWalletService extends ReactContextBaseJavaModule {
   private final String walletsErr = "E_MPC_WALLET_SERVICE";
   // The error message for calls made without initializing SDK.
   private final String uninitializedErr = "MPCWalletService must be initialized";
+  // The directory, under the app's files dir, that Addresses are cached in.
+  private static final String addressCacheDir = "waas";
 
   ExecutorService executor;
 
   MPCWalletService(ReactApplicationContext reactContext) {
     super(reactContext);
-    executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    executor = SdkExecutors.newFixedThreadPool("MPCWalletService", Runtime.getRuntime().availableProcessors());
   }
 
   @Override
@@ -54,24 +60,75 @@ public class MPCWalletService extends ReactContextBaseJavaModule {
   }
 
   /**
-   * Initializes the MPCWalletService with the given Cloud API Key parameters. Resolves
-   * on success; rejects with an error otherwise.
+   * Initializes the MPCWalletService with the given Cloud API Key parameters or proxy URL. Addresses are cached
+   * on disk per API key, or per proxy URL in proxy mode; see setAddressCacheScope to narrow the scope. The Go
+   * client is created on the executor; resolves once it is ready; rejects with an error otherwise.
    */
   @ReactMethod
-  public void initialize(String apiKeyName, String privateKey, Promise promise) {
+  public void initialize(String apiKeyName, String privateKey, String proxyUrl, Promise promise) {
     if (walletsClient != null) {
       promise.resolve(true);
       return;
     }
 
     try {
-      walletsClient = new com.coinbase.waassdk.MPCWalletService(apiKeyName, privateKey, executor);
-      promise.resolve(null);
+      walletsClient = new com.coinbase.waassdk.MPCWalletService(apiKeyName, privateKey, proxyUrl, executor);
+      // The Addresses belong to the account of the Cloud API Key, or to whatever the proxy signs in as.
+      String scope = !apiKeyName.isEmpty() ? apiKeyName : proxyUrl;
+      if (scope != null && !scope.isEmpty()) {
+        walletsClient.setAddressCache(newAddressCache(scope));
+      }
+      WaasPromise.resolve(walletsClient.createClient(), promise, executor);
     } catch (Exception e) {
       promise.reject("initialize MPC wallet service failed : ", e);
     }
   }
 
+  /**
+   * Caches the Addresses fetched from now on on disk, separately from those of any other scope, e.g. per user
+   * behind a proxy. Replaces the cache of the previous scope, if any. Resolves on success; rejects if the service
+   * is not initialized.
+   */
+  @ReactMethod
+  public void setAddressCacheScope(String scope, Promise promise) {
+    if (failIfUninitialized(promise)) {
+      return;
+    }
+
+    walletsClient.setAddressCache(newAddressCache(scope));
+    promise.resolve(null);
+  }
+
+  private AddressCache newAddressCache(String scope) {
+    return new AddressCache(new File(getReactApplicationContext().getFilesDir(), addressCacheDir), scope);
+  }
+
+  /**
+   * Opens a connection to the MPCWalletService ahead of the first real call. Resolves once done, whether or not the
+   * warm-up request succeeded; rejects if the service is not initialized or cannot be created.
+   */
+  @ReactMethod
+  public void warmUp(Promise promise) {
+    if (failIfUninitialized(promise)) {
+      return;
+    }
+
+    WaasPromise.resolve(walletsClient.warmUp(), promise, executor);
+  }
+
+  /**
+   * Sets the Address warmUp reads, so the read succeeds; null goes back to a placeholder. Resolves once set.
+   */
+  @ReactMethod
+  public void setWarmUpAddress(@Nullable String address, Promise promise) {
+    if (failIfUninitialized(promise)) {
+      return;
+    }
+
+    walletsClient.setWarmUpAddress(address);
+    promise.resolve(null);
+  }
+
   /**
    * Creates an MPCWallet with the given parameters.  Resolves with the response on success; rejects with an error
    * otherwise.
@@ -101,12 +158,7 @@ public class MPCWalletService extends ReactContextBaseJavaModule {
       return;
     }
 
-    WaasPromise.resolveMap(walletsClient.waitPendingMPCWallet(operation), promise, (wallet) -> {
-      WritableMap map = Arguments.createMap();
-      map.putString("Name", wallet.getName());
-      map.putString("DeviceGroup", wallet.getDeviceGroup());
-      return map;
-    }, executor);
+    WaasPromise.resolveMap(walletsClient.waitPendingMPCWallet(operation), promise, Utils::mapMPCWallet, executor);
   }
 
   /**
@@ -120,9 +172,29 @@ public class MPCWalletService extends ReactContextBaseJavaModule {
       return;
     }
 
-    WaasPromise.resolveMap(walletsClient.generateAddress(mpcWallet, WaasNetwork.fromNetworkString(network)), promise, (address) ->
-        convertJsonToMap(address.toJSON())
-      , executor);
+    WaasNetwork waasNetwork;
+    try {
+      waasNetwork = WaasNetwork.parse(network);
+    } catch (WaasException e) {
+      promise.reject(e.getErrorType(), e.getMessage());
+      return;
+    }
+
+    WaasPromise.resolveMap(walletsClient.generateAddress(mpcWallet, waasNetwork), promise, Utils.mapAddress("MPCWalletService.generateAddress"), executor);
+  }
+
+  /**
+   * Sets the networks that generateAddress validates network names against, for the given time-to-live
+   * in milliseconds. Resolves once the list is set.
+   */
+  @ReactMethod
+  public void setKnownNetworks(ReadableArray networks, double ttlMillis, Promise promise) {
+    List<String> networkStrings = new ArrayList<>(networks.size());
+    for (int i = 0; i < networks.size(); i++) {
+      networkStrings.add(networks.getString(i));
+    }
+    WaasNetwork.setKnownNetworks(networkStrings, (long) ttlMillis);
+    promise.resolve(null);
   }
 
   /**
@@ -134,9 +206,29 @@ public class MPCWalletService extends ReactContextBaseJavaModule {
       return;
     }
 
-    WaasPromise.resolveMap(walletsClient.getAddress(name), promise, (address) ->
-        convertJsonToMap(address.toJSON())
-      , executor);
+    WaasPromise.resolveMap(walletsClient.getAddress(name), promise, Utils.mapAddress("MPCWalletService.getAddress"), executor);
+  }
+
+  /**
+   * Queues a getAddress call as one item of a batched bridge call.
+   */
+  void batchGetAddress(String name, BatchPromise batch, int index) {
+    if (walletsClient == null) {
+      batch.reject(index, walletsErr, uninitializedErr);
+      return;
+    }
+    WaasPromise.resolveInto(walletsClient.getAddress(name), batch, index, Utils.mapAddress("MPCWalletService.batchGetAddress"), executor);
+  }
+
+  /**
+   * Queues a waitPendingMPCWallet call as one item of a batched bridge call.
+   */
+  void batchWaitPendingMPCWallet(String operation, BatchPromise batch, int index) {
+    if (walletsClient == null) {
+      batch.reject(index, walletsErr, uninitializedErr);
+      return;
+    }
+    WaasPromise.resolveInto(walletsClient.waitPendingMPCWallet(operation), batch, index, Utils::mapMPCWallet, executor);
   }
 }
 
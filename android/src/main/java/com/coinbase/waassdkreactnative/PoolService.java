@@ -2,6 +2,7 @@ package com.coinbase.waassdkreactnative;
 
 import androidx.annotation.NonNull;
 
+import com.coinbase.waassdk.SdkExecutors;
 import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
@@ -12,7 +13,6 @@ import com.facebook.react.module.annotations.ReactModule;
 import com.waassdkinternal.v1.Pool;
 
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * React-native wrapper for {@link com.coinbase.waassdk.PoolService}
@@ -31,7 +31,7 @@ public class PoolService extends ReactContextBaseJavaModule {
 
   PoolService(ReactApplicationContext reactContext) {
     super(reactContext);
-    this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    this.executor = SdkExecutors.newFixedThreadPool("PoolService", Runtime.getRuntime().availableProcessors());
   }
 
   @Override
@@ -41,8 +41,8 @@ public class PoolService extends ReactContextBaseJavaModule {
   }
 
   /**
-   * Initializes the PoolService with the given Cloud API Key parameters. Resolves on success;
-   * rejects with an error otherwise.
+   * Initializes the PoolService with the given Cloud API Key parameters. The Go client is created on the
+   * executor; resolves once it is ready; rejects with an error otherwise.
    */
   @ReactMethod
   public void initialize(String apiKeyName, String privateKey, Promise promise) {
@@ -53,7 +53,7 @@ public class PoolService extends ReactContextBaseJavaModule {
 
     try {
       poolClient = new com.coinbase.waassdk.PoolService(apiKeyName, privateKey, executor);
-      promise.resolve(null);
+      WaasPromise.resolve(poolClient.createClient(), promise, executor);
     } catch (Exception e) {
       promise.reject("initialize pool failed : ", e);
     }
@@ -1,5 +1,8 @@
 package com.coinbase.waassdkreactnative;
 
+import com.coinbase.waassdk.Address;
+import com.coinbase.waassdk.SdkMetrics;
+import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.ReadableMapKeySetIterator;
@@ -7,6 +10,8 @@ import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.WritableNativeArray;
 import com.facebook.react.bridge.WritableNativeMap;
+import com.waassdkinternal.v1.MPCWallet;
+import com.waassdkinternal.v1.SignedTransaction;
 
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -18,22 +23,108 @@ import java.util.Map;
 /**
  * Utility functions for converting Java types to React-native JS
  * types.
+ *
+ * The conversions can optionally account for their cost: when enabled with {@link #setAccountingEnabled},
+ * conversions made on behalf of a bridge method (the overloads taking a `method`) are recorded in
+ * {@link SdkMetrics} as "Bridge.<method>", with the conversion time as latency and "elements" and
+ * "bytes" counters. Bytes estimate the payload size: the UTF-8 length of each string and key, eight per
+ * number and one per boolean.
  */
 public class Utils {
 
+  // The running totals of one conversion; `none` for conversions that are not accounted.
+  private static final class Cost {
+    static final Cost none = new Cost(false);
+
+    private final boolean enabled;
+    long elements;
+    long bytes;
+
+    Cost(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    // Accounts for a string value.
+    void add(String value) {
+      if (enabled) {
+        elements++;
+        bytes += utf8Length(value);
+      }
+    }
+
+    // Accounts for a fixed-size value.
+    void add(int bytes) {
+      if (enabled) {
+        elements++;
+        this.bytes += bytes;
+      }
+    }
+
+    // Accounts for a null, or a nested object or array, whose contents are accounted on their own.
+    void addElement() {
+      if (enabled) {
+        elements++;
+      }
+    }
+
+    // Accounts for the key of a map entry, which is not an element of its own.
+    void addKey(String key) {
+      if (enabled) {
+        bytes += utf8Length(key);
+      }
+    }
+  }
+
+  private static volatile boolean accountingEnabled;
+
+  /**
+   * Enables or disables accounting of bridge serialization costs. Accounting is off by default.
+   */
+  public static void setAccountingEnabled(boolean enabled) {
+    accountingEnabled = enabled;
+  }
+
+  /**
+   * Returns a mapper converting a JSONArray result of `method` to a WritableArray,
+   * accounting for its cost if enabled.
+   *
+   * @param method The bridge method the conversion is made for, e.g. "MPCKeyService.pollForPendingDevices".
+   */
+  static CheckedFunction<JSONArray, Object> jsonToArray(String method) {
+    return jsonArray -> convertJsonToArray(method, jsonArray);
+  }
+
   /**
    * Convert json to WritableArray.
    * Used when we need to return an array of objects to the RN app.
    */
   public static WritableArray convertJsonToArray(JSONArray jsonArray) throws JSONException {
+    return convertJsonToArray(jsonArray, Cost.none);
+  }
+
+  /**
+   * Convert json to WritableArray on behalf of the bridge method `method`, accounting for its cost if enabled.
+   */
+  public static WritableArray convertJsonToArray(String method, JSONArray jsonArray) throws JSONException {
+    if (!accountingEnabled) {
+      return convertJsonToArray(jsonArray, Cost.none);
+    }
+    Cost cost = new Cost(true);
+    long startedAt = System.nanoTime();
+    WritableArray array = convertJsonToArray(jsonArray, cost);
+    record(method, startedAt, cost);
+    return array;
+  }
+
+  private static WritableArray convertJsonToArray(JSONArray jsonArray, Cost cost) throws JSONException {
     WritableArray array = new WritableNativeArray();
 
     for (int i = 0; i < jsonArray.length(); i++) {
       Object value = jsonArray.get(i);
       if (value instanceof JSONObject) {
-        array.pushMap(convertJsonToMap((JSONObject) value));
+        array.pushMap(convertJsonToMap((JSONObject) value, cost));
       } else if (value instanceof JSONArray) {
-        array.pushArray(convertJsonToArray((JSONArray) value));
+        array.pushArray(convertJsonToArray((JSONArray) value, cost));
       } else if (value instanceof Boolean) {
         array.pushBoolean((Boolean) value);
       } else if (value instanceof Integer) {
@@ -45,10 +136,44 @@ public class Utils {
       } else {
         array.pushString(value.toString());
       }
+      addScalar(cost, value);
     }
     return array;
   }
 
+  /**
+   * Returns a mapper converting an Address result of `method` to the map MPCWalletService resolves with,
+   * accounting for its cost if enabled.
+   *
+   * @param method The bridge method the conversion is made for, e.g. "MPCWalletService.getAddress".
+   */
+  static CheckedFunction<Address, Object> mapAddress(String method) {
+    return address -> convertJsonToMap(method, address.toJSON());
+  }
+
+  /**
+   * Converts an MPCWallet to the map MPCWalletService resolves with.
+   */
+  static WritableMap mapMPCWallet(MPCWallet wallet) {
+    WritableMap map = Arguments.createMap();
+    map.putString("Name", wallet.getName());
+    map.putString("DeviceGroup", wallet.getDeviceGroup());
+    return map;
+  }
+
+  /**
+   * Converts a SignedTransaction to the map MPCKeyService.getSignedTransaction resolves with, alongside the
+   * transaction and Signature it was signed from.
+   */
+  static WritableMap mapSignedTransaction(ReadableMap transaction, ReadableMap signature, SignedTransaction tx) {
+    WritableMap map = Arguments.createMap();
+    map.putMap("Transaction", transaction);
+    map.putMap("Signature", signature);
+    map.putString("RawTransaction", tx.getRawTransaction());
+    map.putString("TransactionHash", tx.getTransactionHash());
+    return map;
+  }
+
   public static WritableMap convertMapToJsMap(Map<String, String> map) {
     WritableMap outMap = new WritableNativeMap();
 
@@ -60,6 +185,24 @@ public class Utils {
   }
 
   public static WritableMap convertJsonToMap(JSONObject jsonObject) throws JSONException {
+    return convertJsonToMap(jsonObject, Cost.none);
+  }
+
+  /**
+   * Convert json to WritableMap on behalf of the bridge method `method`, accounting for its cost if enabled.
+   */
+  public static WritableMap convertJsonToMap(String method, JSONObject jsonObject) throws JSONException {
+    if (!accountingEnabled) {
+      return convertJsonToMap(jsonObject, Cost.none);
+    }
+    Cost cost = new Cost(true);
+    long startedAt = System.nanoTime();
+    WritableMap map = convertJsonToMap(jsonObject, cost);
+    record(method, startedAt, cost);
+    return map;
+  }
+
+  private static WritableMap convertJsonToMap(JSONObject jsonObject, Cost cost) throws JSONException {
     WritableMap map = new WritableNativeMap();
 
     Iterator<String> iterator = jsonObject.keys();
@@ -67,9 +210,9 @@ public class Utils {
       String key = iterator.next();
       Object value = jsonObject.get(key);
       if (value instanceof JSONObject) {
-        map.putMap(key, convertJsonToMap((JSONObject) value));
+        map.putMap(key, convertJsonToMap((JSONObject) value, cost));
       } else if (value instanceof JSONArray) {
-        map.putArray(key, convertJsonToArray((JSONArray) value));
+        map.putArray(key, convertJsonToArray((JSONArray) value, cost));
       } else if (value instanceof Boolean) {
         map.putBoolean(key, (Boolean) value);
       } else if (value instanceof Integer) {
@@ -81,6 +224,8 @@ public class Utils {
       } else {
         map.putString(key, value.toString());
       }
+      cost.addKey(key);
+      addScalar(cost, value);
     }
     return map;
   }
@@ -90,6 +235,24 @@ public class Utils {
    * Used when we need to return a json from  array.
    */
   public static JSONArray convertArrayToJson(ReadableArray readableArray) throws JSONException {
+    return convertArrayToJson(readableArray, Cost.none);
+  }
+
+  /**
+   * Convert ReadableArray to json on behalf of the bridge method `method`, accounting for its cost if enabled.
+   */
+  public static JSONArray convertArrayToJson(String method, ReadableArray readableArray) throws JSONException {
+    if (!accountingEnabled) {
+      return convertArrayToJson(readableArray, Cost.none);
+    }
+    Cost cost = new Cost(true);
+    long startedAt = System.nanoTime();
+    JSONArray array = convertArrayToJson(readableArray, cost);
+    record(method, startedAt, cost);
+    return array;
+  }
+
+  private static JSONArray convertArrayToJson(ReadableArray readableArray, Cost cost) throws JSONException {
 
     JSONArray array = new JSONArray();
 
@@ -99,18 +262,24 @@ public class Utils {
           break;
         case Boolean:
           array.put(readableArray.getBoolean(i));
+          cost.add(1);
           break;
         case Number:
           array.put(readableArray.getDouble(i));
+          cost.add(8);
           break;
         case String:
-          array.put(readableArray.getString(i));
+          String value = readableArray.getString(i);
+          array.put(value);
+          cost.add(value);
           break;
         case Map:
-          array.put(convertMapToJson(readableArray.getMap(i)));
+          array.put(convertMapToJson(readableArray.getMap(i), cost));
+          cost.addElement();
           break;
         case Array:
-          array.put(convertArrayToJson(readableArray.getArray(i)));
+          array.put(convertArrayToJson(readableArray.getArray(i), cost));
+          cost.addElement();
           break;
       }
     }
@@ -122,31 +291,98 @@ public class Utils {
    * Used when we need to send a json object to the SDK.
    */
   public static JSONObject convertMapToJson(ReadableMap readableMap) throws JSONException {
+    return convertMapToJson(readableMap, Cost.none);
+  }
+
+  /**
+   * Convert ReadableMap to json object on behalf of the bridge method `method`, accounting for its cost if enabled.
+   */
+  public static JSONObject convertMapToJson(String method, ReadableMap readableMap) throws JSONException {
+    if (!accountingEnabled) {
+      return convertMapToJson(readableMap, Cost.none);
+    }
+    Cost cost = new Cost(true);
+    long startedAt = System.nanoTime();
+    JSONObject object = convertMapToJson(readableMap, cost);
+    record(method, startedAt, cost);
+    return object;
+  }
+
+  private static JSONObject convertMapToJson(ReadableMap readableMap, Cost cost) throws JSONException {
     JSONObject object = new JSONObject();
     ReadableMapKeySetIterator iterator = readableMap.keySetIterator();
     while (iterator.hasNextKey()) {
       String key = iterator.nextKey();
+      cost.addKey(key);
       switch (readableMap.getType(key)) {
         case Null:
           object.put(key, JSONObject.NULL);
+          cost.addElement();
           break;
         case Boolean:
           object.put(key, readableMap.getBoolean(key));
+          cost.add(1);
           break;
         case Number:
           object.put(key, readableMap.getDouble(key));
+          cost.add(8);
           break;
         case String:
-          object.put(key, readableMap.getString(key));
+          String value = readableMap.getString(key);
+          object.put(key, value);
+          cost.add(value);
           break;
         case Map:
-          object.put(key, convertMapToJson(readableMap.getMap(key)));
+          object.put(key, convertMapToJson(readableMap.getMap(key), cost));
+          cost.addElement();
           break;
         case Array:
-          object.put(key, convertArrayToJson(readableMap.getArray(key)));
+          object.put(key, convertArrayToJson(readableMap.getArray(key), cost));
+          cost.addElement();
           break;
       }
     }
     return object;
   }
+
+  // Accounts for a converted JSON value; nested objects and arrays count as one element each.
+  private static void addScalar(Cost cost, Object value) {
+    if (value instanceof JSONObject || value instanceof JSONArray) {
+      cost.addElement();
+    } else if (value instanceof Boolean) {
+      cost.add(1);
+    } else if (value instanceof Integer || value instanceof Double) {
+      cost.add(8);
+    } else {
+      cost.add(value.toString());
+    }
+  }
+
+  // Returns the length of `value` encoded as UTF-8, without encoding it.
+  private static long utf8Length(String value) {
+    long length = 0;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        length += 1;
+      } else if (c < 0x800) {
+        length += 2;
+      } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+        // A supplementary code point, encoded as 4 bytes.
+        length += 4;
+        i++;
+      } else {
+        length += 3;
+      }
+    }
+    return length;
+  }
+
+  private static void record(String method, long startedAt, Cost cost) {
+    String name = "Bridge." + method;
+    SdkMetrics metrics = SdkMetrics.global();
+    metrics.record(name, 0, System.nanoTime() - startedAt, null);
+    metrics.count(name, "elements", cost.elements);
+    metrics.count(name, "bytes", cost.bytes);
+  }
 }
@@ -1,5 +1,6 @@
 package com.coinbase.waassdkreactnative;
 
+import com.coinbase.waassdk.SdkTrace;
 import com.coinbase.waassdk.WaasException;
 import com.facebook.react.bridge.Promise;
 
@@ -14,8 +15,20 @@ interface CheckedFunction<T, R> {
 
 /**
  * A bridge between react-native's "Promise", and Java's "Future".
+ *
+ * Each resolution is traced with {@link SdkTrace} as "WaasPromise:<operation>", covering the time
+ * from submission until the promise is settled.
  */
 public class WaasPromise {
+  /**
+   * Settles a promise, or one slot of a batched promise, with the outcome of a future.
+   */
+  private interface Settler {
+    void resolve(Object value);
+
+    void reject(Throwable error);
+  }
+
   /**
    * Ties the result of the future<>promise together, and applies `mapper` to the result before resolving.
    *
@@ -26,23 +39,63 @@ public class WaasPromise {
    * @param executor The executor to resolve the future on.
    */
   static <T> void resolveMap(Future<T> future, Promise promise, CheckedFunction<T, Object> mapper, ExecutorService executor) {
-    executor.submit(() -> {
+    settle(future, mapper, executor, new Settler() {
+      @Override
+      public void resolve(Object value) {
+        promise.resolve(value);
+      }
+
+      @Override
+      public void reject(Throwable error) {
+        if (error instanceof WaasException) {
+          promise.reject(((WaasException) error).getErrorType(), error.getMessage());
+        } else {
+          promise.reject(error);
+        }
+      }
+    });
+  }
+
+  /**
+   * Ties the result of the future to one slot of a batched promise, applying `mapper` to the result first.
+   * Errors are recorded against the slot rather than rejecting the whole batch.
+   *
+   * @param <T> The return type of the future.
+   * @param future The java future, representing an operation from the native SDK.
+   * @param batch The batched promise to record the result in.
+   * @param index The position of this command within the batch.
+   * @param mapper An optional function to apply to the result of `future`
+   * @param executor The executor to resolve the future on.
+   */
+  static <T> void resolveInto(Future<T> future, BatchPromise batch, int index, CheckedFunction<T, Object> mapper, ExecutorService executor) {
+    settle(future, mapper, executor, new Settler() {
+      @Override
+      public void resolve(Object value) {
+        batch.resolve(index, value);
+      }
+
+      @Override
+      public void reject(Throwable error) {
+        String code = error instanceof WaasException ? ((WaasException) error).getErrorType() : error.getClass().getName();
+        batch.reject(index, code, error.getMessage());
+      }
+    });
+  }
+
+  // Waits for `future` on `executor`, and settles `settler` with its result, mapped by `mapper`, or its error.
+  private static <T> void settle(Future<T> future, CheckedFunction<T, Object> mapper, ExecutorService executor, Settler settler) {
+    SdkTrace.submit(executor, traceName(future), () -> {
       try {
         T res = future.get();
         Object output = res;
         if (mapper != null) {
           output = mapper.apply(res);
         }
-        promise.resolve(output);
+        settler.resolve(output);
       } catch (ExecutionException e) {
-        Throwable cause = e.getCause();
-        if (cause instanceof WaasException) {
-          promise.reject(((WaasException) cause).getErrorType(), cause.getMessage());
-        } else {
-          promise.reject(cause);
-        }
+        settler.reject(e.getCause());
       } catch (Exception exc) {
-        promise.reject(exc);
+        settler.reject(exc);
       }
     });
   }
@@ -57,4 +110,10 @@ public class WaasPromise {
   static <T> void resolve(Future<T> future, Promise promise, ExecutorService executor) {
     resolveMap(future, promise, null, executor);
   }
+
+  // Names the trace slice of a resolution after the SDK operation it waits for, when known.
+  private static String traceName(Future<?> future) {
+    String operation = SdkTrace.operationOf(future);
+    return operation != null ? "WaasPromise:" + operation : "WaasPromise";
+  }
 }
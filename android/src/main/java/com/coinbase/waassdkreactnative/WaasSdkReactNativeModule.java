@@ -4,16 +4,30 @@ import android.content.Context;
 
 import androidx.annotation.NonNull;
 
+import com.coinbase.waassdk.Callbacks;
+import com.coinbase.waassdk.SdkExecutors;
+import com.coinbase.waassdk.SdkMetrics;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.module.annotations.ReactModule;
 import com.mpcmw.corekmsutils.ClientStatus;
 import com.mpcmw.corekmsutils.SystemKeys;
 import com.waassdkinternal.v1.AndroidCallbacks;
 
+import java.util.Map;
+
 @ReactModule(name = WaasSdkReactNativeModule.NAME)
 public class WaasSdkReactNativeModule extends ReactContextBaseJavaModule {
   public static final String NAME = "WaasSdkReactNative";
+
+  // The error code for malformed or unsupported batch commands.
+  private static final String batchErr = "E_BATCH";
   public static Context context;
 
   public WaasSdkReactNativeModule(ReactApplicationContext reactContext) {
@@ -27,4 +41,128 @@ public class WaasSdkReactNativeModule extends ReactContextBaseJavaModule {
     return NAME;
   }
 
+  /**
+   * Runs a batch of read commands concurrently on the SDK executors, in a single bridge call.
+   * Each command is a map of the form `{ method, args }`, where `method` is one of
+   * `getAddress`, `getDeviceGroup` or `waitPendingMPCWallet`.
+   * Resolves with an array of per-command results, in the order the commands were given.
+   */
+  @ReactMethod
+  public void batch(ReadableArray commands, Promise promise) {
+    ReactApplicationContext reactContext = getReactApplicationContext();
+    MPCKeyService keys = reactContext.getNativeModule(MPCKeyService.class);
+    MPCWalletService wallets = reactContext.getNativeModule(MPCWalletService.class);
+
+    BatchPromise batch = new BatchPromise(promise, commands.size());
+    for (int i = 0; i < commands.size(); i++) {
+      try {
+        ReadableMap command = commands.getMap(i);
+        String method = command.getString("method");
+        ReadableArray args = command.getArray("args");
+        switch (method) {
+          case "getAddress":
+            wallets.batchGetAddress(args.getString(0), batch, i);
+            break;
+          case "waitPendingMPCWallet":
+            wallets.batchWaitPendingMPCWallet(args.getString(0), batch, i);
+            break;
+          case "getDeviceGroup":
+            keys.batchGetDeviceGroup(args.getString(0), batch, i);
+            break;
+          default:
+            batch.reject(i, batchErr, "unsupported batch method: " + method);
+        }
+      } catch (Exception e) {
+        batch.reject(i, batchErr, "malformed batch command: " + e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Returns the per-method metrics of every SDK call made so far.
+   * Resolves with a map from method name to its call counts, errors and latency percentiles.
+   */
+  @ReactMethod
+  public void getMetrics(Promise promise) {
+    WritableMap out = Arguments.createMap();
+    for (Map.Entry<String, SdkMetrics.MethodSnapshot> entry : SdkMetrics.global().snapshot().entrySet()) {
+      SdkMetrics.MethodSnapshot snapshot = entry.getValue();
+      WritableMap errorsByType = Arguments.createMap();
+      for (Map.Entry<String, Long> error : snapshot.errorsByType.entrySet()) {
+        errorsByType.putDouble(error.getKey(), error.getValue());
+      }
+
+      WritableMap method = Arguments.createMap();
+      method.putDouble("calls", snapshot.calls);
+      method.putDouble("errors", snapshot.errors);
+      method.putMap("errorsByType", errorsByType);
+      WritableMap counters = Arguments.createMap();
+      for (Map.Entry<String, Long> counter : snapshot.counters.entrySet()) {
+        counters.putDouble(counter.getKey(), counter.getValue());
+      }
+      method.putMap("counters", counters);
+      method.putDouble("totalLatencyMillis", snapshot.totalLatencyMillis);
+      method.putDouble("queueWaitP50Millis", snapshot.queueWaitP50Millis);
+      method.putDouble("queueWaitP95Millis", snapshot.queueWaitP95Millis);
+      method.putDouble("queueWaitP99Millis", snapshot.queueWaitP99Millis);
+      method.putDouble("latencyP50Millis", snapshot.latencyP50Millis);
+      method.putDouble("latencyP95Millis", snapshot.latencyP95Millis);
+      method.putDouble("latencyP99Millis", snapshot.latencyP99Millis);
+      out.putMap(entry.getKey(), method);
+    }
+    promise.resolve(out);
+  }
+
+  /**
+   * Returns the health of every SDK executor.
+   * Resolves with a map from executor name to its queue depth, thread counts, rejected tasks and queue wait percentiles.
+   */
+  @ReactMethod
+  public void getExecutorGauges(Promise promise) {
+    WritableMap out = Arguments.createMap();
+    for (Map.Entry<String, SdkExecutors.ExecutorSnapshot> entry : SdkExecutors.snapshot().entrySet()) {
+      SdkExecutors.ExecutorSnapshot snapshot = entry.getValue();
+      WritableMap executor = Arguments.createMap();
+      executor.putInt("queueDepth", snapshot.queueDepth);
+      executor.putInt("activeThreads", snapshot.activeThreads);
+      executor.putInt("idleThreads", snapshot.idleThreads);
+      executor.putInt("maxThreads", snapshot.maxThreads);
+      executor.putDouble("completedTasks", snapshot.completedTasks);
+      executor.putDouble("rejectedTasks", snapshot.rejectedTasks);
+      executor.putDouble("queueWaitP50Millis", snapshot.queueWaitP50Millis);
+      executor.putDouble("queueWaitP95Millis", snapshot.queueWaitP95Millis);
+      executor.putDouble("queueWaitP99Millis", snapshot.queueWaitP99Millis);
+      out.putMap(entry.getKey(), executor);
+    }
+    promise.resolve(out);
+  }
+
+  /**
+   * Discards all recorded SDK metrics. Resolves once they are cleared.
+   */
+  @ReactMethod
+  public void resetMetrics(Promise promise) {
+    SdkMetrics.global().reset();
+    promise.resolve(null);
+  }
+
+  /**
+   * Enables or disables profiling of the Keystore callbacks made during MPC operations.
+   * Profiled callbacks are reported by getMetrics as "Callbacks.<callback>" and "Callbacks.<callback>:<key tag>".
+   */
+  @ReactMethod
+  public void setKeystoreProfilingEnabled(boolean enabled, Promise promise) {
+    Callbacks.setProfilingEnabled(enabled);
+    promise.resolve(null);
+  }
+
+  /**
+   * Enables or disables accounting of the cost of converting results and requests between JS and native types.
+   * Accounted conversions are reported by getMetrics as "Bridge.<method>", with "elements" and "bytes" counters.
+   */
+  @ReactMethod
+  public void setBridgeAccountingEnabled(boolean enabled, Promise promise) {
+    Utils.setAccountingEnabled(enabled);
+    promise.resolve(null);
+  }
 }
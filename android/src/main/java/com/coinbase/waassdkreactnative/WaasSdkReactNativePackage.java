@@ -1,34 +1,68 @@
 package com.coinbase.waassdkreactnative;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
-import com.facebook.react.ReactPackage;
+import com.facebook.react.TurboReactPackage;
 import com.facebook.react.bridge.NativeModule;
 import com.facebook.react.bridge.ReactApplicationContext;
-import com.facebook.react.uimanager.ViewManager;
+import com.facebook.react.module.model.ReactModuleInfo;
+import com.facebook.react.module.model.ReactModuleInfoProvider;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * A react module for exposing the bridged react-native SDK to Javascript.
+ *
+ * Modules are created lazily, the first time Javascript uses them, so an app only pays for the executors and
+ * Go clients of the services it calls, and not before it calls them.
  */
-public class WaasSdkReactNativePackage implements ReactPackage {
-  @NonNull
+public class WaasSdkReactNativePackage extends TurboReactPackage {
+  @Nullable
   @Override
-  public List<NativeModule> createNativeModules(@NonNull ReactApplicationContext reactContext) {
-    List<NativeModule> modules = new ArrayList<>();
-    modules.add(new WaasSdkReactNativeModule(reactContext));
-    modules.add(new MPCKeyService(reactContext));
-    modules.add(new PoolService(reactContext));
-    modules.add(new MPCWalletService(reactContext));
-    modules.add(new MPCSdk(reactContext));
-    return modules;
+  public NativeModule getModule(@NonNull String name, @NonNull ReactApplicationContext reactContext) {
+    switch (name) {
+      case WaasSdkReactNativeModule.NAME:
+        return new WaasSdkReactNativeModule(reactContext);
+      case MPCKeyService.NAME:
+        return new MPCKeyService(reactContext);
+      case PoolService.NAME:
+        return new PoolService(reactContext);
+      case MPCWalletService.NAME:
+        return new MPCWalletService(reactContext);
+      case MPCSdk.NAME:
+        return new MPCSdk(reactContext);
+      default:
+        return null;
+    }
   }
-  @NonNull
+
   @Override
-  public List<ViewManager> createViewManagers(@NonNull ReactApplicationContext reactContext) {
-    return Collections.emptyList();
+  public ReactModuleInfoProvider getReactModuleInfoProvider() {
+    final Map<String, ReactModuleInfo> moduleInfos = new HashMap<>();
+    addModuleInfo(moduleInfos, WaasSdkReactNativeModule.NAME, WaasSdkReactNativeModule.class);
+    addModuleInfo(moduleInfos, MPCKeyService.NAME, MPCKeyService.class);
+    addModuleInfo(moduleInfos, PoolService.NAME, PoolService.class);
+    addModuleInfo(moduleInfos, MPCWalletService.NAME, MPCWalletService.class);
+    addModuleInfo(moduleInfos, MPCSdk.NAME, MPCSdk.class);
+    return new ReactModuleInfoProvider() {
+      @Override
+      public Map<String, ReactModuleInfo> getReactModuleInfos() {
+        return moduleInfos;
+      }
+    };
+  }
+
+  private static void addModuleInfo(Map<String, ReactModuleInfo> moduleInfos, String name, Class<?> moduleClass) {
+    moduleInfos.put(name, new ReactModuleInfo(
+      name,
+      moduleClass.getName(),
+      false, // canOverrideExistingModule
+      false, // needsEagerInit
+      false, // hasConstants
+      false, // isCxxModule
+      false  // isTurboModule
+    ));
   }
 }
@@ -0,0 +1,65 @@
+package com.coinbase.waassdk;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the model (de)serialization done on every Address and pending-operation response.
+ */
+public class ModelBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class AddressState {
+    // The number of MPC keys backing the Address.
+    @Param({"1", "3"})
+    public int keyCount;
+
+    JSONObject json;
+    Address address;
+
+    @Setup
+    public void setUp() throws JSONException {
+      json = Payloads.address(keyCount);
+      address = Address.fromJSON(json);
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class PendingState {
+    // The number of pending operations in a poll response.
+    @Param({"1", "10", "50"})
+    public int pendingCount;
+
+    // The size of each operation's MPC data.
+    @Param({"2048", "16384"})
+    public int mpcDataBytes;
+
+    byte[] bytes;
+
+    @Setup
+    public void setUp() throws JSONException {
+      bytes = Payloads.pendingOperationsBytes(pendingCount, mpcDataBytes);
+    }
+  }
+
+  @Benchmark
+  public Address addressFromJSON(AddressState state) throws JSONException {
+    return Address.fromJSON(state.json);
+  }
+
+  @Benchmark
+  public JSONObject addressToJSON(AddressState state) throws JSONException {
+    return state.address.toJSON();
+  }
+
+  @Benchmark
+  public JSONArray decodePendingOperations(PendingState state) throws JSONException {
+    return JsonBytes.toJSONArray(state.bytes);
+  }
+}
@@ -0,0 +1,119 @@
+package com.coinbase.waassdkreactnative;
+
+import com.coinbase.waassdk.Address;
+import com.coinbase.waassdk.Payloads;
+import com.coinbase.waassdk.SerializedTransaction;
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the JSON <-> React Native conversions in {@link Utils} that run on every bridge result
+ * and request, with and without serialization accounting. Results go through the mappers the React Native
+ * modules use, and transactions through the conversions createSignatureFromTxWithHandle makes.
+ */
+@State(Scope.Benchmark)
+public class UtilsBenchmark {
+
+  // The number of pending operations in a poll response.
+  @Param({"1", "10", "50"})
+  public int pendingCount;
+
+  // The size of the call data of a transaction to sign.
+  @Param({"0", "4096"})
+  public int txDataBytes;
+
+  @Param({"false", "true"})
+  public boolean accounting;
+
+  // The mapper of MPCKeyService.pollForPendingSignatures and the other pollForPending* methods.
+  private final CheckedFunction<JSONArray, Object> pendingMapper =
+    Utils.jsonToArray("MPCKeyService.pollForPendingSignatures");
+
+  // The mapper of MPCWalletService.getAddress.
+  private final CheckedFunction<Address, Object> addressMapper = Utils.mapAddress("MPCWalletService.getAddress");
+
+  private JSONArray pendingJson;
+  private Address address;
+  private ReadableMap transactionMap;
+  private ReadableArray pendingArray;
+
+  @Setup
+  public void setUp() throws JSONException {
+    Utils.setAccountingEnabled(accounting);
+    pendingJson = Payloads.pendingOperations(pendingCount, 4096);
+    address = Address.fromJSON(Payloads.address(1));
+    transactionMap = toJavaOnlyMap(Payloads.transaction(txDataBytes));
+    pendingArray = toJavaOnlyArray(pendingJson);
+  }
+
+  @Benchmark
+  public Object pendingOperationsToJs() throws Exception {
+    return pendingMapper.apply(pendingJson);
+  }
+
+  @Benchmark
+  public Object addressToJs() throws Exception {
+    return addressMapper.apply(address);
+  }
+
+  @Benchmark
+  public SerializedTransaction transactionFromJs() throws JSONException {
+    return SerializedTransaction.fromJSON(
+      Utils.convertMapToJson("MPCKeyService.createSignatureFromTxWithHandle", transactionMap));
+  }
+
+  @Benchmark
+  public JSONArray pendingOperationsFromJs() throws JSONException {
+    return Utils.convertArrayToJson("MPCKeyService.pollForPendingSignatures", pendingArray);
+  }
+
+  // Builds the JS-side representation of a JSON value, as the bridge would hand it to a native module.
+  private static JavaOnlyMap toJavaOnlyMap(JSONObject json) throws JSONException {
+    JavaOnlyMap map = new JavaOnlyMap();
+    for (String key : JSONObject.getNames(json)) {
+      Object value = json.get(key);
+      if (value instanceof JSONObject) {
+        map.putMap(key, toJavaOnlyMap((JSONObject) value));
+      } else if (value instanceof JSONArray) {
+        map.putArray(key, toJavaOnlyArray((JSONArray) value));
+      } else if (value instanceof Number) {
+        map.putDouble(key, ((Number) value).doubleValue());
+      } else if (value instanceof Boolean) {
+        map.putBoolean(key, (Boolean) value);
+      } else {
+        map.putString(key, value.toString());
+      }
+    }
+    return map;
+  }
+
+  private static JavaOnlyArray toJavaOnlyArray(JSONArray json) throws JSONException {
+    JavaOnlyArray array = new JavaOnlyArray();
+    for (int i = 0; i < json.length(); i++) {
+      Object value = json.get(i);
+      if (value instanceof JSONObject) {
+        array.pushMap(toJavaOnlyMap((JSONObject) value));
+      } else if (value instanceof JSONArray) {
+        array.pushArray(toJavaOnlyArray((JSONArray) value));
+      } else if (value instanceof Number) {
+        array.pushDouble(((Number) value).doubleValue());
+      } else if (value instanceof Boolean) {
+        array.pushBoolean((Boolean) value);
+      } else {
+        array.pushString(value.toString());
+      }
+    }
+    return array;
+  }
+}
@@ -0,0 +1,65 @@
+package com.coinbase.waassdkreactnative;
+
+import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.PromiseImpl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Benchmarks the overhead of settling a react-native promise from an already-completed SDK future
+ * through {@link WaasPromise}, i.e. the cost the bridge adds on top of the SDK call itself.
+ */
+@State(Scope.Benchmark)
+public class WaasPromiseBenchmark {
+
+  // The number of promises settled per invocation.
+  @Param({"1", "64"})
+  public int batchSize;
+
+  private ExecutorService executor;
+  private Future<String> completed;
+
+  @Setup
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    FutureTask<String> task = new FutureTask<>(() -> "success");
+    task.run();
+    completed = task;
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  public void resolve() throws InterruptedException {
+    CountDownLatch settled = new CountDownLatch(batchSize);
+    Callback done = args -> settled.countDown();
+    for (int i = 0; i < batchSize; i++) {
+      WaasPromise.resolve(completed, new PromiseImpl(done, done), executor);
+    }
+    settled.await();
+  }
+
+  @Benchmark
+  public void resolveMap() throws InterruptedException {
+    CountDownLatch settled = new CountDownLatch(batchSize);
+    Callback done = args -> settled.countDown();
+    for (int i = 0; i < batchSize; i++) {
+      WaasPromise.resolveMap(completed, new PromiseImpl(done, done), String::length, executor);
+    }
+    settled.await();
+  }
+}
@@ -0,0 +1,26 @@
+package androidx.tracing;
+
+/**
+ * A no-op stand-in for androidx.tracing's Trace, which depends on the Android framework.
+ * Tracing is never enabled on the host JVM.
+ */
+public final class Trace {
+  private Trace() {
+  }
+
+  public static boolean isEnabled() {
+    return false;
+  }
+
+  public static void beginSection(String label) {
+  }
+
+  public static void endSection() {
+  }
+
+  public static void beginAsyncSection(String methodName, int cookie) {
+  }
+
+  public static void endAsyncSection(String methodName, int cookie) {
+  }
+}
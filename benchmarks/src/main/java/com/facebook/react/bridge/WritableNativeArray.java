@@ -0,0 +1,8 @@
+package com.facebook.react.bridge;
+
+/**
+ * A pure-Java stand-in for React Native's JNI-backed WritableNativeArray, so that code creating native
+ * arrays can run on the host JVM. Backed by {@link JavaOnlyArray}.
+ */
+public class WritableNativeArray extends JavaOnlyArray {
+}
@@ -0,0 +1,8 @@
+package com.facebook.react.bridge;
+
+/**
+ * A pure-Java stand-in for React Native's JNI-backed WritableNativeMap, so that code creating native
+ * maps can run on the host JVM. Backed by {@link JavaOnlyMap}.
+ */
+public class WritableNativeMap extends JavaOnlyMap {
+}
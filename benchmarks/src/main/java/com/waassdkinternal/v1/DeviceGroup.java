@@ -0,0 +1,35 @@
+package com.waassdkinternal.v1;
+
+/**
+ * A pure-Java stand-in for the gomobile-generated DeviceGroup, so that code reading DeviceGroups can run on the
+ * host JVM. Its getters return stored values; on Android, each of them crosses into Go.
+ */
+public final class DeviceGroup {
+  private String name;
+  private String mpcKeyExportMetadata;
+  private byte[] devices;
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getMPCKeyExportMetadata() {
+    return mpcKeyExportMetadata;
+  }
+
+  public void setMPCKeyExportMetadata(String mpcKeyExportMetadata) {
+    this.mpcKeyExportMetadata = mpcKeyExportMetadata;
+  }
+
+  public byte[] getDevices() {
+    return devices;
+  }
+
+  public void setDevices(byte[] devices) {
+    this.devices = devices;
+  }
+}
@@ -0,0 +1,26 @@
+package com.waassdkinternal.v1;
+
+/**
+ * A pure-Java stand-in for the gomobile-generated MPCWallet, so that code reading MPCWallets can run on the
+ * host JVM. Its getters return stored values; on Android, each of them crosses into Go.
+ */
+public final class MPCWallet {
+  private String name;
+  private String deviceGroup;
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getDeviceGroup() {
+    return deviceGroup;
+  }
+
+  public void setDeviceGroup(String deviceGroup) {
+    this.deviceGroup = deviceGroup;
+  }
+}
@@ -0,0 +1,26 @@
+package com.waassdkinternal.v1;
+
+/**
+ * A pure-Java stand-in for the gomobile-generated SignedTransaction, so that code reading signed transactions can
+ * run on the host JVM. Its getters return stored values; on Android, each of them crosses into Go.
+ */
+public final class SignedTransaction {
+  private String rawTransaction;
+  private String transactionHash;
+
+  public String getRawTransaction() {
+    return rawTransaction;
+  }
+
+  public void setRawTransaction(String rawTransaction) {
+    this.rawTransaction = rawTransaction;
+  }
+
+  public String getTransactionHash() {
+    return transactionHash;
+  }
+
+  public void setTransactionHash(String transactionHash) {
+    this.transactionHash = transactionHash;
+  }
+}
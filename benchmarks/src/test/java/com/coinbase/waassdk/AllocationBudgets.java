@@ -0,0 +1,146 @@
+package com.coinbase.waassdk;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * Measures the bytes allocated per run of a hot path on the host JVM, and checks them against the budgets
+ * checked in to `src/test/resources/allocation-budgets.properties`.
+ *
+ * Run `gradle test -PupdateAllocationBudgets` to re-baseline: every measured path then gets a budget of its
+ * measurement plus {@link #headroom}, written back to the budgets file, instead of being checked.
+ */
+public final class AllocationBudgets {
+  // The resource the budgets are read from.
+  private static final String budgetsResource = "/allocation-budgets.properties";
+  // When set, the budgets file to write re-baselined budgets to.
+  private static final String updateProperty = "allocationBudgets.update";
+  // The React Native version whose bridge classes the tests run against.
+  private static final String reactNativeVersionProperty = "reactNativeVersion";
+  // The comment at the top of the budgets file.
+  private static final String header =
+    "# Bytes allocated per run of each hot path, checked by AllocationBudgets.\n"
+      + "# Paths through the React Native bridge classes have a budget per React Native version, as <path>@<version>.\n"
+      + "# Re-baseline with `gradle test -PupdateAllocationBudgets`.\n";
+  // The margin added on top of a measurement when re-baselining, so JVM noise does not fail the build.
+  private static final double headroom = 0.2;
+
+  // Runs before measuring, so the path is compiled and its allocations are those of optimized code.
+  private static final int warmupRuns = 20000;
+  // Runs per measurement, and the number of measurements; the smallest measurement is reported.
+  private static final int measuredRuns = 2000;
+  private static final int measurements = 5;
+
+  /**
+   * A hot path to measure. Returns its result, so the work cannot be optimized away.
+   */
+  public interface Operation {
+    Object run() throws Exception;
+  }
+
+  // Keeps the results of measured runs reachable, as they are in the SDK.
+  private static volatile Object sink;
+
+  private AllocationBudgets() {
+  }
+
+  /**
+   * Fails if one run of `operation` allocates more bytes than the budget of `path`, or if `path` has no budget.
+   */
+  public static synchronized void check(String path, Operation operation) throws Exception {
+    long bytesPerRun = measure(operation);
+    String updateFile = System.getProperty(updateProperty);
+    if (updateFile != null) {
+      update(new File(updateFile), path, (long) Math.ceil(bytesPerRun * (1 + headroom)));
+      return;
+    }
+
+    String budget = budgets().getProperty(path);
+    if (budget == null) {
+      fail("no allocation budget for " + path + " (measured " + bytesPerRun + " bytes/run); "
+        + "run `gradle test -PupdateAllocationBudgets` to add one");
+    }
+    long budgetBytes = Long.parseLong(budget.trim());
+    assertTrue(path + " allocates " + bytesPerRun + " bytes/run, over its budget of " + budgetBytes,
+      bytesPerRun <= budgetBytes);
+  }
+
+  /**
+   * Like {@link #check}, for paths through the React Native bridge classes, whose allocations depend on the
+   * React Native version the tests run against: budgets are kept per version, as "<path>@<version>".
+   */
+  public static synchronized void checkBridge(String path, Operation operation) throws Exception {
+    String version = System.getProperty(reactNativeVersionProperty);
+    if (version == null) {
+      fail("the React Native version is not set; run through `gradle test`");
+    }
+    check(path + "@" + version, operation);
+  }
+
+  /**
+   * Returns the bytes allocated by one run of `operation` on this thread, once warmed up.
+   */
+  public static long measure(Operation operation) throws Exception {
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    if (!threads.isThreadAllocatedMemorySupported()) {
+      throw new IllegalStateException("this JVM cannot measure allocations per thread");
+    }
+    threads.setThreadAllocatedMemoryEnabled(true);
+    long thread = Thread.currentThread().getId();
+
+    for (int i = 0; i < warmupRuns; i++) {
+      sink = operation.run();
+    }
+
+    long best = Long.MAX_VALUE;
+    for (int m = 0; m < measurements; m++) {
+      long before = threads.getThreadAllocatedBytes(thread);
+      for (int i = 0; i < measuredRuns; i++) {
+        sink = operation.run();
+      }
+      long after = threads.getThreadAllocatedBytes(thread);
+      best = Math.min(best, (after - before) / measuredRuns);
+    }
+    return best;
+  }
+
+  private static Properties budgets() throws IOException {
+    Properties budgets = new Properties();
+    try (InputStream in = AllocationBudgets.class.getResourceAsStream(budgetsResource)) {
+      if (in != null) {
+        budgets.load(in);
+      }
+    }
+    return budgets;
+  }
+
+  private static void update(File file, String path, long budgetBytes) throws IOException {
+    Properties budgets = new Properties();
+    if (file.exists()) {
+      try (InputStream in = new FileInputStream(file)) {
+        budgets.load(in);
+      }
+    }
+    budgets.setProperty(path, Long.toString(budgetBytes));
+
+    // Written sorted and without a timestamp, so re-baselining only changes the lines of changed budgets.
+    StringBuilder out = new StringBuilder(header);
+    for (String name : new TreeSet<>(budgets.stringPropertyNames())) {
+      out.append(name).append('=').append(budgets.getProperty(name)).append('\n');
+    }
+    try (OutputStream stream = new FileOutputStream(file)) {
+      stream.write(out.toString().getBytes(StandardCharsets.ISO_8859_1));
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package com.coinbase.waassdk;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Allocation budgets for decoding the payloads returned by the Go SDK, and for the models built from them.
+ */
+public class ModelAllocationTest {
+
+  @Test
+  public void pollResponseDecode() throws Exception {
+    final byte[] bytes = Payloads.pendingOperationsBytes(10, 4096);
+    AllocationBudgets.check("model.pollResponseDecode", () -> JsonBytes.toJSONArray(bytes));
+  }
+
+  @Test
+  public void addressDecode() throws Exception {
+    final byte[] bytes = Payloads.address(1).toString().getBytes(StandardCharsets.UTF_8);
+    AllocationBudgets.check("model.addressDecode", () -> Address.fromJSON(JsonBytes.toJSONObject(bytes)));
+  }
+
+  @Test
+  public void addressEncode() throws Exception {
+    final Address address = Address.fromJSON(Payloads.address(1));
+    AllocationBudgets.check("model.addressEncode", () -> address.toJSON());
+  }
+
+  @Test
+  public void transactionSerialize() throws Exception {
+    final JSONObject transaction = Payloads.transaction(256);
+    AllocationBudgets.check("model.transactionSerialize", () -> SerializedTransaction.fromJSON(transaction));
+  }
+}
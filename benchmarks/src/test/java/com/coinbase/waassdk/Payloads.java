@@ -0,0 +1,137 @@
+package com.coinbase.waassdk;
+
+import com.waassdkinternal.v1.DeviceGroup;
+import com.waassdkinternal.v1.MPCWallet;
+import com.waassdkinternal.v1.SignedTransaction;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Realistic payloads for the benchmarks and allocation-budget tests, shaped like the responses of the Waas backend.
+ */
+public final class Payloads {
+  private Payloads() {
+  }
+
+  /**
+   * A list of `count` pending MPC operations, each carrying `mpcDataBytes` of base64-like MPC data,
+   * as returned by the pollForPending* calls.
+   */
+  public static JSONArray pendingOperations(int count, int mpcDataBytes) throws JSONException {
+    Random random = new Random(count);
+    JSONArray operations = new JSONArray();
+    for (int i = 0; i < count; i++) {
+      JSONObject operation = new JSONObject();
+      operation.put("Operation", "operations/" + hex(random, 16));
+      operation.put("MPCData", base64Like(random, mpcDataBytes));
+      operation.put("DeviceGroup", "pools/" + hex(random, 8) + "/deviceGroups/" + hex(random, 8));
+      operation.put("Device", "devices/" + hex(random, 16));
+      operations.put(operation);
+    }
+    return operations;
+  }
+
+  /**
+   * The UTF-8 bytes of {@link #pendingOperations}, as handed over by the Go SDK.
+   */
+  public static byte[] pendingOperationsBytes(int count, int mpcDataBytes) throws JSONException {
+    return pendingOperations(count, mpcDataBytes).toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * An Address with `keyCount` MPC keys.
+   */
+  public static JSONObject address(int keyCount) throws JSONException {
+    Random random = new Random(keyCount);
+    JSONArray keys = new JSONArray();
+    for (int i = 0; i < keyCount; i++) {
+      keys.put("pools/" + hex(random, 8) + "/deviceGroups/" + hex(random, 8) + "/mpcKeys/" + hex(random, 16));
+    }
+    JSONObject address = new JSONObject();
+    address.put("Name", "networks/ethereum-goerli/addresses/" + hex(random, 20));
+    address.put("Address", "0x" + hex(random, 20));
+    address.put("MPCKeys", keys);
+    address.put("MPCWallet", "pools/" + hex(random, 8) + "/mpcWallets/" + hex(random, 8));
+    return address;
+  }
+
+  /**
+   * An EIP-1559 Ethereum transaction whose call data is `dataBytes` long.
+   */
+  public static JSONObject transaction(int dataBytes) throws JSONException {
+    Random random = new Random(dataBytes);
+    JSONObject tx = new JSONObject();
+    tx.put("ChainID", "0x5");
+    tx.put("Nonce", 12);
+    tx.put("MaxPriorityFeePerGas", "0x59682f00");
+    tx.put("MaxFeePerGas", "0x59682f0e");
+    tx.put("Gas", 63000);
+    tx.put("From", "0x" + hex(random, 20));
+    tx.put("To", "0x" + hex(random, 20));
+    tx.put("Value", "0x2386f26fc10000");
+    tx.put("Data", "0x" + hex(random, dataBytes));
+    return tx;
+  }
+
+  /**
+   * A DeviceGroup with `deviceCount` Devices.
+   */
+  public static DeviceGroup deviceGroup(int deviceCount) throws JSONException {
+    Random random = new Random(deviceCount);
+    JSONArray devices = new JSONArray();
+    for (int i = 0; i < deviceCount; i++) {
+      devices.put("devices/" + hex(random, 16));
+    }
+    DeviceGroup deviceGroup = new DeviceGroup();
+    deviceGroup.setName("pools/" + hex(random, 8) + "/deviceGroups/" + hex(random, 8));
+    deviceGroup.setMPCKeyExportMetadata(base64Like(random, 512));
+    deviceGroup.setDevices(devices.toString().getBytes(StandardCharsets.UTF_8));
+    return deviceGroup;
+  }
+
+  /**
+   * An MPCWallet, as returned by waitPendingMPCWallet.
+   */
+  public static MPCWallet mpcWallet() {
+    Random random = new Random(1);
+    MPCWallet wallet = new MPCWallet();
+    wallet.setName("pools/" + hex(random, 8) + "/mpcWallets/" + hex(random, 8));
+    wallet.setDeviceGroup("pools/" + hex(random, 8) + "/deviceGroups/" + hex(random, 8));
+    return wallet;
+  }
+
+  /**
+   * The signed form of {@link #transaction} with `dataBytes` of call data.
+   */
+  public static SignedTransaction signedTransaction(int dataBytes) {
+    Random random = new Random(dataBytes);
+    SignedTransaction tx = new SignedTransaction();
+    tx.setRawTransaction("0x02" + hex(random, dataBytes + 120));
+    tx.setTransactionHash("0x" + hex(random, 32));
+    return tx;
+  }
+
+  private static String hex(Random random, int bytes) {
+    StringBuilder out = new StringBuilder(bytes * 2);
+    for (int i = 0; i < bytes; i++) {
+      out.append(Character.forDigit(random.nextInt(16), 16));
+      out.append(Character.forDigit(random.nextInt(16), 16));
+    }
+    return out.toString();
+  }
+
+  private static String base64Like(Random random, int bytes) {
+    String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+    int length = (bytes + 2) / 3 * 4;
+    StringBuilder out = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      out.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    }
+    return out.toString();
+  }
+}
@@ -0,0 +1,173 @@
+package com.coinbase.waassdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The classification of the errors the Go SDK fails with, pinned to the messages grpc-go and Go's net and
+ * net/http packages produce, and how {@link RetryPolicy} runs the attempts of a call.
+ */
+public class RetryPolicyTest {
+  private static final String dialRefused = "rpc error: code = Unavailable desc = connection error: desc = "
+    + "\"transport: Error while dialing: dial tcp 10.0.0.1:443: connect: connection refused\"";
+  private static final String readTimeout =
+    "read tcp 10.0.0.2:51234->10.0.0.1:443: i/o timeout";
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void unsentErrorsAreRetriedForEveryCall() {
+    String[] messages = {
+      dialRefused,
+      "rpc error: code = ResourceExhausted desc = rate limit exceeded",
+      "Post \"https://api.developer.coinbase.com/waas/mpc_keys/v1/pools\": dial tcp: lookup "
+        + "api.developer.coinbase.com: no such host",
+      "Post \"https://api.developer.coinbase.com/waas/mpc_keys/v1/pools\": dial tcp 10.0.0.1:443: connect: "
+        + "network is unreachable",
+      "Post \"https://api.developer.coinbase.com/waas/mpc_keys/v1/pools\": dial tcp 10.0.0.1:443: i/o timeout",
+      "Post \"https://api.developer.coinbase.com/waas/mpc_keys/v1/pools\": net/http: TLS handshake timeout",
+      "unexpected status: 429 Too Many Requests",
+    };
+    for (String message : messages) {
+      assertTrue(message, RetryPolicy.isRetryable(message, false));
+      assertTrue(message, RetryPolicy.isRetryable(message, true));
+    }
+  }
+
+  @Test
+  public void transientErrorsAreRetriedForIdempotentCalls() {
+    String[] messages = {
+      "rpc error: code = Unavailable desc = error reading from server: EOF",
+      "rpc error: code = DeadlineExceeded desc = context deadline exceeded",
+      readTimeout,
+      "Get \"https://api.developer.coinbase.com/waas/mpc_keys/v1/operations/1\": context deadline exceeded",
+      "Get \"https://api.developer.coinbase.com/waas/mpc_keys/v1/operations/1\": net/http: request canceled "
+        + "(Client.Timeout exceeded while awaiting headers)",
+      "read tcp 10.0.0.2:51234->10.0.0.1:443: read: connection reset by peer",
+      "write tcp 10.0.0.2:51234->10.0.0.1:443: write: broken pipe",
+      "Get \"https://api.developer.coinbase.com/waas/mpc_keys/v1/operations/1\": unexpected EOF",
+      "unexpected status: 502 Bad Gateway",
+      "unexpected status: 503 Service Unavailable",
+      "unexpected status: 504 Gateway Timeout",
+    };
+    for (String message : messages) {
+      assertTrue(message, RetryPolicy.isRetryable(message, true));
+      assertFalse(message, RetryPolicy.isRetryable(message, false));
+    }
+  }
+
+  @Test
+  public void permanentErrorsAreNotRetried() {
+    String[] messages = {
+      // The status code decides, whatever the description mentions.
+      "rpc error: code = InvalidArgument desc = invalid timeout: must be positive",
+      "rpc error: code = FailedPrecondition desc = connection reset by the device group",
+      "rpc error: code = NotFound desc = operation not found",
+      "rpc error: code = PermissionDenied desc = API key is not authorized",
+      "rpc error: code = Internal desc = unexpected EOF in signature share",
+      "Post \"https://api.developer.coinbase.com/waas/mpc_keys/v1/pools\": tls: failed to verify certificate: "
+        + "x509: certificate signed by unknown authority",
+      "unexpected status: 400 Bad Request",
+      "request timeout must be positive",
+      "",
+      null,
+    };
+    for (String message : messages) {
+      assertFalse(message, RetryPolicy.isRetryable(message, true));
+      assertFalse(message, RetryPolicy.isRetryable(message, false));
+    }
+  }
+
+  @Test
+  public void retriesUntilSuccess() throws Exception {
+    final AtomicInteger attempts = new AtomicInteger();
+    Future<String> call = new RetryPolicy(3, 1, 1, 1).submit(executor, "retriesUntilSuccess", true, () -> {
+      if (attempts.incrementAndGet() < 3) {
+        throw new WaasException("call failed : ", readTimeout);
+      }
+      return "ok";
+    });
+
+    assertEquals("ok", call.get(5, TimeUnit.SECONDS));
+    assertEquals(3, attempts.get());
+  }
+
+  @Test
+  public void stopsAfterMaxAttempts() throws Exception {
+    AtomicInteger attempts = new AtomicInteger();
+    assertFails(new RetryPolicy(3, 1, 1, 1).submit(executor, "stopsAfterMaxAttempts", true,
+      failing(attempts, readTimeout)));
+    assertEquals(3, attempts.get());
+  }
+
+  @Test
+  public void throwsPermanentErrorsRightAway() throws Exception {
+    AtomicInteger attempts = new AtomicInteger();
+    assertFails(new RetryPolicy(3, 1, 1, 1).submit(executor, "throwsPermanentErrorsRightAway", true,
+      failing(attempts, "rpc error: code = NotFound desc = operation not found")));
+    assertEquals(1, attempts.get());
+  }
+
+  @Test
+  public void doesNotRepeatCallsThatAreNotIdempotent() throws Exception {
+    AtomicInteger attempts = new AtomicInteger();
+    assertFails(new RetryPolicy(3, 1, 1, 1).submit(executor, "doesNotRepeatCallsThatAreNotIdempotent", false,
+      failing(attempts, readTimeout)));
+    assertEquals(1, attempts.get());
+  }
+
+  @Test
+  public void backoffDoesNotHoldTheExecutor() throws Exception {
+    final CountDownLatch failed = new CountDownLatch(1);
+    final AtomicInteger attempts = new AtomicInteger();
+    Future<String> call = new RetryPolicy(2, 60000, 60000, 1).submit(executor, "backoffDoesNotHoldTheExecutor",
+      true, () -> {
+        attempts.incrementAndGet();
+        failed.countDown();
+        throw new WaasException("call failed : ", readTimeout);
+      });
+    assertTrue(failed.await(5, TimeUnit.SECONDS));
+
+    // The only executor thread is free to run other calls while the retry waits.
+    Future<String> other = executor.submit(() -> "other");
+    assertEquals("other", other.get(5, TimeUnit.SECONDS));
+
+    call.cancel(false);
+    assertTrue(call.isCancelled());
+  }
+
+  private static Callable<String> failing(final AtomicInteger attempts, final String message) {
+    return () -> {
+      attempts.incrementAndGet();
+      throw new WaasException("call failed : ", message);
+    };
+  }
+
+  private static void assertFails(Future<?> call) throws Exception {
+    try {
+      call.get(5, TimeUnit.SECONDS);
+      fail("call did not fail");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof WaasException);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package com.coinbase.waassdkreactnative;
+
+import com.coinbase.waassdk.Address;
+import com.coinbase.waassdk.AllocationBudgets;
+import com.coinbase.waassdk.Payloads;
+import com.coinbase.waassdk.SerializedTransaction;
+import com.facebook.react.bridge.ReadableMap;
+import com.waassdkinternal.v1.DeviceGroup;
+import com.waassdkinternal.v1.MPCWallet;
+import com.waassdkinternal.v1.SignedTransaction;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Allocation budgets for the result mappers and request conversions of the React Native modules, run through
+ * the same functions the modules call. Their budgets depend on the React Native bridge classes, so they are
+ * kept per React Native version (see {@link AllocationBudgets#checkBridge}).
+ */
+public class BridgeAllocationTest {
+
+  @After
+  public void tearDown() {
+    Utils.setAccountingEnabled(false);
+  }
+
+  @Test
+  public void pendingOperationsToJs() throws Exception {
+    // The mapper of MPCKeyService.pollForPendingSignatures and the other pollForPending* methods.
+    final CheckedFunction<JSONArray, Object> mapper = Utils.jsonToArray("MPCKeyService.pollForPendingSignatures");
+    final JSONArray pending = Payloads.pendingOperations(10, 4096);
+    AllocationBudgets.checkBridge("bridge.pendingOperationsToJs", () -> mapper.apply(pending));
+  }
+
+  @Test
+  public void pendingOperationsToJsWithAccounting() throws Exception {
+    Utils.setAccountingEnabled(true);
+    final CheckedFunction<JSONArray, Object> mapper = Utils.jsonToArray("MPCKeyService.pollForPendingSignatures");
+    final JSONArray pending = Payloads.pendingOperations(10, 4096);
+    AllocationBudgets.checkBridge("bridge.pendingOperationsToJs.accounting", () -> mapper.apply(pending));
+  }
+
+  @Test
+  public void addressToJs() throws Exception {
+    // The mapper of MPCWalletService.getAddress; generateAddress maps Addresses the same way.
+    final CheckedFunction<Address, Object> mapper = Utils.mapAddress("MPCWalletService.getAddress");
+    final Address address = Address.fromJSON(Payloads.address(1));
+    AllocationBudgets.checkBridge("bridge.addressToJs", () -> mapper.apply(address));
+  }
+
+  @Test
+  public void transactionFromJs() throws Exception {
+    // What MPCKeyService.createSignatureFromTxWithHandle does with the transaction it is given.
+    final ReadableMap transaction = Utils.convertJsonToMap(Payloads.transaction(256));
+    AllocationBudgets.checkBridge("bridge.transactionFromJs", () -> SerializedTransaction.fromJSON(
+      Utils.convertMapToJson("MPCKeyService.createSignatureFromTxWithHandle", transaction)));
+  }
+
+  @Test
+  public void deviceGroupToJs() throws Exception {
+    // The mapper of MPCKeyService.getDeviceGroup, for the DeviceGroup instance the SDK keeps handing back.
+    final DeviceGroupMapper mapper = new DeviceGroupMapper(64);
+    final DeviceGroup deviceGroup = Payloads.deviceGroup(3);
+    AllocationBudgets.checkBridge("bridge.deviceGroupToJs", () -> mapper.apply(deviceGroup));
+  }
+
+  @Test
+  public void deviceGroupToJsDecoding() throws Exception {
+    // The same, for a DeviceGroup instance the mapper has not decoded yet.
+    final DeviceGroupMapper mapper = new DeviceGroupMapper(64);
+    final DeviceGroup[] deviceGroups = {Payloads.deviceGroup(3), Payloads.deviceGroup(3)};
+    final int[] next = {0};
+    AllocationBudgets.checkBridge("bridge.deviceGroupToJs.decoding",
+      () -> mapper.apply(deviceGroups[next[0]++ & 1]));
+  }
+
+  @Test
+  public void mpcWalletToJs() throws Exception {
+    // The mapper of MPCWalletService.waitPendingMPCWallet.
+    final MPCWallet wallet = Payloads.mpcWallet();
+    AllocationBudgets.checkBridge("bridge.mpcWalletToJs", () -> Utils.mapMPCWallet(wallet));
+  }
+
+  @Test
+  public void signedTransactionToJs() throws Exception {
+    // The mapper of MPCKeyService.getSignedTransaction.
+    final ReadableMap transaction = Utils.convertJsonToMap(Payloads.transaction(256));
+    final ReadableMap signature = Utils.convertJsonToMap(new JSONObject()
+      .put("Name", "pools/0/deviceGroups/0/mpcKeys/0/signatures/0")
+      .put("Payload", Payloads.transaction(32).getString("Data"))
+      .put("SignedPayload", Payloads.transaction(65).getString("Data")));
+    final SignedTransaction signed = Payloads.signedTransaction(256);
+    AllocationBudgets.checkBridge("bridge.signedTransactionToJs",
+      () -> Utils.mapSignedTransaction(transaction, signature, signed));
+  }
+}
@@ -0,0 +1,513 @@
+package com.coinbase.waassdk.fakebackend;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A local, in-memory stand-in for the WaaS backend, for capacity-testing the SDK without a live backend.
+ * Point the SDK services at it through their `proxyUrl` (which puts them in insecure, plain-HTTP mode).
+ *
+ * It serves the pool, MPC wallet, address, device-group, MPC-operation and signature endpoints of the
+ * WaaS REST API with the same resource shapes, under any path prefix. Long-running operations complete
+ * once {@link FaultConfig#operationDelayMillis} has passed; no MPC is actually performed, so signatures
+ * and keys are random.
+ *
+ * Latency and errors are injected per {@link FaultConfig}, set on the command line and changeable at
+ * runtime with `POST /_admin/faults`. Per-endpoint request and error counts are served at `GET /_admin/stats`.
+ */
+public final class FakeWaasServer {
+
+  private interface Handler {
+    JSONObject handle(Matcher path, JSONObject body) throws JSONException, NotFoundException;
+  }
+
+  private static final class NotFoundException extends Exception {
+    NotFoundException(String resource) {
+      super(resource + " not found");
+    }
+  }
+
+  private static final class Route {
+    final String method;
+    final Pattern path;
+    final String endpoint;
+    final Handler handler;
+
+    Route(String method, String path, String endpoint, Handler handler) {
+      this.method = method;
+      // Routes match the end of the path, so any API or proxy prefix is accepted.
+      this.path = Pattern.compile("^(?:/.*)?/" + path + "$");
+      this.endpoint = endpoint;
+      this.handler = handler;
+    }
+  }
+
+  // A long-running operation, done once its delay has passed.
+  private static final class Operation {
+    final String name;
+    final JSONObject metadata;
+    final JSONObject response;
+    final long createdAtMillis = System.currentTimeMillis();
+
+    Operation(String name, JSONObject metadata, JSONObject response) {
+      this.name = name;
+      this.metadata = metadata;
+      this.response = response;
+    }
+  }
+
+  private static final class EndpointStats {
+    final AtomicLong requests = new AtomicLong();
+    final AtomicLong errors = new AtomicLong();
+  }
+
+  private static final String segment = "([^/:]+)";
+
+  private final HttpServer server;
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final List<Route> routes = new ArrayList<>();
+  private volatile FaultConfig faults;
+
+  private final Map<String, JSONObject> resources = new ConcurrentHashMap<>();
+  private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+  // Pending MPC operations by device group.
+  private final Map<String, List<JSONObject>> mpcOperations = new ConcurrentHashMap<>();
+  private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a server on `port` (0 for any free port). Call {@link #start()} to begin serving.
+   */
+  public FakeWaasServer(int port, FaultConfig faults) throws IOException {
+    this.faults = faults;
+    this.server = HttpServer.create(new InetSocketAddress(port), 0);
+    server.setExecutor(executor);
+    server.createContext("/", this::dispatch);
+
+    routes.add(new Route("POST", "pools", "createPool", this::createPool));
+    routes.add(new Route("POST", "device:register", "registerDevice", this::registerDevice));
+    routes.add(new Route("POST", "(pools/" + segment + ")/mpcWallets", "createMPCWallet", this::createMPCWallet));
+    routes.add(new Route("POST", "(pools/" + segment + "/mpcWallets/" + segment + "):generateAddress", "generateAddress", this::generateAddress));
+    routes.add(new Route("GET", "(networks/" + segment + "/addresses/" + segment + ")", "getAddress", this::getResource));
+    routes.add(new Route("GET", "(pools/" + segment + "/mpcWallets/" + segment + ")", "getMPCWallet", this::getResource));
+    routes.add(new Route("GET", "(pools/" + segment + "/deviceGroups/" + segment + ")", "getDeviceGroup", this::getResource));
+    routes.add(new Route("GET", "(pools/" + segment + "/deviceGroups/" + segment + ")/mpcOperations", "listMPCOperations", this::listMPCOperations));
+    routes.add(new Route("POST", "(pools/" + segment + "/deviceGroups/" + segment + "/mpcKeys/" + segment + ")/signatures", "createSignature", this::createSignature));
+    routes.add(new Route("POST", "(pools/" + segment + "/deviceGroups/" + segment + "):(prepareDeviceArchive|prepareDeviceBackup|addDevice)", "deviceGroupOperation", this::deviceGroupOperation));
+    routes.add(new Route("GET", "(operations/" + segment + ")", "getOperation", this::getOperation));
+    routes.add(new Route("POST", "(operations/" + segment + "):wait", "waitOperation", this::getOperation));
+  }
+
+  public void start() {
+    server.start();
+  }
+
+  public void stop() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * Replaces the injected faults.
+   */
+  public void setFaults(FaultConfig faults) {
+    this.faults = faults;
+  }
+
+  private void dispatch(HttpExchange exchange) throws IOException {
+    try {
+      String path = exchange.getRequestURI().getPath();
+      String method = exchange.getRequestMethod();
+      if (path.startsWith("/_admin/")) {
+        admin(exchange, path, method);
+        return;
+      }
+
+      for (Route route : routes) {
+        Matcher matcher = route.path.matcher(path);
+        if (!route.method.equals(method) || !matcher.matches()) {
+          continue;
+        }
+        serve(exchange, route, matcher);
+        return;
+      }
+      respondError(exchange, 404, "NOT_FOUND", "no route for " + method + " " + path);
+    } catch (JSONException e) {
+      respondError(exchange, 400, "INVALID_ARGUMENT", e.getMessage());
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private void serve(HttpExchange exchange, Route route, Matcher matcher) throws IOException, JSONException {
+    EndpointStats endpointStats = statsFor(route.endpoint);
+    endpointStats.requests.incrementAndGet();
+
+    FaultConfig.Faults endpointFaults = faults.forEndpoint(route.endpoint);
+    Random random = ThreadLocalRandom.current();
+    long delay = endpointFaults.delayMillis(random);
+    if (delay > 0) {
+      try {
+        Thread.sleep(delay);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+    if (endpointFaults.shouldFail(random)) {
+      endpointStats.errors.incrementAndGet();
+      respondError(exchange, endpointFaults.errorStatus, "UNAVAILABLE", "injected fault");
+      return;
+    }
+
+    try {
+      JSONObject body = readBody(exchange);
+      addQueryParams(exchange.getRequestURI(), body);
+      respond(exchange, 200, route.handler.handle(matcher, body));
+    } catch (NotFoundException e) {
+      endpointStats.errors.incrementAndGet();
+      respondError(exchange, 404, "NOT_FOUND", e.getMessage());
+    }
+  }
+
+  private void admin(HttpExchange exchange, String path, String method) throws IOException, JSONException {
+    if (path.equals("/_admin/faults") && method.equals("POST")) {
+      faults = faults.merge(readBody(exchange));
+      respond(exchange, 200, faults.toJSON());
+    } else if (path.equals("/_admin/faults")) {
+      respond(exchange, 200, faults.toJSON());
+    } else if (path.equals("/_admin/stats")) {
+      JSONObject out = new JSONObject();
+      for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(stats).entrySet()) {
+        JSONObject endpoint = new JSONObject();
+        endpoint.put("requests", entry.getValue().requests.get());
+        endpoint.put("errors", entry.getValue().errors.get());
+        out.put(entry.getKey(), endpoint);
+      }
+      respond(exchange, 200, out);
+    } else {
+      respondError(exchange, 404, "NOT_FOUND", "no admin route " + path);
+    }
+  }
+
+  private JSONObject createPool(Matcher path, JSONObject body) throws JSONException {
+    String id = body.optString("poolId", body.optString("pool_id", ""));
+    if (id.isEmpty()) {
+      id = randomId();
+    }
+    JSONObject pool = new JSONObject();
+    pool.put("name", "pools/" + id);
+    JSONObject requested = body.optJSONObject("pool");
+    pool.put("displayName", requested != null ? requested.optString("displayName", "") : "");
+    resources.put(pool.getString("name"), pool);
+    return pool;
+  }
+
+  private JSONObject registerDevice(Matcher path, JSONObject body) throws JSONException {
+    JSONObject device = new JSONObject();
+    device.put("name", "devices/" + randomId());
+    resources.put(device.getString("name"), device);
+    return device;
+  }
+
+  private JSONObject createMPCWallet(Matcher path, JSONObject body) throws JSONException {
+    String pool = path.group(1);
+    String deviceGroup = pool + "/deviceGroups/" + randomId();
+    String mpcKey = deviceGroup + "/mpcKeys/" + randomId();
+
+    JSONObject group = new JSONObject();
+    group.put("name", deviceGroup);
+    group.put("mpcKeyExportMetadata", randomHex(32));
+    JSONArray devices = new JSONArray();
+    String device = body.optString("device", "");
+    if (!device.isEmpty()) {
+      devices.put(device);
+    }
+    group.put("devices", devices);
+    group.put("mpcKeys", new JSONArray().put(mpcKey));
+    resources.put(deviceGroup, group);
+
+    JSONObject wallet = new JSONObject();
+    wallet.put("name", pool + "/mpcWallets/" + randomId());
+    wallet.put("deviceGroup", deviceGroup);
+    resources.put(wallet.getString("name"), wallet);
+
+    JSONObject metadata = new JSONObject();
+    metadata.put("deviceGroup", deviceGroup);
+    Operation operation = newOperation(metadata, wallet);
+    addMPCOperation(deviceGroup, operation, "CreateDeviceGroup");
+    return toJSON(operation);
+  }
+
+  private JSONObject generateAddress(Matcher path, JSONObject body) throws JSONException, NotFoundException {
+    String walletName = path.group(1);
+    JSONObject wallet = find(walletName);
+    JSONObject group = find(wallet.getString("deviceGroup"));
+
+    String network = body.optString("network", "networks/ethereum-goerli");
+    JSONObject address = new JSONObject();
+    address.put("name", network + "/addresses/" + randomHex(20));
+    address.put("address", "0x" + randomHex(20));
+    address.put("mpcKeys", group.getJSONArray("mpcKeys"));
+    address.put("mpcWallet", walletName);
+    resources.put(address.getString("name"), address);
+    return address;
+  }
+
+  private JSONObject getResource(Matcher path, JSONObject body) throws NotFoundException {
+    return find(path.group(1));
+  }
+
+  private JSONObject listMPCOperations(Matcher path, JSONObject body) throws JSONException {
+    String deviceGroup = path.group(1);
+    JSONArray pending = new JSONArray();
+    List<JSONObject> list = mpcOperations.get(deviceGroup);
+    if (list != null) {
+      synchronized (list) {
+        for (JSONObject mpcOperation : list) {
+          Operation operation = operations.get(mpcOperation.getString("operation"));
+          if (operation != null && !isDone(operation)) {
+            pending.put(mpcOperation);
+          }
+        }
+      }
+    }
+    JSONObject out = new JSONObject();
+    out.put("mpcOperations", pending);
+    return out;
+  }
+
+  private JSONObject createSignature(Matcher path, JSONObject body) throws JSONException, NotFoundException {
+    String mpcKey = path.group(1);
+    String deviceGroup = "pools/" + path.group(2) + "/deviceGroups/" + path.group(3);
+    find(deviceGroup);
+
+    String payload = randomHex(32);
+    JSONObject signature = new JSONObject();
+    signature.put("name", mpcKey + "/signatures/" + randomId());
+    signature.put("payload", payload);
+    JSONObject signedPayload = new JSONObject();
+    signedPayload.put("r", randomHex(32));
+    signedPayload.put("s", randomHex(32));
+    signedPayload.put("v", "1b");
+    signature.put("signedPayload", signedPayload);
+    resources.put(signature.getString("name"), signature);
+
+    JSONObject metadata = new JSONObject();
+    metadata.put("deviceGroup", deviceGroup);
+    metadata.put("payload", payload);
+    Operation operation = newOperation(metadata, signature);
+    addMPCOperation(deviceGroup, operation, "CreateSignature");
+    return toJSON(operation);
+  }
+
+  private JSONObject deviceGroupOperation(Matcher path, JSONObject body) throws JSONException, NotFoundException {
+    String deviceGroup = path.group(1);
+    JSONObject group = find(deviceGroup);
+    JSONObject metadata = new JSONObject();
+    metadata.put("deviceGroup", deviceGroup);
+    Operation operation = newOperation(metadata, group);
+    addMPCOperation(deviceGroup, operation, path.group(4));
+    return toJSON(operation);
+  }
+
+  private JSONObject getOperation(Matcher path, JSONObject body) throws JSONException, NotFoundException {
+    Operation operation = operations.get(path.group(1));
+    if (operation == null) {
+      throw new NotFoundException(path.group(1));
+    }
+    return toJSON(operation);
+  }
+
+  private Operation newOperation(JSONObject metadata, JSONObject response) {
+    Operation operation = new Operation("operations/" + randomId(), metadata, response);
+    operations.put(operation.name, operation);
+    return operation;
+  }
+
+  private void addMPCOperation(String deviceGroup, Operation operation, String type) throws JSONException {
+    JSONObject mpcOperation = new JSONObject();
+    mpcOperation.put("name", deviceGroup + "/mpcOperations/" + randomId());
+    mpcOperation.put("operation", operation.name);
+    mpcOperation.put("type", type);
+    mpcOperation.put("mpcData", randomHex(1024));
+
+    List<JSONObject> list = mpcOperations.get(deviceGroup);
+    if (list == null) {
+      List<JSONObject> created = new ArrayList<>();
+      list = mpcOperations.putIfAbsent(deviceGroup, created);
+      if (list == null) {
+        list = created;
+      }
+    }
+    synchronized (list) {
+      list.add(mpcOperation);
+    }
+  }
+
+  private boolean isDone(Operation operation) {
+    return System.currentTimeMillis() - operation.createdAtMillis >= faults.operationDelayMillis;
+  }
+
+  private JSONObject toJSON(Operation operation) throws JSONException {
+    JSONObject obj = new JSONObject();
+    obj.put("name", operation.name);
+    obj.put("metadata", operation.metadata);
+    boolean done = isDone(operation);
+    obj.put("done", done);
+    if (done) {
+      obj.put("response", operation.response);
+    }
+    return obj;
+  }
+
+  private JSONObject find(String name) throws NotFoundException {
+    JSONObject resource = resources.get(name);
+    if (resource == null) {
+      throw new NotFoundException(name);
+    }
+    return resource;
+  }
+
+  private EndpointStats statsFor(String endpoint) {
+    EndpointStats endpointStats = stats.get(endpoint);
+    if (endpointStats == null) {
+      EndpointStats created = new EndpointStats();
+      endpointStats = stats.putIfAbsent(endpoint, created);
+      if (endpointStats == null) {
+        endpointStats = created;
+      }
+    }
+    return endpointStats;
+  }
+
+  private static JSONObject readBody(HttpExchange exchange) throws IOException, JSONException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (InputStream in = exchange.getRequestBody()) {
+      byte[] buffer = new byte[4096];
+      int n;
+      while ((n = in.read(buffer)) != -1) {
+        bytes.write(buffer, 0, n);
+      }
+    }
+    String body = new String(bytes.toByteArray(), StandardCharsets.UTF_8).trim();
+    return body.isEmpty() ? new JSONObject() : new JSONObject(body);
+  }
+
+  // Query parameters (e.g. "?pool_id=x") are treated like body fields.
+  private static void addQueryParams(URI uri, JSONObject body) throws JSONException {
+    String query = uri.getQuery();
+    if (query == null) {
+      return;
+    }
+    for (String param : query.split("&")) {
+      int eq = param.indexOf('=');
+      if (eq > 0 && !body.has(param.substring(0, eq))) {
+        body.put(param.substring(0, eq), param.substring(eq + 1));
+      }
+    }
+  }
+
+  private static void respond(HttpExchange exchange, int status, JSONObject body) throws IOException {
+    byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  private static void respondError(HttpExchange exchange, int status, String code, String message) throws IOException {
+    try {
+      JSONObject error = new JSONObject();
+      error.put("code", status);
+      error.put("status", code);
+      error.put("message", message);
+      respond(exchange, status, new JSONObject().put("error", error));
+    } catch (JSONException e) {
+      exchange.sendResponseHeaders(status, -1);
+    }
+  }
+
+  private static String randomId() {
+    return randomHex(8);
+  }
+
+  private static String randomHex(int bytes) {
+    Random random = ThreadLocalRandom.current();
+    StringBuilder out = new StringBuilder(bytes * 2);
+    for (int i = 0; i < bytes; i++) {
+      out.append(Character.forDigit(random.nextInt(16), 16));
+      out.append(Character.forDigit(random.nextInt(16), 16));
+    }
+    return out.toString();
+  }
+
+  /**
+   * Runs the server until the process is killed.
+   *
+   * Flags: --port (default 8091), --latency and --jitter in milliseconds, --error-rate (0-1),
+   * --error-status (default 503), --operation-delay in milliseconds (default 200).
+   */
+  public static void main(String[] args) throws Exception {
+    int port = 8091;
+    JSONObject config = new JSONObject();
+    config.put("operationDelayMillis", 200);
+    for (int i = 0; i + 1 < args.length; i += 2) {
+      String value = args[i + 1];
+      switch (args[i]) {
+        case "--port":
+          port = Integer.parseInt(value);
+          break;
+        case "--latency":
+          config.put("latencyMillis", Long.parseLong(value));
+          break;
+        case "--jitter":
+          config.put("jitterMillis", Long.parseLong(value));
+          break;
+        case "--error-rate":
+          config.put("errorRate", Double.parseDouble(value));
+          break;
+        case "--error-status":
+          config.put("errorStatus", Integer.parseInt(value));
+          break;
+        case "--operation-delay":
+          config.put("operationDelayMillis", Long.parseLong(value));
+          break;
+        default:
+          throw new IllegalArgumentException("unknown flag " + args[i]);
+      }
+    }
+
+    FakeWaasServer server = new FakeWaasServer(port, FaultConfig.none.merge(config));
+    server.start();
+    System.out.println("Fake WaaS backend listening on port " + server.getPort() + " with faults " + server.faults.toJSON());
+  }
+}
@@ -0,0 +1,113 @@
+package com.coinbase.waassdk.fakebackend;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The latency and errors injected into the responses of {@link FakeWaasServer}, globally and
+ * per endpoint (e.g. "createSignature"). Immutable; the server swaps in new configs at runtime.
+ */
+final class FaultConfig {
+
+  /**
+   * The faults of one endpoint.
+   */
+  static final class Faults {
+    // The fixed delay added to every response, in milliseconds.
+    final long latencyMillis;
+    // The maximum random delay added on top of latencyMillis, in milliseconds.
+    final long jitterMillis;
+    // The fraction of requests (0-1) that fail with errorStatus.
+    final double errorRate;
+    // The HTTP status of injected errors.
+    final int errorStatus;
+
+    Faults(long latencyMillis, long jitterMillis, double errorRate, int errorStatus) {
+      this.latencyMillis = latencyMillis;
+      this.jitterMillis = jitterMillis;
+      this.errorRate = errorRate;
+      this.errorStatus = errorStatus;
+    }
+
+    long delayMillis(Random random) {
+      return latencyMillis + (jitterMillis > 0 ? (long) (random.nextDouble() * jitterMillis) : 0);
+    }
+
+    boolean shouldFail(Random random) {
+      return errorRate > 0 && random.nextDouble() < errorRate;
+    }
+
+    JSONObject toJSON() throws JSONException {
+      JSONObject obj = new JSONObject();
+      obj.put("latencyMillis", latencyMillis);
+      obj.put("jitterMillis", jitterMillis);
+      obj.put("errorRate", errorRate);
+      obj.put("errorStatus", errorStatus);
+      return obj;
+    }
+
+    Faults merge(JSONObject obj) {
+      return new Faults(
+        obj.optLong("latencyMillis", latencyMillis),
+        obj.optLong("jitterMillis", jitterMillis),
+        obj.optDouble("errorRate", errorRate),
+        obj.optInt("errorStatus", errorStatus)
+      );
+    }
+  }
+
+  static final FaultConfig none = new FaultConfig(new Faults(0, 0, 0, 503), 0, Collections.<String, Faults>emptyMap());
+
+  // The faults of endpoints without an override.
+  final Faults defaults;
+  // How long long-running operations stay pending before completing, in milliseconds.
+  final long operationDelayMillis;
+  // Per-endpoint overrides of the defaults.
+  final Map<String, Faults> endpoints;
+
+  FaultConfig(Faults defaults, long operationDelayMillis, Map<String, Faults> endpoints) {
+    this.defaults = defaults;
+    this.operationDelayMillis = operationDelayMillis;
+    this.endpoints = Collections.unmodifiableMap(endpoints);
+  }
+
+  Faults forEndpoint(String endpoint) {
+    Faults faults = endpoints.get(endpoint);
+    return faults != null ? faults : defaults;
+  }
+
+  /**
+   * Returns a copy of this config updated with the fields present in `obj`, e.g.
+   * {"latencyMillis": 50, "operationDelayMillis": 500, "endpoints": {"createSignature": {"errorRate": 0.1}}}.
+   */
+  FaultConfig merge(JSONObject obj) throws JSONException {
+    Faults merged = defaults.merge(obj);
+    Map<String, Faults> overrides = new HashMap<>(endpoints);
+    JSONObject endpointsJson = obj.optJSONObject("endpoints");
+    if (endpointsJson != null) {
+      Iterator<String> names = endpointsJson.keys();
+      while (names.hasNext()) {
+        String name = names.next();
+        overrides.put(name, forEndpoint(name).merge(endpointsJson.getJSONObject(name)));
+      }
+    }
+    return new FaultConfig(merged, obj.optLong("operationDelayMillis", operationDelayMillis), overrides);
+  }
+
+  JSONObject toJSON() throws JSONException {
+    JSONObject obj = defaults.toJSON();
+    obj.put("operationDelayMillis", operationDelayMillis);
+    JSONObject endpointsJson = new JSONObject();
+    for (Map.Entry<String, Faults> entry : endpoints.entrySet()) {
+      endpointsJson.put(entry.getKey(), entry.getValue().toJSON());
+    }
+    obj.put("endpoints", endpointsJson);
+    return obj;
+  }
+}
@@ -9,19 +9,41 @@ const LINKING_ERROR =
   '- You rebuilt the app after installing the package\n' +
   '- You are not using Expo Go\n';
 
+/**
+ * Returns a handle to the native module `name` that looks the module up on first use, not when this file is
+ * loaded, so that React Native only creates the modules the app actually calls. Throws the linking error on
+ * use if the module is missing.
+ */
+function lazyNativeModule(name: string): any {
+  let module: any;
+  const methods: { [method: string]: any } = {};
+  return new Proxy(
+    {},
+    {
+      get(_target, property: string) {
+        if (!module) {
+          module = NativeModules[name];
+          if (!module) {
+            throw new Error(LINKING_ERROR);
+          }
+        }
+        const value = module[property];
+        if (typeof value !== 'function') {
+          return value;
+        }
+        if (methods[property] === undefined) {
+          methods[property] = value.bind(module);
+        }
+        return methods[property];
+      },
+    }
+  );
+}
+
 /**
  * The native hook into the WaaS MPC SDK.
  */
-const MPCSdk = NativeModules.MPCSdk
-  ? NativeModules.MPCSdk
-  : new Proxy(
-      {},
-      {
-        get() {
-          throw new Error(LINKING_ERROR);
-        },
-      }
-    );
+const MPCSdk = lazyNativeModule('MPCSdk');
 
 /**
  * An object representing response to the ExportPrivateKeys request.
@@ -166,16 +188,7 @@ export function computeAddDeviceMPCOperation(
 /**
  * The native hook into the WaaS PoolService.
  */
-const PoolService = NativeModules.PoolService
-  ? NativeModules.PoolService
-  : new Proxy(
-      {},
-      {
-        get() {
-          throw new Error(LINKING_ERROR);
-        },
-      }
-    );
+const PoolService = lazyNativeModule('PoolService');
 
 /**
  * The Pool resource.
@@ -228,16 +241,7 @@ export function createPool(
 /**
  * The native hook into the WaaS MPCKeyService.
  */
-const MPCKeyService = NativeModules.MPCKeyService
-  ? NativeModules.MPCKeyService
-  : new Proxy(
-      {},
-      {
-        get() {
-          throw new Error(LINKING_ERROR);
-        },
-      }
-    );
+const MPCKeyService = lazyNativeModule('MPCKeyService');
 
 /**
  * Initializes the MPCKeyService.
@@ -488,6 +492,13 @@ export function stopPollingForPendingDeviceGroup(): Promise<string> {
   return MPCKeyService.stopPollingForPendingDeviceGroup();
 }
 
+/**
+ * Native handles to transactions already serialized by createSignatureFromTx, so that
+ * getSignedTransaction can reuse them instead of sending and serializing the transaction again.
+ * Transactions must not be modified between the two calls.
+ */
+const transactionHandles = new WeakMap<Transaction, string>();
+
 /**
  * Initiates an operation to create a Signature resource from the given Transaction using
  * the given parent Key.
@@ -497,11 +508,35 @@ export function stopPollingForPendingDeviceGroup(): Promise<string> {
  * @returns A promise with the resource name of the WaaS operation creating the Signature on successful initiation;
  * a rejection otherwise.
  */
-export function createSignatureFromTx(
+export async function createSignatureFromTx(
   parent: string,
   tx: Transaction
 ): Promise<string> {
-  return MPCKeyService.createSignatureFromTx(parent, tx);
+  if (Platform.OS !== 'android') {
+    return MPCKeyService.createSignatureFromTx(parent, tx);
+  }
+
+  const result = await MPCKeyService.createSignatureFromTxWithHandle(
+    parent,
+    tx
+  );
+  transactionHandles.set(tx, result.TransactionHandle);
+  return result.Operation;
+}
+
+/**
+ * Sets how long a createSignatureFromTx call is remembered once it completes, so that a call for the same
+ * parent and transaction within that time resolves with the same operation instead of creating another.
+ * Defaults to 10 seconds. Currently only supported on Android; a no-op elsewhere.
+ * @param windowMillis The window, in milliseconds; 0 disables deduplication.
+ * @returns A void promise, that either succeeds or rejects.
+ */
+export function setSignatureDedupWindow(windowMillis: number): Promise<void> {
+  if (Platform.OS !== 'android') {
+    return Promise.resolve();
+  }
+
+  return MPCKeyService.setSignatureDedupWindow(windowMillis);
 }
 
 /**
@@ -542,16 +577,91 @@ export function waitPendingSignature(operation: string): Promise<Signature> {
   return MPCKeyService.waitPendingSignature(operation);
 }
 
+/**
+ * A signing interrupted before its signed transaction was obtained, e.g. by the app being killed.
+ */
+export type InterruptedSigning = {
+  // The resource name of the parent MPCKey.
+  Parent: string;
+  // The transaction being signed.
+  Transaction: Transaction;
+  // The resource name of the operation creating the Signature.
+  Operation: string;
+  // The last completed stage: the operation was created, the Device computed its part, or the Signature
+  // was received.
+  Stage: 'CREATED' | 'COMPUTED' | 'SIGNED';
+  // The Signature, once the stage is SIGNED; null before.
+  Signature: Signature | null;
+  // When the signing started, in milliseconds since the epoch.
+  CreatedAt: number;
+};
+
+/**
+ * Records that the Device computed its part of the given CreateSignature operation, so that a signing
+ * interrupted afterwards resumes from there. Call this after computeMPCOperation succeeds for a pending
+ * Signature. Currently only supported on Android; resolves immediately elsewhere.
+ * @param operation The name of the operation that creates the Signature.
+ * @returns A void promise, that resolves once recorded.
+ */
+export function recordSignatureComputed(operation: string): Promise<void> {
+  if (Platform.OS !== 'android') {
+    return Promise.resolve();
+  }
+
+  return MPCKeyService.recordSignatureComputed(operation);
+}
+
+/**
+ * Gets the signings interrupted before their signed transaction was obtained, e.g. by the app being killed.
+ * Resume each from its stage: wait for the Signature with waitPendingSignature, unless it is already there,
+ * then get the signed transaction with getSignedTransaction. Calling createSignatureFromTx again for the same
+ * transaction resumes with the same operation instead of creating another. Currently only supported on
+ * Android; resolves with an empty list elsewhere.
+ * @returns A promise with the interrupted signings, oldest first.
+ */
+export function getInterruptedSignings(): Promise<Array<InterruptedSigning>> {
+  if (Platform.OS !== 'android') {
+    return Promise.resolve([]);
+  }
+
+  return MPCKeyService.getInterruptedSignings();
+}
+
 /**
  * Obtains the signed transaction object based on the given inputs.
  * @param unsignedTx The unsigned Transaction object.
  * @param signature The Signature object obtained from the CreateSignature flow.
  */
-export function getSignedTransaction(
+export async function getSignedTransaction(
   unsignedTx: Transaction,
   signature: Signature
 ): Promise<SignedTransaction> {
-  return MPCKeyService.getSignedTransaction(unsignedTx, signature);
+  const handle = transactionHandles.get(unsignedTx);
+  if (handle === undefined) {
+    return MPCKeyService.getSignedTransaction(unsignedTx, signature);
+  }
+
+  let result;
+  try {
+    result = await MPCKeyService.getSignedTransactionFromHandle(
+      handle,
+      signature
+    );
+  } catch (error: any) {
+    if (error?.code !== 'E_UNKNOWN_TRANSACTION_HANDLE') {
+      throw error;
+    }
+    transactionHandles.delete(unsignedTx);
+    return MPCKeyService.getSignedTransaction(unsignedTx, signature);
+  }
+
+  transactionHandles.delete(unsignedTx);
+  return {
+    Transaction: unsignedTx,
+    Signature: signature,
+    RawTransaction: result.RawTransaction,
+    TransactionHash: result.TransactionHash,
+  };
 }
 
 /**
@@ -563,6 +673,53 @@ export function getDeviceGroup(name: string): Promise<DeviceGroup> {
   return MPCKeyService.getDeviceGroup(name);
 }
 
+/**
+ * Configures the cache of DeviceGroups used by getDeviceGroup, discarding any cached entries.
+ * Currently only supported on Android; a no-op elsewhere.
+ * @param maxEntries The maximum number of DeviceGroups to cache; 0 disables caching.
+ * @param ttlMillis How long to cache a DeviceGroup for, in milliseconds; 0 caches it until it is
+ * evicted or invalidated.
+ * @returns A void promise, that either succeeds or rejects.
+ */
+export function configureDeviceGroupCache(
+  maxEntries: number,
+  ttlMillis: number
+): Promise<void> {
+  if (Platform.OS !== 'android') {
+    return Promise.resolve();
+  }
+
+  return MPCKeyService.configureDeviceGroupCache(maxEntries, ttlMillis);
+}
+
+/**
+ * Drops the cached DeviceGroup with the given name, so the next getDeviceGroup call goes to the server.
+ * The cache is already dropped when an operation that changes the DeviceGroup is initiated and when
+ * the Device has computed it; call this when the DeviceGroup changes by other means.
+ * Currently only supported on Android; a no-op elsewhere.
+ * @param name The resource name of the DeviceGroup.
+ * @returns A void promise, that either succeeds or rejects.
+ */
+export function invalidateDeviceGroup(name: string): Promise<void> {
+  if (Platform.OS !== 'android') {
+    return Promise.resolve();
+  }
+
+  return MPCKeyService.invalidateDeviceGroup(name);
+}
+
+/**
+ * Drops all cached DeviceGroups. Currently only supported on Android; a no-op elsewhere.
+ * @returns A void promise, that either succeeds or rejects.
+ */
+export function invalidateDeviceGroups(): Promise<void> {
+  if (Platform.OS !== 'android') {
+    return Promise.resolve();
+  }
+
+  return MPCKeyService.invalidateDeviceGroups();
+}
+
 /**
  * Initiates an operation to prepare device archive for MPCKey export. Ensure this operation is run prior to any attempts
  * generate Addresses for the DeviceGroup. The prepared archive will include cryptographic materials to export the
@@ -716,16 +873,7 @@ export function stopPollingForPendingDevices(): Promise<string> {
 /**
  * The native hook into the WaaS MPCWalletService.
  */
-const MPCWalletService = NativeModules.MPCWalletService
-  ? NativeModules.MPCWalletService
-  : new Proxy(
-      {},
-      {
-        get() {
-          throw new Error(LINKING_ERROR);
-        },
-      }
-    );
+const MPCWalletService = lazyNativeModule('MPCWalletService');
 
 /**
  * The response for CreateMPCWallet.
@@ -770,6 +918,9 @@ export type MPCWallet = {
 /**
  * Initializes the MPCWalletService with Cloud API Key. This function must be invoked before
  * any MPCWalletService functions are called.
+ * On Android, Addresses are cached on disk so they are not fetched again after the app restarts: per API key,
+ * or per proxy URL in proxy mode. If a proxy serves several users, call setAddressCacheScope once the user is
+ * known, so each user gets a cache of their own.
  * @param apiKeyName The API key name.
  * @param privateKey The private key.
  * @param proxyUrl The URL of the proxy service. Required when in proxy mode and not needed in direct mode.
@@ -864,6 +1015,42 @@ export function generateAddress(
   return MPCWalletService.generateAddress(wallet, network);
 }
 
+/**
+ * Sets the Networks that generateAddress validates network names against, so that unknown
+ * networks are rejected locally instead of by the server. Network names are accepted with or
+ * without the `networks/` prefix. Currently only supported on Android; a no-op elsewhere.
+ * @param networks The resource names of the valid Networks, e.g. from the ListNetworks API.
+ * @param ttlMillis How long to trust the list for, in milliseconds. Once it expires, only the
+ * format of network names is checked until the list is set again.
+ * @returns A void promise, that either succeeds or rejects.
+ */
+export function setKnownNetworks(
+  networks: Array<string>,
+  ttlMillis: number
+): Promise<void> {
+  if (Platform.OS !== 'android') {
+    return Promise.resolve();
+  }
+
+  return MPCWalletService.setKnownNetworks(networks, ttlMillis);
+}
+
+/**
+ * Caches the Addresses fetched from now on on disk, separately from those of any other scope, so they are not
+ * fetched again after the app restarts. initMPCWalletService already caches them per API key, or per proxy URL in
+ * proxy mode; call this to narrow the scope, e.g. to the signed-in user, and again when the user or proxy changes.
+ * Currently only supported on Android; resolves immediately elsewhere.
+ * @param scope What the Addresses belong to, e.g. the signed-in user and the proxy URL.
+ * @returns A void promise, that resolves once the cache is in place.
+ */
+export function setAddressCacheScope(scope: string): Promise<void> {
+  if (Platform.OS !== 'android') {
+    return Promise.resolve();
+  }
+
+  return MPCWalletService.setAddressCacheScope(scope);
+}
+
 /**
  * Gets an Address.
  * @param name The resource name of the Address.
@@ -872,3 +1059,335 @@ export function generateAddress(
 export function getAddress(name: string): Promise<Address> {
   return MPCWalletService.getAddress(name);
 }
+
+/**
+ * The native hook into the WaaS SDK module, which hosts cross-service entry points.
+ */
+const WaasSdkReactNative = lazyNativeModule('WaasSdkReactNative');
+
+/**
+ * A read command that can be run as part of a batch.
+ */
+export type BatchCommand =
+  | { method: 'getAddress'; args: [string] }
+  | { method: 'getDeviceGroup'; args: [string] }
+  | { method: 'waitPendingMPCWallet'; args: [string] };
+
+/**
+ * The outcome of a single command in a batch.
+ */
+export type BatchResult =
+  | { ok: true; value: Address | DeviceGroup | MPCWallet }
+  | { ok: false; code: string; message: string };
+
+/**
+ * Runs several read commands concurrently in a single bridge round trip.
+ * A failing command does not reject the batch; its error is reported in its own result instead.
+ * @param commands The commands to run.
+ * @returns A promise with one result per command, in the order the commands were given.
+ */
+export function batch(
+  commands: Array<BatchCommand>
+): Promise<Array<BatchResult>> {
+  if (Platform.OS === 'android') {
+    return WaasSdkReactNative.batch(commands);
+  }
+
+  return Promise.all(
+    commands.map((command): Promise<BatchResult> => {
+      let pending: Promise<Address | DeviceGroup | MPCWallet>;
+      switch (command.method) {
+        case 'getAddress':
+          pending = getAddress(command.args[0]);
+          break;
+        case 'getDeviceGroup':
+          pending = getDeviceGroup(command.args[0]);
+          break;
+        case 'waitPendingMPCWallet':
+          pending = waitPendingMPCWallet(command.args[0]);
+          break;
+        default:
+          return Promise.resolve({
+            ok: false,
+            code: 'E_BATCH',
+            message: 'unsupported batch method',
+          });
+      }
+      return pending.then(
+        (value): BatchResult => ({ ok: true, value }),
+        (error): BatchResult => ({
+          ok: false,
+          code: error?.code ?? 'E_BATCH',
+          message: error?.message ?? String(error),
+        })
+      );
+    })
+  );
+}
+
+/**
+ * The metrics of one SDK method.
+ */
+export type MethodMetrics = {
+  // The number of calls made.
+  calls: number;
+  // The number of calls that failed.
+  errors: number;
+  // The number of failed calls by error type.
+  errorsByType: { [errorType: string]: number };
+  // The summed execution time of all calls, in milliseconds.
+  totalLatencyMillis: number;
+  // Named totals, e.g. the "elements" and "bytes" converted by a "Bridge.<method>" entry.
+  counters: { [counter: string]: number };
+  // Percentiles of the time calls waited for an SDK thread, in milliseconds.
+  queueWaitP50Millis: number;
+  queueWaitP95Millis: number;
+  queueWaitP99Millis: number;
+  // Percentiles of the time calls took to execute, in milliseconds.
+  latencyP50Millis: number;
+  latencyP95Millis: number;
+  latencyP99Millis: number;
+};
+
+/**
+ * Returns the metrics of every native SDK method called so far, keyed by method name
+ * (e.g. "MPCKeyService.getDeviceGroup"). Currently only supported on Android; resolves with
+ * an empty object elsewhere.
+ * @returns A promise with the metrics by method name.
+ */
+export function getSdkMetrics(): Promise<{ [method: string]: MethodMetrics }> {
+  if (Platform.OS !== 'android') {
+    return Promise.resolve({});
+  }
+
+  return WaasSdkReactNative.getMetrics();
+}
+
+/**
+ * Discards all recorded SDK metrics.
+ * @returns A void promise, that either succeeds or rejects.
+ */
+export function resetSdkMetrics(): Promise<void> {
+  if (Platform.OS !== 'android') {
+    return Promise.resolve();
+  }
+
+  return WaasSdkReactNative.resetMetrics();
+}
+
+/**
+ * Enables or disables accounting of the cost of converting results and requests between JS and
+ * native types. Accounted conversions are reported by getSdkMetrics as "Bridge.<method>", with
+ * the conversion time as latency and "elements" and "bytes" counters. Accounting is off by default.
+ * @param enabled Whether to account for bridge conversions.
+ * @returns A void promise, that either succeeds or rejects.
+ */
+export function setBridgeAccountingEnabled(enabled: boolean): Promise<void> {
+  if (Platform.OS !== 'android') {
+    return Promise.resolve();
+  }
+
+  return WaasSdkReactNative.setBridgeAccountingEnabled(enabled);
+}
+
+/**
+ * The health of one SDK executor (thread pool).
+ */
+export type ExecutorGauges = {
+  // The number of tasks waiting for a thread.
+  queueDepth: number;
+  // The number of threads running a task.
+  activeThreads: number;
+  // The number of started threads not running a task.
+  idleThreads: number;
+  // The maximum number of threads.
+  maxThreads: number;
+  // The number of tasks that have finished running.
+  completedTasks: number;
+  // The number of tasks rejected because the executor was saturated or shut down.
+  rejectedTasks: number;
+  // Percentiles of the time tasks waited in the queue before running, in milliseconds.
+  queueWaitP50Millis: number;
+  queueWaitP95Millis: number;
+  queueWaitP99Millis: number;
+};
+
+/**
+ * Returns the health of every native SDK executor, keyed by executor name (e.g. "MPCKeyService").
+ * Currently only supported on Android; resolves with an empty object elsewhere.
+ * @returns A promise with the gauges of each executor.
+ */
+export function getExecutorGauges(): Promise<{ [executor: string]: ExecutorGauges }> {
+  if (Platform.OS !== 'android') {
+    return Promise.resolve({});
+  }
+
+  return WaasSdkReactNative.getExecutorGauges();
+}
+
+/**
+ * Enables or disables profiling of the Keystore callbacks made during MPC operations.
+ * Profiled callbacks are reported by getSdkMetrics as "Callbacks.<callback>" and
+ * "Callbacks.<callback>:<key tag>". Profiling is off by default.
+ * @param enabled Whether to profile Keystore callbacks.
+ * @returns A void promise, that either succeeds or rejects.
+ */
+export function setKeystoreProfilingEnabled(enabled: boolean): Promise<void> {
+  if (Platform.OS !== 'android') {
+    return Promise.resolve();
+  }
+
+  return WaasSdkReactNative.setKeystoreProfilingEnabled(enabled);
+}
+
+/**
+ * Opens connections to the MPCKeyService and MPCWalletService ahead of the first real call, so that call does not
+ * pay for DNS, the TLS handshake and authentication, by reading a DeviceGroup and an Address. Until they are set
+ * with setWarmUpTargets, placeholders that do not exist are read, which the services reject. Both services must be
+ * initialized first; initWaas does this on its own. Currently only supported on Android; resolves immediately
+ * elsewhere.
+ * @returns A void promise, that resolves once both connections have been attempted, or rejects if a service
+ * is not initialized.
+ */
+export function warmUp(): Promise<void> {
+  if (Platform.OS !== 'android') {
+    return Promise.resolve();
+  }
+
+  return Promise.all([
+    MPCKeyService.warmUp(),
+    MPCWalletService.warmUp(),
+  ]).then(() => undefined);
+}
+
+/**
+ * The resources warmUp reads.
+ */
+export type WarmUpTargets = {
+  // The resource name of a DeviceGroup of the app, e.g. pools/{pool_id}/deviceGroups/{device_group_id}.
+  deviceGroup?: string;
+  // The resource name of an Address of the app, e.g. networks/{network_id}/addresses/{address_id}.
+  address?: string;
+};
+
+/**
+ * Sets the DeviceGroup and Address warmUp reads, e.g. once the app knows its own, so its warm-up reads succeed
+ * instead of being rejected. A target left out goes back to its placeholder. Both services must be initialized
+ * first. Currently only supported on Android; a no-op elsewhere.
+ * @param targets The DeviceGroup and Address to read.
+ * @returns A void promise, that either succeeds or rejects.
+ */
+export function setWarmUpTargets(targets: WarmUpTargets): Promise<void> {
+  if (Platform.OS !== 'android') {
+    return Promise.resolve();
+  }
+
+  return Promise.all([
+    MPCKeyService.setWarmUpDeviceGroup(targets.deviceGroup ?? null),
+    MPCWalletService.setWarmUpAddress(targets.address ?? null),
+  ]).then(() => undefined);
+}
+
+/**
+ * The services brought up by initWaas.
+ */
+export type WaasService =
+  | 'MPCSdk'
+  | 'MPCKeyService'
+  | 'MPCWalletService'
+  | 'PoolService';
+
+/**
+ * The readiness of one service brought up by initWaas.
+ */
+export type ServiceReadiness =
+  | { ready: true }
+  | { ready: false; code: string; message: string };
+
+/**
+ * The parameters of initWaas.
+ */
+export type WaasOptions = {
+  // The API key name. Empty in proxy mode.
+  apiKeyName: string;
+  // The private key. Empty in proxy mode.
+  privateKey: string;
+  // The URL of the proxy service. Required when in proxy mode and not needed in direct mode.
+  proxyUrl: string;
+  // Whether the app is running on a simulator.
+  isSimulator?: boolean;
+  // If set, the Device is bootstrapped with this passcode once the MPC SDK is initialized.
+  passcode?: string;
+};
+
+/**
+ * Initializes the MPC SDK, MPCKeyService, MPCWalletService and PoolService in parallel, bootstrapping the Device
+ * while the other services are still coming up when a passcode is given. Use this instead of awaiting each
+ * initializer in turn. Once the MPCKeyService and MPCWalletService are up, their connections are warmed up in the
+ * background, as with warmUp.
+ * @param options The API key parameters, proxy URL, and optional passcode.
+ * @param onServiceReady Called as each service settles, so features can be enabled as their service comes up.
+ * @returns A promise with the readiness of every service, once all have settled. It never rejects; a service
+ * that failed to initialize is reported as not ready, with its error.
+ */
+export function initWaas(
+  options: WaasOptions,
+  onServiceReady?: (service: WaasService, readiness: ServiceReadiness) => void
+): Promise<{ [service in WaasService]: ServiceReadiness }> {
+  const { apiKeyName, privateKey, proxyUrl, isSimulator, passcode } = options;
+
+  const settle = (
+    service: WaasService,
+    pending: Promise<unknown>
+  ): Promise<ServiceReadiness> =>
+    pending
+      .then(
+        (): ServiceReadiness => ({ ready: true }),
+        (error): ServiceReadiness => ({
+          ready: false,
+          code: error?.code ?? 'E_INITIALIZE',
+          message: error?.message ?? String(error),
+        })
+      )
+      .then((readiness) => {
+        onServiceReady?.(service, readiness);
+        return readiness;
+      });
+
+  // Opens the connection of a service once it is up, without holding up its readiness.
+  const warm = (
+    initialized: Promise<void>,
+    service: { warmUp(): Promise<void> }
+  ) =>
+    initialized.then(() => {
+      if (Platform.OS === 'android') {
+        service.warmUp().catch(() => {});
+      }
+    });
+
+  let mpcSdk: Promise<unknown> = initMPCSdk(isSimulator);
+  if (passcode !== undefined) {
+    mpcSdk = mpcSdk.then(() => bootstrapDevice(passcode));
+  }
+
+  return Promise.all([
+    settle('MPCSdk', mpcSdk),
+    settle(
+      'MPCKeyService',
+      warm(initMPCKeyService(apiKeyName, privateKey, proxyUrl), MPCKeyService)
+    ),
+    settle(
+      'MPCWalletService',
+      warm(
+        initMPCWalletService(apiKeyName, privateKey, proxyUrl),
+        MPCWalletService
+      )
+    ),
+    settle('PoolService', initPoolService(apiKeyName, privateKey, proxyUrl)),
+  ]).then(([mpc, keys, wallets, pools]) => ({
+    MPCSdk: mpc,
+    MPCKeyService: keys,
+    MPCWalletService: wallets,
+    PoolService: pools,
+  }));
+}